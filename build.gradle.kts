@@ -3,6 +3,7 @@ plugins {
     id("io.freefair.lombok") version "8.6"
     kotlin("jvm")
     jacoco
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.lucidity.deliveryproject"
@@ -32,6 +33,17 @@ tasks.withType<org.jetbrains.kotlin.gradle.tasks.KotlinCompile> {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    // GC profiler reports allocation rate per operation (gc.alloc.rate.norm) alongside GC counts and time
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
 jacoco {
     toolVersion = "0.8.10"
 }
@@ -0,0 +1,64 @@
+package org.assignment.delivery.planner.benchmark;
+
+import org.assignment.delivery.planner.loadtest.WorkloadConfig;
+import org.assignment.delivery.planner.loadtest.WorkloadGenerator;
+import org.assignment.delivery.planner.model.AgentAssignment;
+
+import java.util.Random;
+
+/**
+ * Seeded synthetic orders shared by the benchmarks, so every run measures the same inputs.
+ *
+ * <p>Order batches come from {@link WorkloadGenerator}, restricted to a single city so that the
+ * whole batch forms one planning request.
+ */
+final class BenchmarkWorkload {
+
+    static final long SEED = 20240611L;
+
+    private static final double CENTRE_LATITUDE = 12.9716;
+    private static final double CENTRE_LONGITUDE = 77.5946;
+    private static final double SPAN_DEGREES = 0.2;
+
+    private BenchmarkWorkload() {
+    }
+
+    /**
+     * Generates a single-agent request whose orders lie in one city.
+     *
+     * @param orderCount number of orders
+     * @param seed       seed of the generator
+     * @return the request, identical for identical arguments
+     */
+    static AgentAssignment request(int orderCount, long seed) {
+        return new WorkloadGenerator(WorkloadConfig.builder()
+                .seed(seed)
+                .cityCount(1)
+                .agentsPerCity(1)
+                .requestCount(1)
+                .minOrdersPerRequest(orderCount)
+                .maxOrdersPerRequest(orderCount)
+                .build())
+                .generate()
+                .getRequests()
+                .get(0);
+    }
+
+    /**
+     * Generates the coordinates of random points in the city as parallel arrays.
+     *
+     * @param count number of points
+     * @param seed  seed of the generator
+     * @return {@code {latitudes, longitudes}}
+     */
+    static double[][] coordinates(int count, long seed) {
+        Random random = new Random(seed);
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = CENTRE_LATITUDE + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+            longitudes[i] = CENTRE_LONGITUDE + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+        }
+        return new double[][]{latitudes, longitudes};
+    }
+}
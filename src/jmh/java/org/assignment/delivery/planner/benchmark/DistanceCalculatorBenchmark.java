@@ -0,0 +1,64 @@
+package org.assignment.delivery.planner.benchmark;
+
+import org.assignment.delivery.planner.distance.EquirectangularDistanceCalculator;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filling the distance matrix of an order batch (two points per order plus the start),
+ * pair by pair and through the batch API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DistanceCalculatorBenchmark {
+
+    @Param({"2", "10", "50", "200"})
+    private int orderCount;
+
+    private final HaversineDistanceCalculator haversine = new HaversineDistanceCalculator();
+    private final EquirectangularDistanceCalculator equirectangular = new EquirectangularDistanceCalculator(12.97);
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[][] distances;
+
+    @Setup
+    public void setUp() {
+        double[][] coordinates = BenchmarkWorkload.coordinates(2 * orderCount + 1, BenchmarkWorkload.SEED);
+        latitudes = coordinates[0];
+        longitudes = coordinates[1];
+        distances = new double[latitudes.length][latitudes.length];
+    }
+
+    @Benchmark
+    public void haversinePairwise(Blackhole blackhole) {
+        for (int from = 0; from < latitudes.length; from++) {
+            for (int to = 0; to < latitudes.length; to++) {
+                blackhole.consume(haversine.distanceKm(latitudes[from], longitudes[from], latitudes[to], longitudes[to]));
+            }
+        }
+    }
+
+    @Benchmark
+    public double[][] haversineBatch() {
+        haversine.distancesKm(latitudes, longitudes, latitudes, longitudes, distances);
+        return distances;
+    }
+
+    @Benchmark
+    public double[][] equirectangularBatch() {
+        equirectangular.distancesKm(latitudes, longitudes, latitudes, longitudes, distances);
+        return distances;
+    }
+}
@@ -0,0 +1,80 @@
+package org.assignment.delivery.planner.benchmark;
+
+import org.assignment.delivery.planner.algorithm.optimizer.GreedyRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.HeuristicRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.config.BeamSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assignment.delivery.planner.algorithm.optimizer.mapper.OrderToVisitNodeMapper.INSTANCE;
+
+/**
+ * Measures a full {@code computeOptimalRoute} call, including building the travel time matrix,
+ * for the greedy optimizer and the beam search. {@link #greedySearch()} runs the greedy search alone
+ * on a prebuilt matrix; with the {@code gc} profiler its normalised allocation rate shows what a
+ * steady-state search allocates besides its result list.
+ *
+ * <p>The beam search uses the production beam width and candidate limit but no time budget,
+ * so that the benchmark measures the search itself rather than the budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteOptimizerBenchmark {
+
+    @Param({"2", "5", "10", "25", "50", "100", "200"})
+    private int orderCount;
+
+    private GreedyRouteOptimizer greedyOptimizer;
+    private HeuristicRouteOptimizer beamOptimizer;
+    private GeoLocation start;
+    private List<VisitNode> nodes;
+    private TravelTimeMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        TravelTimeEstimationService travelEstimator = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20.0));
+        greedyOptimizer = new GreedyRouteOptimizer(travelEstimator);
+        beamOptimizer = new HeuristicRouteOptimizer(travelEstimator, BeamSearchConfig.builder()
+                .beamWidth(3)
+                .candidateLimit(16)
+                .build());
+
+        AgentAssignment request = BenchmarkWorkload.request(orderCount, BenchmarkWorkload.SEED);
+        start = request.getAgent().getLocation();
+        nodes = INSTANCE.mapOrdersToVisitNodes(request.getOrders());
+        matrix = TravelTimeMatrix.build(start, nodes, travelEstimator);
+    }
+
+    @Benchmark
+    public List<VisitNode> greedy() {
+        return greedyOptimizer.computeOptimalRoute(start, nodes);
+    }
+
+    @Benchmark
+    public List<VisitNode> greedySearch() {
+        return greedyOptimizer.computeOptimalRoute(matrix, nodes);
+    }
+
+    @Benchmark
+    public List<VisitNode> beamSearch() {
+        return beamOptimizer.computeOptimalRoute(start, nodes);
+    }
+}
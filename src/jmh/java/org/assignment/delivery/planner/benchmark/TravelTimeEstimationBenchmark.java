@@ -0,0 +1,67 @@
+package org.assignment.delivery.planner.benchmark;
+
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.service.CachingTravelTimeEstimationService;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.service.config.TravelTimeCacheConfig;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TravelTimeEstimationService#estimateTime} over every pair of points of an
+ * order batch, without and with the travel time cache. The cached variant runs against a warm
+ * cache, as it would when the same batch is replanned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TravelTimeEstimationBenchmark {
+
+    @Param({"2", "10", "50", "200"})
+    private int orderCount;
+
+    private TravelTimeEstimationService service;
+    private TravelTimeEstimationService cachingService;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        HaversineDistanceCalculator distanceCalculator = new HaversineDistanceCalculator();
+        AverageSpeedTimeEstimator timeEstimator = new AverageSpeedTimeEstimator(20.0);
+        service = new TravelTimeEstimationService(distanceCalculator, timeEstimator);
+        cachingService = new CachingTravelTimeEstimationService(distanceCalculator, timeEstimator, TravelTimeCacheConfig.DEFAULT);
+
+        double[][] coordinates = BenchmarkWorkload.coordinates(2 * orderCount + 1, BenchmarkWorkload.SEED);
+        latitudes = coordinates[0];
+        longitudes = coordinates[1];
+    }
+
+    @Benchmark
+    public void estimateTime(Blackhole blackhole) {
+        estimateAll(service, blackhole);
+    }
+
+    @Benchmark
+    public void estimateTimeCached(Blackhole blackhole) {
+        estimateAll(cachingService, blackhole);
+    }
+
+    private void estimateAll(TravelTimeEstimationService estimator, Blackhole blackhole) {
+        for (int from = 0; from < latitudes.length; from++) {
+            for (int to = 0; to < latitudes.length; to++) {
+                blackhole.consume(estimator.estimateTime(latitudes[from], longitudes[from], latitudes[to], longitudes[to]));
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.assignment.delivery.planner.dagger.component.DaggerAppComponent;
 import org.assignment.delivery.planner.model.*;
 import org.assignment.delivery.planner.service.DeliveryRoutePlanner;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -16,6 +17,7 @@ import java.util.List;
  *   <li>Creating sample customers, restaurants, and orders</li>
  *   <li>Invoking the route planner to compute the optimal delivery sequence</li>
  *   <li>Printing the planned delivery route</li>
+ *   <li>Exporting the planning trace, if tracing is configured to write one</li>
  * </ul>
  */
 public class Main {
@@ -24,8 +26,9 @@ public class Main {
      * Main method that orchestrates the sample delivery route planning.
      *
      * @param args command-line arguments (not used)
+     * @throws IOException if the planning trace cannot be exported
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         AppComponent appComponent = DaggerAppComponent.create();
         DeliveryRoutePlanner routePlanner = appComponent.getDeliveryRoutePlanner();
 
@@ -73,6 +76,8 @@ public class Main {
             System.out.println("\nPlanned Delivery Route:");
             deliveryRoute.forEach(user -> System.out.println(" -> " + user));
         }
+
+        appComponent.getPlanningTracer().export();
     }
 
     /**
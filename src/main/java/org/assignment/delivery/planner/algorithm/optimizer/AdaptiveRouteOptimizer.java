@@ -0,0 +1,205 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.config.AdaptiveOptimizerConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.config.BeamSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+import org.assignment.delivery.planner.algorithm.optimizer.model.StrategyStatistics;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.tracing.PlanningTracer;
+import org.assignment.delivery.planner.tracing.TracePhase;
+import org.assignment.delivery.planner.tracing.TraceSpan;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * AdaptiveRouteOptimizer is a composite strategy that picks the route optimization algorithm
+ * per batch, based on the batch size and the remaining latency budget:
+ * <ul>
+ *   <li>{@link ExactRouteOptimizer} for tiny batches, where the optimal route is cheap to find.</li>
+ *   <li>{@link HeuristicRouteOptimizer} for medium batches, bounded by the remaining budget.</li>
+ *   <li>{@link GreedyRouteOptimizer} for large batches or when little budget is left.</li>
+ * </ul>
+ *
+ * <p>The travel time matrix is built once and shared with whichever optimizer runs. Every run is
+ * recorded in {@link #getStatistics()} with the strategy used and the time it took.
+ */
+@Singleton
+public class AdaptiveRouteOptimizer implements RouteOptimizer {
+
+    private final TravelTimeEstimationService travelEstimator;
+    private final ExactRouteOptimizer exactOptimizer;
+    private final HeuristicRouteOptimizer beamOptimizer;
+    private final GreedyRouteOptimizer greedyOptimizer;
+    private final AdaptiveOptimizerConfig config;
+    private final PlanningTracer tracer;
+    private final StrategyStatistics statistics = new StrategyStatistics();
+
+    /**
+     * Constructs the optimizer from the strategies it chooses between.
+     *
+     * @param travelEstimator Service used to build the shared travel time matrix.
+     * @param exactOptimizer  Optimizer used for tiny batches.
+     * @param beamOptimizer   Optimizer used for medium batches.
+     * @param greedyOptimizer Optimizer used for large batches.
+     * @param config          Batch size and budget thresholds.
+     */
+    public AdaptiveRouteOptimizer(TravelTimeEstimationService travelEstimator,
+                                  ExactRouteOptimizer exactOptimizer,
+                                  HeuristicRouteOptimizer beamOptimizer,
+                                  GreedyRouteOptimizer greedyOptimizer,
+                                  AdaptiveOptimizerConfig config) {
+        this(travelEstimator, exactOptimizer, beamOptimizer, greedyOptimizer, config, PlanningTracer.NONE);
+    }
+
+    /**
+     * Constructs the optimizer from the strategies it chooses between, tracing the matrix build
+     * and the selected strategy's search.
+     *
+     * @param travelEstimator Service used to build the shared travel time matrix.
+     * @param exactOptimizer  Optimizer used for tiny batches.
+     * @param beamOptimizer   Optimizer used for medium batches.
+     * @param greedyOptimizer Optimizer used for large batches.
+     * @param config          Batch size and budget thresholds.
+     * @param tracer          Tracer timing the matrix build and the search.
+     */
+    @Inject
+    public AdaptiveRouteOptimizer(TravelTimeEstimationService travelEstimator,
+                                  ExactRouteOptimizer exactOptimizer,
+                                  HeuristicRouteOptimizer beamOptimizer,
+                                  GreedyRouteOptimizer greedyOptimizer,
+                                  AdaptiveOptimizerConfig config,
+                                  PlanningTracer tracer) {
+        this.travelEstimator = travelEstimator;
+        this.exactOptimizer = exactOptimizer;
+        this.beamOptimizer = beamOptimizer;
+        this.greedyOptimizer = greedyOptimizer;
+        this.config = config;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public List<VisitNode> computeOptimalRoute(GeoLocation startLocation, List<VisitNode> nodes) {
+        long startNanos = System.nanoTime();
+        TravelTimeMatrix matrix;
+        TraceSpan span = tracer.start(TracePhase.BUILD_MATRIX);
+        try {
+            matrix = TravelTimeMatrix.build(startLocation, nodes, travelEstimator);
+        } finally {
+            span.close();
+        }
+        Duration remainingBudget = config.getLatencyBudget().minusNanos(System.nanoTime() - startNanos);
+        return computeOptimalRoute(matrix, nodes, remainingBudget);
+    }
+
+    @Override
+    public List<VisitNode> computeOptimalRoute(TravelTimeMatrix matrix, List<VisitNode> nodes) {
+        return computeOptimalRoute(matrix, nodes, config.getLatencyBudget());
+    }
+
+    /**
+     * Computes the route with the strategy best suited to the batch size and remaining budget.
+     *
+     * @param matrix          Travel times between the start location and every node.
+     * @param nodes           List of all visit nodes (restaurants and customers), in matrix order.
+     * @param remainingBudget Time left for this planning call.
+     * @return A list of VisitNodes representing the best route found.
+     */
+    public List<VisitNode> computeOptimalRoute(TravelTimeMatrix matrix, List<VisitNode> nodes, Duration remainingBudget) {
+        int[] order = computeOptimalOrder(matrix, remainingBudget);
+        return order == null ? null : matrix.getInstance().toRoute(order);
+    }
+
+    @Override
+    public int[] computeOptimalOrder(TravelTimeMatrix matrix) {
+        return computeOptimalOrder(matrix, config.getLatencyBudget());
+    }
+
+    /**
+     * Computes the route as node indices within what is left of the latency budget once the
+     * time already spent by the planning call, including the matrix build, is subtracted.
+     */
+    @Override
+    public int[] computeOptimalOrder(TravelTimeMatrix matrix, long planningStartNanos) {
+        return computeOptimalOrder(matrix, config.getLatencyBudget().minusNanos(System.nanoTime() - planningStartNanos));
+    }
+
+    /**
+     * Computes the route as node indices with the strategy best suited to the batch size and
+     * remaining budget. Every other entry point of this optimizer delegates here, so strategy
+     * selection, tracing and statistics live in one place.
+     *
+     * @param matrix          Travel times between the start location and every node.
+     * @param remainingBudget Time left for this planning call.
+     * @return Node indices in visiting order, or {@code null} if no route exists.
+     */
+    public int[] computeOptimalOrder(TravelTimeMatrix matrix, Duration remainingBudget) {
+        OptimizerStrategy strategy = selectStrategy(matrix.getNodeCount(), remainingBudget);
+
+        long startNanos = System.nanoTime();
+        int[] order;
+        TraceSpan span = tracer.start(searchPhase(strategy));
+        try {
+            order = switch (strategy) {
+                case EXACT -> exactOptimizer.computeOptimalOrder(matrix);
+                case BEAM -> beamOptimizer.computeOptimalOrder(matrix, boundedBeamConfig(remainingBudget));
+                case GREEDY -> greedyOptimizer.computeOptimalOrder(matrix);
+            };
+        } finally {
+            span.close();
+        }
+        statistics.record(strategy, System.nanoTime() - startNanos);
+
+        return order;
+    }
+
+    /**
+     * Picks the most accurate strategy the batch size allows, downgrading to a cheaper one
+     * when the remaining budget is below that strategy's minimum.
+     *
+     * @param nodeCount       Number of visit nodes in the batch.
+     * @param remainingBudget Time left for this planning call.
+     * @return The strategy to run.
+     */
+    public OptimizerStrategy selectStrategy(int nodeCount, Duration remainingBudget) {
+        if (nodeCount <= Math.min(config.getExactMaxNodes(), ExactRouteOptimizer.MAX_NODES)
+                && remainingBudget.compareTo(config.getExactMinBudget()) >= 0) {
+            return OptimizerStrategy.EXACT;
+        }
+        if (nodeCount <= config.getBeamMaxNodes() && remainingBudget.compareTo(config.getBeamMinBudget()) >= 0) {
+            return OptimizerStrategy.BEAM;
+        }
+        return OptimizerStrategy.GREEDY;
+    }
+
+    /**
+     * @return Number of runs and time spent per strategy since this optimizer was created.
+     */
+    public StrategyStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static TracePhase searchPhase(OptimizerStrategy strategy) {
+        return switch (strategy) {
+            case EXACT -> TracePhase.EXACT_SEARCH;
+            case BEAM -> TracePhase.BEAM_SEARCH;
+            case GREEDY -> TracePhase.GREEDY_SEARCH;
+        };
+    }
+
+    /**
+     * Caps the beam search's own time budget at the remaining planning budget.
+     */
+    private BeamSearchConfig boundedBeamConfig(Duration remainingBudget) {
+        BeamSearchConfig beamConfig = beamOptimizer.getConfig();
+        if (beamConfig.hasTimeBudget() && beamConfig.getTimeBudget().compareTo(remainingBudget) <= 0) {
+            return beamConfig;
+        }
+        return beamConfig.toBuilder().timeBudget(remainingBudget).build();
+    }
+}
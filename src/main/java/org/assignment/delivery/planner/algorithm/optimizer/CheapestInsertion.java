@@ -0,0 +1,336 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.PlannedRoute;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNodes;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CheapestInsertion adds one order's restaurant and customer to an existing route at the pair of
+ * positions that minimises the route's completion time, leaving the relative order of the
+ * existing nodes unchanged.
+ *
+ * <p>Only travel times to and from the two new nodes are estimated ({@code O(n)} calls); the
+ * existing legs come from the {@link PlannedRoute}. Every (restaurant, customer) position pair
+ * with the restaurant first is then scored in {@code O(1)}, for {@code O(n²)} overall:
+ * - Arrival times along the existing route are kept as a prefix array.
+ * - Everything after an insertion point is summarised as {@code completion(t) = max(t + A, B)},
+ *   where {@code A} is the remaining travel time and {@code B} the latest finish forced by
+ *   preparation waits, so the tail of the route is never re-simulated.
+ * - For a fixed restaurant position, the time at each later node is advanced one leg at a time
+ *   as the customer position moves right.
+ *
+ * <p>When travel times are time-dependent, a leg's time depends on when it starts, so the tail of
+ * the route can no longer be summarised independently of its start time. Each position pair is
+ * then simulated leg by leg, pricing every leg for its start time as optimizers do, for
+ * {@code O(n³)} cheap lookups overall. Distances and origin zones are still resolved only
+ * {@code O(n)} times per insertion.
+ */
+public class CheapestInsertion {
+
+    private final TravelTimeEstimationService travelEstimator;
+
+    /**
+     * Constructs the insertion with a travel time estimator dependency.
+     *
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     */
+    @Inject
+    public CheapestInsertion(TravelTimeEstimationService travelEstimator) {
+        this.travelEstimator = travelEstimator;
+    }
+
+    /**
+     * Inserts a restaurant node and its customer node into a planned route.
+     *
+     * @param plannedRoute The agent's current route.
+     * @param restaurant   The restaurant node of the new order.
+     * @param customer     The customer node of the new order, paired with {@code restaurant}.
+     * @return The route with both nodes inserted at their cheapest valid positions, counting one
+     * more insertion since the last full optimization.
+     */
+    public PlannedRoute insert(PlannedRoute plannedRoute, VisitNode restaurant, VisitNode customer) {
+        if (travelEstimator.isTimeDependent()) {
+            return insertTimeDependent(plannedRoute, restaurant, customer);
+        }
+        List<VisitNode> route = plannedRoute.getRoute();
+        int size = route.size();
+        double[] readyTimes = VisitNodes.readyTimes(route);
+        double restaurantReady = restaurant.getAveragePreparationTime();
+
+        // toX[k]: from the node before position k (or the start) to X; fromX[k]: from X to position k
+        double[] toRestaurant = new double[size + 1];
+        double[] toCustomer = new double[size + 1];
+        double[] fromRestaurant = new double[size];
+        double[] fromCustomer = new double[size];
+        GeoLocation previous = plannedRoute.getStartLocation();
+        for (int position = 0; position <= size; position++) {
+            toRestaurant[position] = travelEstimator.estimateTime(previous, restaurant.getLocation());
+            toCustomer[position] = travelEstimator.estimateTime(previous, customer.getLocation());
+            if (position < size) {
+                GeoLocation next = route.get(position).getLocation();
+                fromRestaurant[position] = travelEstimator.estimateTime(restaurant.getLocation(), next);
+                fromCustomer[position] = travelEstimator.estimateTime(customer.getLocation(), next);
+                previous = next;
+            }
+        }
+        double restaurantToCustomer = travelEstimator.estimateTime(restaurant.getLocation(), customer.getLocation());
+
+        double[] arrival = new double[size];
+        double time = 0;
+        for (int position = 0; position < size; position++) {
+            time = Math.max(time + plannedRoute.legTime(position), readyTimes[position]);
+            arrival[position] = time;
+        }
+
+        // completion(t) after position k is served at t: max(t + suffixTravel[k], suffixBound[k])
+        double[] suffixTravel = new double[size];
+        double[] suffixBound = new double[size];
+        for (int position = size - 1; position >= 0; position--) {
+            if (position == size - 1) {
+                suffixBound[position] = Double.NEGATIVE_INFINITY;
+            } else {
+                double leg = plannedRoute.legTime(position + 1);
+                suffixTravel[position] = leg + suffixTravel[position + 1];
+                suffixBound[position] = Math.max(readyTimes[position + 1] + suffixTravel[position + 1], suffixBound[position + 1]);
+            }
+        }
+
+        // Positions are "before existing position k"; k == size appends at the end
+        double bestTime = Double.POSITIVE_INFINITY;
+        int bestRestaurant = 0;
+        int bestCustomer = 0;
+        for (int restaurantAt = 0; restaurantAt <= size; restaurantAt++) {
+            double before = restaurantAt == 0 ? 0 : arrival[restaurantAt - 1];
+            double restaurantTime = Math.max(before + toRestaurant[restaurantAt], restaurantReady);
+
+            double completion = resume(restaurantAt, restaurantTime + restaurantToCustomer,
+                    fromCustomer, readyTimes, suffixTravel, suffixBound);
+            if (completion < bestTime) {
+                bestTime = completion;
+                bestRestaurant = restaurantAt;
+                bestCustomer = restaurantAt;
+            }
+            if (restaurantAt == size) break;
+
+            // Time at which existing node customerAt - 1 is served, with the restaurant inserted earlier
+            double nodeTime = Math.max(restaurantTime + fromRestaurant[restaurantAt], readyTimes[restaurantAt]);
+            for (int customerAt = restaurantAt + 1; customerAt <= size; customerAt++) {
+                completion = resume(customerAt, nodeTime + toCustomer[customerAt],
+                        fromCustomer, readyTimes, suffixTravel, suffixBound);
+                if (completion < bestTime) {
+                    bestTime = completion;
+                    bestRestaurant = restaurantAt;
+                    bestCustomer = customerAt;
+                }
+                if (customerAt < size) {
+                    nodeTime = Math.max(nodeTime + plannedRoute.legTime(customerAt), readyTimes[customerAt]);
+                }
+            }
+        }
+
+        return build(plannedRoute, restaurant, customer, bestRestaurant, bestCustomer,
+                toRestaurant, toCustomer, fromRestaurant, fromCustomer, restaurantToCustomer);
+    }
+
+    private PlannedRoute insertTimeDependent(PlannedRoute plannedRoute, VisitNode restaurant, VisitNode customer) {
+        List<VisitNode> route = plannedRoute.getRoute();
+        int size = route.size();
+        double[] readyTimes = VisitNodes.readyTimes(route);
+
+        // Same layout as the time-independent path, holding distances; legKm[k] is the existing leg into k
+        double[] legKm = new double[size];
+        double[] toRestaurantKm = new double[size + 1];
+        double[] toCustomerKm = new double[size + 1];
+        double[] fromRestaurantKm = new double[size];
+        double[] fromCustomerKm = new double[size];
+        int[] zones = new int[size];
+        GeoLocation previous = plannedRoute.getStartLocation();
+        for (int position = 0; position <= size; position++) {
+            toRestaurantKm[position] = travelEstimator.distanceKm(previous, restaurant.getLocation());
+            toCustomerKm[position] = travelEstimator.distanceKm(previous, customer.getLocation());
+            if (position < size) {
+                GeoLocation next = route.get(position).getLocation();
+                legKm[position] = travelEstimator.distanceKm(previous, next);
+                fromRestaurantKm[position] = travelEstimator.distanceKm(restaurant.getLocation(), next);
+                fromCustomerKm[position] = travelEstimator.distanceKm(customer.getLocation(), next);
+                zones[position] = travelEstimator.zoneOf(next.getLatitude(), next.getLongitude());
+                previous = next;
+            }
+        }
+        double restaurantToCustomerKm = travelEstimator.distanceKm(restaurant.getLocation(), customer.getLocation());
+        GeoLocation start = plannedRoute.getStartLocation();
+        TimeDependentLegs legs = new TimeDependentLegs(plannedRoute.getDepartureMinute(), readyTimes,
+                restaurant.getAveragePreparationTime(), legKm, toRestaurantKm, toCustomerKm,
+                fromRestaurantKm, fromCustomerKm, restaurantToCustomerKm, zones,
+                travelEstimator.zoneOf(start.getLatitude(), start.getLongitude()),
+                travelEstimator.zoneOf(restaurant.getLocation().getLatitude(), restaurant.getLocation().getLongitude()),
+                travelEstimator.zoneOf(customer.getLocation().getLatitude(), customer.getLocation().getLongitude()));
+
+        double bestTime = Double.POSITIVE_INFINITY;
+        int bestRestaurant = 0;
+        int bestCustomer = 0;
+        for (int restaurantAt = 0; restaurantAt <= size; restaurantAt++) {
+            for (int customerAt = restaurantAt; customerAt <= size; customerAt++) {
+                double completion = legs.simulate(restaurantAt, customerAt, null);
+                if (completion < bestTime) {
+                    bestTime = completion;
+                    bestRestaurant = restaurantAt;
+                    bestCustomer = customerAt;
+                }
+            }
+        }
+
+        List<VisitNode> inserted = new ArrayList<>(size + 2);
+        for (int position = 0; position <= size; position++) {
+            if (position == bestRestaurant) inserted.add(restaurant);
+            if (position == bestCustomer) inserted.add(customer);
+            if (position < size) inserted.add(route.get(position));
+        }
+        double[] legTimes = new double[size + 2];
+        legs.simulate(bestRestaurant, bestCustomer, legTimes);
+        return new PlannedRoute(start, inserted, legTimes,
+                plannedRoute.getInsertionsSinceOptimization() + 1, plannedRoute.getDepartureMinute());
+    }
+
+    /**
+     * Completion time when the inserted customer, served at {@code customerTime}, is followed by
+     * the existing route from {@code position} onwards.
+     */
+    private static double resume(int position, double customerTime, double[] fromCustomer, double[] readyTimes,
+                                 double[] suffixTravel, double[] suffixBound) {
+        if (position == readyTimes.length) {
+            return customerTime;
+        }
+        double time = Math.max(customerTime + fromCustomer[position], readyTimes[position]);
+        return Math.max(time + suffixTravel[position], suffixBound[position]);
+    }
+
+    private static PlannedRoute build(PlannedRoute plannedRoute, VisitNode restaurant, VisitNode customer,
+                                      int restaurantAt, int customerAt,
+                                      double[] toRestaurant, double[] toCustomer,
+                                      double[] fromRestaurant, double[] fromCustomer,
+                                      double restaurantToCustomer) {
+        List<VisitNode> route = plannedRoute.getRoute();
+        int size = route.size();
+        List<VisitNode> inserted = new ArrayList<>(size + 2);
+        double[] legTimes = new double[size + 2];
+
+        for (int position = 0; position <= size; position++) {
+            if (position == restaurantAt) {
+                legTimes[inserted.size()] = toRestaurant[position];
+                inserted.add(restaurant);
+            }
+            if (position == customerAt) {
+                legTimes[inserted.size()] = restaurantAt == customerAt ? restaurantToCustomer : toCustomer[position];
+                inserted.add(customer);
+            }
+            if (position == size) break;
+
+            double leg;
+            if (position == customerAt) {
+                leg = fromCustomer[position];
+            } else if (position == restaurantAt) {
+                leg = fromRestaurant[position];
+            } else {
+                leg = plannedRoute.legTime(position);
+            }
+            legTimes[inserted.size()] = leg;
+            inserted.add(route.get(position));
+        }
+
+        return new PlannedRoute(plannedRoute.getStartLocation(), inserted, legTimes,
+                plannedRoute.getInsertionsSinceOptimization() + 1, plannedRoute.getDepartureMinute());
+    }
+
+    /**
+     * Distances and origin zones of every leg an insertion can create, priced on demand for the
+     * time each leg starts.
+     */
+    private final class TimeDependentLegs {
+        private final double departureMinute;
+        private final double[] readyTimes;
+        private final double restaurantReady;
+        private final double[] legKm;
+        private final double[] toRestaurantKm;
+        private final double[] toCustomerKm;
+        private final double[] fromRestaurantKm;
+        private final double[] fromCustomerKm;
+        private final double restaurantToCustomerKm;
+        private final int[] zones;
+        private final int startZone;
+        private final int restaurantZone;
+        private final int customerZone;
+
+        TimeDependentLegs(double departureMinute, double[] readyTimes, double restaurantReady,
+                          double[] legKm, double[] toRestaurantKm, double[] toCustomerKm,
+                          double[] fromRestaurantKm, double[] fromCustomerKm, double restaurantToCustomerKm,
+                          int[] zones, int startZone, int restaurantZone, int customerZone) {
+            this.departureMinute = departureMinute;
+            this.readyTimes = readyTimes;
+            this.restaurantReady = restaurantReady;
+            this.legKm = legKm;
+            this.toRestaurantKm = toRestaurantKm;
+            this.toCustomerKm = toCustomerKm;
+            this.fromRestaurantKm = fromRestaurantKm;
+            this.fromCustomerKm = fromCustomerKm;
+            this.restaurantToCustomerKm = restaurantToCustomerKm;
+            this.zones = zones;
+            this.startZone = startZone;
+            this.restaurantZone = restaurantZone;
+            this.customerZone = customerZone;
+        }
+
+        /**
+         * Simulates the route with the restaurant inserted before position {@code restaurantAt}
+         * and the customer before position {@code customerAt}.
+         *
+         * @param legTimes Receives the travel time into each position of the new route, or {@code null}.
+         * @return Completion time of the new route.
+         */
+        double simulate(int restaurantAt, int customerAt, double[] legTimes) {
+            int size = readyTimes.length;
+            double time = 0;
+            int zone = startZone;
+            int served = 0;
+            for (int position = 0; position <= size; position++) {
+                if (position == restaurantAt) {
+                    double leg = travelEstimator.estimateTimeAt(toRestaurantKm[position], zone, departureMinute + time);
+                    time = Math.max(time + leg, restaurantReady);
+                    zone = restaurantZone;
+                    if (legTimes != null) legTimes[served] = leg;
+                    served++;
+                }
+                if (position == customerAt) {
+                    double km = restaurantAt == customerAt ? restaurantToCustomerKm : toCustomerKm[position];
+                    double leg = travelEstimator.estimateTimeAt(km, zone, departureMinute + time);
+                    time += leg;
+                    zone = customerZone;
+                    if (legTimes != null) legTimes[served] = leg;
+                    served++;
+                }
+                if (position == size) break;
+
+                double km;
+                if (position == customerAt) {
+                    km = fromCustomerKm[position];
+                } else if (position == restaurantAt) {
+                    km = fromRestaurantKm[position];
+                } else {
+                    km = legKm[position];
+                }
+                double leg = travelEstimator.estimateTimeAt(km, zone, departureMinute + time);
+                time = Math.max(time + leg, readyTimes[position]);
+                zone = zones[position];
+                if (legTimes != null) legTimes[served] = leg;
+                served++;
+            }
+            return time;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+import org.assignment.delivery.planner.algorithm.optimizer.model.ProblemInstance;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ExactRouteOptimizer computes the provably optimal delivery route for small batches using a
+ * Held-Karp style dynamic program over subsets of visited nodes.
+ *
+ * <p>For every subset of visited nodes and every possible last node, the earliest time at which
+ * that partial route can end is kept. Waiting for a restaurant's preparation time never makes a
+ * later arrival finish earlier, so keeping only the earliest time per (subset, last node) pair is
+ * sufficient to find the route with the lowest completion time. With a time-dependent matrix the
+ * same holds as long as leaving later never means arriving earlier, which a speed table changing
+ * by time-of-day bucket satisfies closely but not exactly at bucket boundaries.
+ *
+ * <p>Constraints enforced, as in {@link HeuristicRouteOptimizer}:
+ * - A customer node can only be visited after their corresponding restaurant node.
+ * - Preparation delays at restaurants are respected (you can't pick up earlier than prep time).
+ * Subsets containing a customer without its restaurant are never reached and are skipped.
+ *
+ * <p>Time and memory grow as {@code 2^n * n}, so only batches of up to {@link #MAX_NODES}
+ * nodes (8 orders) are accepted.
+ */
+public class ExactRouteOptimizer implements RouteOptimizer {
+
+    /** Largest number of visit nodes the optimizer accepts. */
+    public static final int MAX_NODES = 16;
+
+    private static final byte FROM_START = -1;
+
+    private final TravelTimeEstimationService travelEstimator;
+    private final PlanningMetrics metrics;
+
+    /**
+     * Constructs the optimizer with a travel time estimator dependency and no metrics.
+     *
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     */
+    public ExactRouteOptimizer(TravelTimeEstimationService travelEstimator) {
+        this(travelEstimator, PlanningMetrics.NONE);
+    }
+
+    /**
+     * Constructs the optimizer with a travel time estimator and a metrics sink.
+     *
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @param metrics         Receives one measurement per optimizer run.
+     */
+    @Inject
+    public ExactRouteOptimizer(TravelTimeEstimationService travelEstimator, PlanningMetrics metrics) {
+        this.travelEstimator = travelEstimator;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Computes the optimal route given a starting location and a list of delivery visit nodes.
+     *
+     * @param startLocation The starting point (e.g., delivery agent's location).
+     * @param nodes         List of all visit nodes (restaurants and customers).
+     * @return A list of VisitNodes representing the optimal route.
+     * @throws IllegalArgumentException if there are more than {@link #MAX_NODES} nodes.
+     */
+    @Override
+    public List<VisitNode> computeOptimalRoute(GeoLocation startLocation, List<VisitNode> nodes) {
+        return computeOptimalRoute(TravelTimeMatrix.build(startLocation, nodes, travelEstimator), nodes);
+    }
+
+    /**
+     * Computes the optimal route using a precomputed travel time matrix.
+     *
+     * @param matrix Travel times between the start location and every node.
+     * @param nodes  List of all visit nodes (restaurants and customers), in matrix order.
+     * @return A list of VisitNodes representing the optimal route, or {@code null} if the
+     * precedence constraints cannot be satisfied.
+     * @throws IllegalArgumentException if there are more than {@link #MAX_NODES} nodes.
+     */
+    @Override
+    public List<VisitNode> computeOptimalRoute(TravelTimeMatrix matrix, List<VisitNode> nodes) {
+        int[] order = computeOptimalOrder(matrix);
+        return order == null ? null : matrix.getInstance().toRoute(order);
+    }
+
+    /**
+     * Computes the optimal route as node indices of the matrix's problem instance.
+     *
+     * @param matrix Travel times between the start location and every node.
+     * @return Node indices in visiting order, or {@code null} if the precedence constraints
+     * cannot be satisfied.
+     * @throws IllegalArgumentException if there are more than {@link #MAX_NODES} nodes.
+     */
+    @Override
+    public int[] computeOptimalOrder(TravelTimeMatrix matrix) {
+        ProblemInstance instance = matrix.getInstance();
+        int nodeCount = instance.size();
+        if (nodeCount > MAX_NODES) {
+            throw new IllegalArgumentException("Exact optimization supports at most " + MAX_NODES
+                    + " visit nodes, got " + nodeCount);
+        }
+        if (nodeCount == 0) {
+            return new int[0];
+        }
+
+        long startNanos = System.nanoTime();
+        double[] readyTimes = instance.getReadyTimes();
+        int[] requiredMask = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            int restaurant = instance.restaurantOf(node);
+            requiredMask[node] = restaurant >= 0 ? 1 << restaurant : 0;
+        }
+
+        // arrival[mask * n + last]: earliest time to have visited exactly `mask`, ending at `last`
+        int fullMask = (1 << nodeCount) - 1;
+        double[] arrival = new double[(fullMask + 1) * nodeCount];
+        byte[] previous = new byte[(fullMask + 1) * nodeCount];
+        Arrays.fill(arrival, Double.POSITIVE_INFINITY);
+
+        for (int node = 0; node < nodeCount; node++) {
+            if (requiredMask[node] == 0) {
+                int cell = (1 << node) * nodeCount + node;
+                arrival[cell] = Math.max(matrix.time(matrix.getStartIndex(), node, 0), readyTimes[node]);
+                previous[cell] = FROM_START;
+            }
+        }
+
+        long statesExpanded = 0;
+        for (int mask = 1; mask < fullMask; mask++) {
+            if (!isClosedUnderPrecedence(mask, requiredMask)) continue;
+
+            for (int last = 0; last < nodeCount; last++) {
+                double currentTime = arrival[mask * nodeCount + last];
+                if (currentTime == Double.POSITIVE_INFINITY) continue;
+                statesExpanded++;
+
+                for (int next = 0; next < nodeCount; next++) {
+                    if ((mask & (1 << next)) != 0 || (mask & requiredMask[next]) != requiredMask[next]) continue;
+
+                    double nextTime = Math.max(currentTime + matrix.time(last, next, currentTime), readyTimes[next]);
+                    int cell = (mask | (1 << next)) * nodeCount + next;
+                    if (nextTime < arrival[cell]) {
+                        arrival[cell] = nextTime;
+                        previous[cell] = (byte) last;
+                    }
+                }
+            }
+        }
+
+        int bestLast = -1;
+        double bestTime = Double.POSITIVE_INFINITY;
+        for (int last = 0; last < nodeCount; last++) {
+            if (arrival[fullMask * nodeCount + last] < bestTime) {
+                bestTime = arrival[fullMask * nodeCount + last];
+                bestLast = last;
+            }
+        }
+        metrics.recordOptimization(OptimizerStrategy.EXACT, System.nanoTime() - startNanos,
+                statesExpanded, matrix.getEstimateCount(), bestLast < 0 ? Double.NaN : bestTime);
+        if (bestLast < 0) {
+            return null;
+        }
+
+        return reconstructOrder(nodeCount, previous, fullMask, bestLast);
+    }
+
+    /**
+     * Checks that every customer in the subset is accompanied by its restaurant.
+     */
+    private static boolean isClosedUnderPrecedence(int mask, int[] requiredMask) {
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            int node = Integer.numberOfTrailingZeros(remaining);
+            if ((mask & requiredMask[node]) != requiredMask[node]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Walks the predecessor table back from the final (subset, last node) cell.
+     */
+    private static int[] reconstructOrder(int nodeCount, byte[] previous, int fullMask, int last) {
+        int[] order = new int[nodeCount];
+        int mask = fullMask;
+        for (int position = nodeCount - 1; position >= 0; position--) {
+            order[position] = last;
+            int before = previous[mask * nodeCount + last];
+            mask &= ~(1 << last);
+            last = before;
+        }
+        return order;
+    }
+}
@@ -2,122 +2,138 @@ package org.assignment.delivery.planner.algorithm.optimizer;
 
 
 import lombok.Data;
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+import org.assignment.delivery.planner.algorithm.optimizer.model.ProblemInstance;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
 import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
-import org.assignment.delivery.planner.algorithm.optimizer.model.VisitType;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
 import org.assignment.delivery.planner.model.GeoLocation;
 import org.assignment.delivery.planner.service.TravelTimeEstimationService;
 
 import javax.inject.Inject;
-import java.util.*;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GreedyRouteOptimizer builds a route by repeatedly visiting the feasible node with the earliest
+ * arrival time, including any wait for the restaurant's preparation time, with the lowest node
+ * index winning ties.
+ *
+ * <p>It is the fallback under overload, so a search on a prebuilt {@link TravelTimeMatrix}
+ * allocates nothing but its result:
+ * - Only feasible nodes are scanned. They are kept in a compact frontier array: every restaurant
+ *   and unpaired node at first, each customer once its restaurant has been visited.
+ * - The frontier and route buffers are per-thread scratch arrays reused across calls and only
+ *   grown when a larger batch arrives.
+ */
 @Data
 public class GreedyRouteOptimizer implements RouteOptimizer {
+
+    /** Per-thread buffers reused by every search run on that thread */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     final private TravelTimeEstimationService timeEstimationService;
+    final private PlanningMetrics metrics;
 
-    @Inject
     public GreedyRouteOptimizer(TravelTimeEstimationService timeEstimationService) {
+        this(timeEstimationService, PlanningMetrics.NONE);
+    }
+
+    @Inject
+    public GreedyRouteOptimizer(TravelTimeEstimationService timeEstimationService, PlanningMetrics metrics) {
         this.timeEstimationService = timeEstimationService;
+        this.metrics = metrics;
     }
 
     @Override
     public List<VisitNode> computeOptimalRoute(GeoLocation startLocation, List<VisitNode> visitNodes) {
-        Set<String> visitedRestaurants = new HashSet<>();
-        Set<String> visitedCustomers = new HashSet<>();
-        Map<String, VisitNode> restaurantMap = new HashMap<>();
-        Map<String, VisitNode> customerMap = new HashMap<>();
-        initializeNodeMaps(visitNodes, restaurantMap, customerMap);
-
-        List<VisitNode> route = new ArrayList<>();
-        GeoLocation currentLocation = startLocation;
-        double currentTime = 0.0;
-
-        while (visitedCustomers.size() < customerMap.size()) {
-            VisitNode nextNode = selectNextNode(visitNodes, currentLocation, currentTime, visitedRestaurants, visitedCustomers);
-            if (nextNode == null) {
-                throw new IllegalStateException("No valid next node found. Check the order constraints.");
-            }
-
-            double travelTime = timeEstimationService.estimateTime(currentLocation, nextNode.getLocation());
-            double arrivalTime = currentTime + travelTime;
-
-            if (nextNode.getType() == VisitType.RESTAURANT && arrivalTime < nextNode.getAveragePreparationTime()) {
-                arrivalTime = nextNode.getAveragePreparationTime();
-            }
+        return computeOptimalRoute(TravelTimeMatrix.build(startLocation, visitNodes, timeEstimationService), visitNodes);
+    }
 
-            currentLocation = nextNode.getLocation();
-            currentTime = arrivalTime;
-            route.add(nextNode);
+    @Override
+    public List<VisitNode> computeOptimalRoute(TravelTimeMatrix matrix, List<VisitNode> visitNodes) {
+        ProblemInstance instance = matrix.getInstance();
+        int[] order = search(matrix, SCRATCH.get());
 
-            updateVisitState(nextNode, visitedRestaurants, visitedCustomers);
+        List<VisitNode> route = new ArrayList<>(instance.size());
+        for (int position = 0; position < instance.size(); position++) {
+            route.add(instance.node(order[position]));
         }
-
         return route;
     }
 
-    private void initializeNodeMaps(List<VisitNode> visitNodes,
-                                    Map<String, VisitNode> restaurantMap,
-                                    Map<String, VisitNode> customerMap) {
-        for (VisitNode node : visitNodes) {
-            if (node.getType() == VisitType.RESTAURANT) {
-                restaurantMap.put(node.getOrderId(), node);
-            } else {
-                customerMap.put(node.getOrderId(), node);
-            }
-        }
+    @Override
+    public int[] computeOptimalOrder(TravelTimeMatrix matrix) {
+        return Arrays.copyOf(search(matrix, SCRATCH.get()), matrix.getNodeCount());
     }
 
-    private VisitNode selectNextNode(List<VisitNode> nodes,
-                                     GeoLocation currentLocation,
-                                     double currentTime,
-                                     Set<String> visitedRestaurants,
-                                     Set<String> visitedCustomers) {
-
-        VisitNode bestNode = null;
-        double earliestArrival = Double.MAX_VALUE;
-
-        for (VisitNode node : nodes) {
-            if (!isNodeVisitable(node, visitedRestaurants, visitedCustomers)) {
-                continue;
+    /**
+     * Runs the greedy search into the scratch route buffer.
+     *
+     * @return The scratch route buffer, whose first {@code nodeCount} entries hold the route.
+     */
+    private int[] search(TravelTimeMatrix matrix, Scratch scratch) {
+        long startNanos = System.nanoTime();
+        ProblemInstance instance = matrix.getInstance();
+        double[] readyTimes = instance.getReadyTimes();
+        int nodeCount = instance.size();
+        scratch.ensureCapacity(nodeCount);
+        int[] frontier = scratch.frontier;
+        int[] order = scratch.order;
+
+        int frontierSize = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (instance.restaurantOf(node) < 0) {
+                frontier[frontierSize++] = node;
             }
+        }
 
-            double travelTime = timeEstimationService.estimateTime(currentLocation, node.getLocation());
-            double arrivalTime = currentTime + travelTime;
-
-            if (node.getType() == VisitType.RESTAURANT && arrivalTime < node.getAveragePreparationTime()) {
-                arrivalTime = node.getAveragePreparationTime();
+        int currentIndex = matrix.getStartIndex();
+        double currentTime = 0.0;
+        for (int position = 0; position < nodeCount; position++) {
+            int bestSlot = -1;
+            int bestNode = Integer.MAX_VALUE;
+            double earliestArrival = Double.MAX_VALUE;
+            for (int slot = 0; slot < frontierSize; slot++) {
+                int node = frontier[slot];
+                double arrivalTime = Math.max(currentTime + matrix.time(currentIndex, node, currentTime), readyTimes[node]);
+                if (arrivalTime < earliestArrival || (arrivalTime == earliestArrival && node < bestNode)) {
+                    earliestArrival = arrivalTime;
+                    bestNode = node;
+                    bestSlot = slot;
+                }
             }
-
-            if (arrivalTime < earliestArrival) {
-                earliestArrival = arrivalTime;
-                bestNode = node;
+            if (bestSlot < 0) {
+                throw new IllegalStateException("No valid next node found. Check the order constraints.");
             }
-        }
-
-        return bestNode;
-    }
 
-    private boolean isNodeVisitable(VisitNode node, Set<String> visitedRestaurants, Set<String> visitedCustomers) {
-        String orderId = node.getOrderId();
+            // Replace the visited node with its customer, if any, or with the last frontier entry
+            int customer = instance.customerOf(bestNode);
+            frontier[bestSlot] = customer >= 0 ? customer : frontier[--frontierSize];
 
-        if (isRestaurant(node) && visitedRestaurants.contains(orderId)) return false;
-        if (!isRestaurant(node) && visitedCustomers.contains(orderId)) return false;
-        if (!isRestaurant(node) && !visitedRestaurants.contains(orderId)) return false;
+            order[position] = bestNode;
+            currentIndex = bestNode;
+            currentTime = earliestArrival;
+        }
 
-        return true;
+        metrics.recordOptimization(OptimizerStrategy.GREEDY, System.nanoTime() - startNanos,
+                nodeCount, matrix.getEstimateCount(), currentTime);
+        return order;
     }
 
-    private void updateVisitState(VisitNode node,
-                                  Set<String> visitedRestaurants,
-                                  Set<String> visitedCustomers) {
-        if (isRestaurant(node)) {
-            visitedRestaurants.add(node.getOrderId());
-        } else {
-            visitedCustomers.add(node.getOrderId());
+    /**
+     * Search buffers owned by a single thread.
+     */
+    private static final class Scratch {
+        private int[] frontier = new int[0];
+        private int[] order = new int[0];
+
+        private void ensureCapacity(int nodeCount) {
+            if (frontier.length < nodeCount) {
+                frontier = new int[nodeCount];
+                order = new int[nodeCount];
+            }
         }
     }
-
-    private  Boolean isRestaurant(VisitNode node) {
-        return node.getType() == VisitType.RESTAURANT;
-    }
-
 }
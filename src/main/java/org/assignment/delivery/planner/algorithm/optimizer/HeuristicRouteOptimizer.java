@@ -1,28 +1,31 @@
 package org.assignment.delivery.planner.algorithm.optimizer;
 
+import org.assignment.delivery.planner.algorithm.optimizer.config.BeamSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.BoundedBeam;
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+import org.assignment.delivery.planner.algorithm.optimizer.model.ProblemInstance;
 import org.assignment.delivery.planner.algorithm.optimizer.model.RouteState;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
 import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
-import org.assignment.delivery.planner.algorithm.optimizer.model.VisitType;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
 import org.assignment.delivery.planner.model.GeoLocation;
 import org.assignment.delivery.planner.service.TravelTimeEstimationService;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * HeuristicRouteOptimizer implements a beam search strategy to compute a near-optimal
  * delivery route, considering restaurant preparation delays and visit constraints.
  *
- * <p>Each beam iteration retains only a limited number of best paths (defined by BEAM_WIDTH),
- * based on estimated total delivery time using a heuristic that favors nearest unvisited nodes.
+ * <p>Each beam iteration retains only a limited number of best paths (defined by the beam width
+ * of its {@link BeamSearchConfig}), based on estimated total delivery time using a heuristic
+ * that favors nearest unvisited nodes. The search can be bounded by a number of expansions and
+ * a wall-clock budget; when either is exhausted the most promising partial route is finished
+ * greedily. Levels can optionally be expanded in parallel on the common {@code ForkJoinPool}.
  *
  * <p>Constraints enforced:
  * - A customer node can only be visited after their corresponding restaurant node.
@@ -31,16 +34,49 @@ import java.util.stream.Collectors;
 public class HeuristicRouteOptimizer implements RouteOptimizer {
 
     private final TravelTimeEstimationService travelEstimator;
-    private static final int BEAM_WIDTH = 3;
+    private final BeamSearchConfig config;
+    private final PlanningMetrics metrics;
 
     /**
-     * Constructs the optimizer with a travel time estimator dependency.
+     * Constructs the optimizer with a travel time estimator dependency and the default,
+     * unbounded search configuration.
      *
      * @param travelEstimator Service used to estimate travel time between geo-locations.
      */
-    @Inject
     public HeuristicRouteOptimizer(TravelTimeEstimationService travelEstimator) {
+        this(travelEstimator, BeamSearchConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs the optimizer with a travel time estimator and a search configuration.
+     *
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @param config          Beam width and search limits applied to every call.
+     */
+    public HeuristicRouteOptimizer(TravelTimeEstimationService travelEstimator, BeamSearchConfig config) {
+        this(travelEstimator, config, PlanningMetrics.NONE);
+    }
+
+    /**
+     * Constructs the optimizer with a travel time estimator, a search configuration and a metrics sink.
+     *
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @param config          Beam width and search limits applied to every call.
+     * @param metrics         Receives one measurement and the pruning counts per search.
+     */
+    @Inject
+    public HeuristicRouteOptimizer(TravelTimeEstimationService travelEstimator, BeamSearchConfig config,
+                                   PlanningMetrics metrics) {
         this.travelEstimator = travelEstimator;
+        this.config = config;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return The search configuration applied when none is passed per call.
+     */
+    public BeamSearchConfig getConfig() {
+        return config;
     }
 
     /**
@@ -52,78 +88,361 @@ public class HeuristicRouteOptimizer implements RouteOptimizer {
      */
     @Override
     public List<VisitNode> computeOptimalRoute(GeoLocation startLocation, List<VisitNode> nodes) {
-        Queue<RouteState> beam = new PriorityQueue<>(Comparator.comparingDouble(RouteState::getEstimatedTotalTime));
-        beam.add(new RouteState(startLocation, new ArrayList<>(), new HashSet<>(), 0));
+        return computeOptimalRoute(TravelTimeMatrix.build(startLocation, nodes, travelEstimator), nodes);
+    }
+
+    /**
+     * Computes the optimal route using a precomputed travel time matrix.
+     *
+     * @param matrix Travel times between the start location and every node.
+     * @param nodes  List of all visit nodes (restaurants and customers), in matrix order.
+     * @return A list of VisitNodes representing the best route found.
+     */
+    @Override
+    public List<VisitNode> computeOptimalRoute(TravelTimeMatrix matrix, List<VisitNode> nodes) {
+        return computeOptimalRoute(matrix, nodes, config);
+    }
+
+    /**
+     * Computes the optimal route using a precomputed travel time matrix and a per-call
+     * search configuration, allowing callers to trade latency for route quality.
+     *
+     * @param matrix Travel times between the start location and every node.
+     * @param nodes  List of all visit nodes (restaurants and customers), in matrix order.
+     * @param config Beam width and search limits for this call.
+     * @return A list of VisitNodes representing the best route found.
+     */
+    public List<VisitNode> computeOptimalRoute(TravelTimeMatrix matrix, List<VisitNode> nodes, BeamSearchConfig config) {
+        int[] order = computeOptimalOrder(matrix, config);
+        return order == null ? null : matrix.getInstance().toRoute(order);
+    }
+
+    @Override
+    public int[] computeOptimalOrder(TravelTimeMatrix matrix) {
+        return computeOptimalOrder(matrix, config);
+    }
+
+    /**
+     * Computes the route as node indices of the matrix's problem instance, with a per-call
+     * search configuration.
+     *
+     * @param matrix Travel times between the start location and every node.
+     * @param config Beam width and search limits for this call.
+     * @return Node indices in visiting order, or {@code null} if no node can be visited.
+     */
+    public int[] computeOptimalOrder(TravelTimeMatrix matrix, BeamSearchConfig config) {
+        SearchBudget budget = new SearchBudget(config);
+        RouteState best = search(matrix, config, budget);
 
-        List<VisitNode> bestRoute = null;
-        double bestTime = Double.MAX_VALUE;
+        metrics.recordOptimization(OptimizerStrategy.BEAM, System.nanoTime() - budget.startNanos, budget.statesExpanded,
+                matrix.getEstimateCount(), best == null ? Double.NaN : best.getCurrentTime());
+        metrics.recordBeamPruning(budget.candidatesGenerated, budget.candidatesRetained);
+        return best == null ? null : best.toOrder();
+    }
+
+    /**
+     * Runs the beam search.
+     *
+     * @return The best complete state found, or {@code null} if no node can be visited.
+     */
+    private RouteState search(TravelTimeMatrix matrix, BeamSearchConfig config, SearchBudget budget) {
+        ProblemInstance instance = matrix.getInstance();
+        int nodeCount = instance.size();
+
+        List<RouteState> beam = new ArrayList<>();
+        beam.add(RouteState.initial(matrix.getStartIndex()));
 
         while (!beam.isEmpty()) {
-            List<RouteState> nextBeam = new ArrayList<>();
+            // Every state of a level has visited the same number of nodes
+            if (beam.get(0).getVisitedCount() == nodeCount) {
+                return bestCompleteState(beam);
+            }
 
-            for (RouteState state : beam) {
-                if (state.getVisited().size() == nodes.size()) {
-                    if (state.getCurrentTime() < bestTime) {
-                        bestTime = state.getCurrentTime();
-                        bestRoute = state.getRoute();
-                    }
-                    continue;
+            List<RouteState> nextBeam = budget.tryExpand(beam.size())
+                    ? expandLevel(beam, matrix, instance, config, budget)
+                    : null;
+
+            // Search budget exhausted: finish the most promising partial route greedily
+            if (nextBeam == null) {
+                budget.statesExpanded += nodeCount - beam.get(0).getVisitedCount();
+                return completeGreedily(beam.get(0), matrix, instance);
+            }
+            beam = nextBeam;
+        }
+
+        return null;
+    }
+
+    /**
+     * Expands every state of a beam level and retains the top-k most promising successors,
+     * in parallel when the configuration allows it and the level is large enough.
+     *
+     * @return The next beam level ordered by estimated total time, or {@code null} if the
+     * time budget ran out during the expansion.
+     */
+    private List<RouteState> expandLevel(List<RouteState> beam, TravelTimeMatrix matrix, ProblemInstance instance,
+                                         BeamSearchConfig config, SearchBudget budget) {
+        if (config.isParallel() && (long) beam.size() * instance.size() >= config.getParallelThreshold()) {
+            int chunkSize = Math.max(1, beam.size() / (4 * ForkJoinPool.getCommonPoolParallelism()));
+            BoundedBeam nextBeam = ForkJoinPool.commonPool().invoke(new LevelExpansionTask(
+                    beam, 0, beam.size(), chunkSize, matrix, instance, config, budget));
+            if (nextBeam == null) {
+                return null;
+            }
+            budget.recordLevel(nextBeam);
+            return nextBeam.drainSorted();
+        }
+
+        BoundedBeam nextBeam = new BoundedBeam(config.getBeamWidth());
+        for (int position = 0; position < beam.size(); position++) {
+            if (budget.isTimeExhausted()) {
+                return null;
+            }
+            expandInto(nextBeam, beam.get(position), position, matrix, instance, config.getCandidateLimit());
+        }
+
+        // Retain only top-k most promising states
+        budget.recordLevel(nextBeam);
+        return nextBeam.drainSorted();
+    }
+
+    /**
+     * Expands a single state into a bounded beam. Candidates are ranked by estimated total time
+     * and, on ties, by the order they are generated in (position of the state in its level, then
+     * node index), so any partitioning of a level yields the same beam.
+     *
+     * <p>With a {@link BeamSearchConfig#getCandidateLimit() candidate limit}, only the nearest
+     * feasible nodes are expanded, found by walking the current node's pre-sorted neighbour list.
+     */
+    private void expandInto(BoundedBeam target, RouteState state, int position, TravelTimeMatrix matrix,
+                            ProblemInstance instance, int candidateLimit) {
+        int nodeCount = instance.size();
+        long sequenceBase = (long) position * nodeCount;
+        if (candidateLimit >= nodeCount - state.getVisitedCount()) {
+            for (int index = 0; index < nodeCount; index++) {
+                if (isFeasible(state, index, instance)) {
+                    offerSuccessor(target, state, index, sequenceBase + index, matrix, instance);
                 }
+            }
+            return;
+        }
 
-                for (VisitNode node : nodes) {
-                    if (state.getVisited().contains(node)) continue;
+        int remaining = candidateLimit;
+        for (int index : matrix.getNearestNeighbours()[state.getCurrentIndex()]) {
+            if (remaining == 0) break;
+            if (isFeasible(state, index, instance)) {
+                offerSuccessor(target, state, index, sequenceBase + index, matrix, instance);
+                remaining--;
+            }
+        }
+    }
 
-                    // Enforce restaurant visit before customer
-                    if (node.getType() == VisitType.CUSTOMER) {
-                        VisitNode restaurant = node.getPairedNode();
-                        if (!state.getVisited().contains(restaurant)) continue;
-                    }
+    /**
+     * Offers the successor reached by visiting {@code index}. Candidates that cannot make the cut
+     * are rejected before their state is allocated; since the heuristic never goes below zero,
+     * the arrival time alone is checked first so hopeless candidates also skip the heuristic.
+     */
+    private void offerSuccessor(BoundedBeam target, RouteState state, int index, long sequence,
+                                TravelTimeMatrix matrix, ProblemInstance instance) {
+        // Travel time plus any restaurant preparation delay
+        target.countCandidate();
+        double arrivalTime = arrivalTime(state, index, matrix, instance.getReadyTimes());
+        if (!target.wouldAccept(arrivalTime, sequence)) return;
 
-                    double arrivalTime = state.getCurrentTime() +
-                            travelEstimator.estimateTime(state.getCurrentLocation(), node.getLocation());
+        double estimatedTotalTime = arrivalTime + heuristicEstimate(matrix, index, state);
+        if (!target.wouldAccept(estimatedTotalTime, sequence)) return;
 
-                    // Apply restaurant preparation delay
-                    if (node.getType() == VisitType.RESTAURANT) {
-                        arrivalTime = Math.max(arrivalTime, node.getAveragePreparationTime());
-                    }
+        target.offer(state.visit(index, arrivalTime, estimatedTotalTime), sequence);
+    }
 
-                    List<VisitNode> newRoute = new ArrayList<>(state.getRoute());
-                    newRoute.add(node);
+    /**
+     * A node can be visited next if it is unvisited and its restaurant, if any, has been visited.
+     */
+    private static boolean isFeasible(RouteState state, int index, ProblemInstance instance) {
+        if (state.isVisited(index)) return false;
+        int restaurant = instance.restaurantOf(index);
+        return restaurant < 0 || state.isVisited(restaurant);
+    }
 
-                    Set<VisitNode> newVisited = new HashSet<>(state.getVisited());
-                    newVisited.add(node);
+    /**
+     * Returns the complete state with the lowest total time; the first one wins on ties.
+     */
+    private static RouteState bestCompleteState(List<RouteState> beam) {
+        RouteState bestState = beam.get(0);
+        for (RouteState state : beam) {
+            if (state.getCurrentTime() < bestState.getCurrentTime()) {
+                bestState = state;
+            }
+        }
+        return bestState;
+    }
 
-                    GeoLocation newLocation = node.getLocation();
-                    double estimatedRemainingTime = heuristicEstimate(newLocation, nodes, newVisited);
+    /**
+     * Completes a partial route by repeatedly visiting the feasible node with the earliest
+     * arrival time (lowest index on ties), as {@link GreedyRouteOptimizer} does.
+     *
+     * <p>Candidates are scanned along the current node's neighbour list, nearest first. Waiting
+     * only delays arrival, so the scan stops once the travel time alone exceeds the earliest
+     * arrival found; the result is the same as scanning every node.
+     *
+     * @param state     Partial state to complete.
+     * @param matrix    Travel times between the start location and every node.
+     * @param instance  Node attributes and pairing of the planning call.
+     * @return A state in which every node has been visited.
+     */
+    private RouteState completeGreedily(RouteState state, TravelTimeMatrix matrix, ProblemInstance instance) {
+        int[][] neighbours = matrix.getNearestNeighbours();
+        double[] readyTimes = instance.getReadyTimes();
+        // Neighbours are ordered by travel time at departure, which only bounds later legs when times are fixed
+        boolean sortedByTravelTime = !matrix.isTimeDependent();
+        while (state.getVisitedCount() < instance.size()) {
+            int bestIndex = -1;
+            double earliestArrival = Double.MAX_VALUE;
+
+            for (int index : neighbours[state.getCurrentIndex()]) {
+                if (sortedByTravelTime
+                        && state.getCurrentTime() + matrix.time(state.getCurrentIndex(), index) > earliestArrival) break;
+                if (!isFeasible(state, index, instance)) continue;
 
-                    nextBeam.add(new RouteState(newLocation, newRoute, newVisited, arrivalTime,
-                            arrivalTime + estimatedRemainingTime));
+                double arrivalTime = arrivalTime(state, index, matrix, readyTimes);
+                if (arrivalTime < earliestArrival || (arrivalTime == earliestArrival && index < bestIndex)) {
+                    earliestArrival = arrivalTime;
+                    bestIndex = index;
                 }
             }
 
-            // Retain only top-k most promising states
-            beam = nextBeam.stream()
-                    .sorted(Comparator.comparingDouble(RouteState::getEstimatedTotalTime))
-                    .limit(BEAM_WIDTH)
-                    .collect(Collectors.toCollection(LinkedList::new));
+            if (bestIndex < 0) {
+                throw new IllegalStateException("No valid next node found. Check the order constraints.");
+            }
+            state = state.visit(bestIndex, earliestArrival, earliestArrival);
         }
+        return state;
+    }
 
-        return bestRoute;
+    /**
+     * Computes the time at which a node is reached from the given state, including the wait
+     * for the restaurant's preparation time.
+     */
+    private static double arrivalTime(RouteState state, int index, TravelTimeMatrix matrix, double[] readyTimes) {
+        double currentTime = state.getCurrentTime();
+        return Math.max(currentTime + matrix.time(state.getCurrentIndex(), index, currentTime), readyTimes[index]);
     }
 
     /**
-     * Estimates remaining time using a simple heuristic — distance to the nearest unvisited node.
+     * Estimates remaining time using a simple heuristic — travel time to the nearest unvisited node.
+     *
+     * <p>Walks the pre-sorted neighbour list of the node and stops at the first unvisited entry.
+     * Nearby nodes tend to be visited early in a route, so the scan is short on average instead
+     * of always touching every node.
      *
-     * @param currentLocation Current location of the agent.
-     * @param allNodes        All visit nodes (restaurants/customers).
-     * @param visited         Set of already visited nodes.
+     * @param matrix    Travel times between the start location and every node.
+     * @param nextIndex Index of the node about to be visited; it is treated as visited.
+     * @param state     State being expanded, providing the visited mask.
      * @return Estimated time to complete the remaining deliveries.
      */
-    private double heuristicEstimate(GeoLocation currentLocation, List<VisitNode> allNodes, Set<VisitNode> visited) {
-        return allNodes.stream()
-                .filter(n -> !visited.contains(n))
-                .mapToDouble(n -> travelEstimator.estimateTime(currentLocation, n.getLocation()))
-                .min()
-                .orElse(0);
+    private double heuristicEstimate(TravelTimeMatrix matrix, int nextIndex, RouteState state) {
+        for (int neighbour : matrix.getNearestNeighbours()[nextIndex]) {
+            if (!state.isVisited(neighbour)) {
+                return matrix.time(nextIndex, neighbour);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Tracks the expansion count and wall-clock budget of a single search, along with the
+     * counts it reports to {@link PlanningMetrics}. Only touched by the thread running the search.
+     */
+    private static final class SearchBudget {
+        private final long maxExpansions;
+        private final long startNanos = System.nanoTime();
+        private final long budgetNanos;
+        private long expansions;
+        private long statesExpanded;
+        private long candidatesGenerated;
+        private long candidatesRetained;
+
+        private SearchBudget(BeamSearchConfig config) {
+            this.maxExpansions = config.getMaxExpansions();
+            this.budgetNanos = config.hasTimeBudget() ? config.getTimeBudget().toNanos() : Long.MAX_VALUE;
+        }
+
+        /**
+         * Reserves expansions for a whole level. A level that would cross the limit is not
+         * expanded at all, which yields the same route as stopping part-way through it.
+         */
+        private boolean tryExpand(int states) {
+            if (states > maxExpansions - expansions) {
+                return false;
+            }
+            expansions += states;
+            statesExpanded += states;
+            return true;
+        }
+
+        private void recordLevel(BoundedBeam level) {
+            candidatesGenerated += level.getCandidateCount();
+            candidatesRetained += level.size();
+        }
+
+        private boolean isTimeExhausted() {
+            return System.nanoTime() - startNanos >= budgetNanos;
+        }
+    }
+
+    /**
+     * Fork-join task expanding a range of beam states. Each leaf keeps its own bounded top-k
+     * heap and heaps are merged while joining, so the full candidate list is never sorted.
+     * Returns {@code null} if the time budget ran out.
+     */
+    private final class LevelExpansionTask extends RecursiveTask<BoundedBeam> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<RouteState> beam;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final TravelTimeMatrix matrix;
+        private final ProblemInstance instance;
+        private final BeamSearchConfig config;
+        private final SearchBudget budget;
+
+        private LevelExpansionTask(List<RouteState> beam, int from, int to, int chunkSize, TravelTimeMatrix matrix,
+                                   ProblemInstance instance, BeamSearchConfig config, SearchBudget budget) {
+            this.beam = beam;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.matrix = matrix;
+            this.instance = instance;
+            this.config = config;
+            this.budget = budget;
+        }
+
+        @Override
+        protected BoundedBeam compute() {
+            if (to - from <= chunkSize) {
+                BoundedBeam local = new BoundedBeam(config.getBeamWidth());
+                for (int position = from; position < to; position++) {
+                    if (budget.isTimeExhausted()) {
+                        return null;
+                    }
+                    expandInto(local, beam.get(position), position, matrix, instance, config.getCandidateLimit());
+                }
+                return local;
+            }
+
+            int middle = (from + to) >>> 1;
+            LevelExpansionTask left = new LevelExpansionTask(beam, from, middle, chunkSize, matrix, instance, config, budget);
+            LevelExpansionTask right = new LevelExpansionTask(beam, middle, to, chunkSize, matrix, instance, config, budget);
+            left.fork();
+            BoundedBeam rightBeam = right.compute();
+            BoundedBeam leftBeam = left.join();
+            if (leftBeam == null || rightBeam == null) {
+                return null;
+            }
+            leftBeam.addAll(rightBeam);
+            return leftBeam;
+        }
     }
 }
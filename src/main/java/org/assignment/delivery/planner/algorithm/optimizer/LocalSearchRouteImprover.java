@@ -0,0 +1,279 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.config.LocalSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.ProblemInstance;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+
+import javax.inject.Inject;
+import java.util.List;
+
+/**
+ * LocalSearchRouteImprover refines a complete route with first-improvement local search over
+ * three move types:
+ * - Relocate (Or-opt): move a single node to another position.
+ * - Swap: exchange the positions of two nodes.
+ * - 2-opt: reverse the order of a contiguous segment.
+ *
+ * <p>Moves that would place a customer before their restaurant are rejected, so every route
+ * the search passes through stays valid. The objective is the same as the optimizers': the time
+ * at which the last node is served, including waits for restaurant preparation.
+ *
+ * <p>Every move only changes the nodes between two positions {@code p..q}. The route's arrival
+ * times are kept as a prefix array, and the remainder after any position is summarised as a
+ * function of the time it is entered: {@code completion(t) = max(t + A, B)}, where {@code A} is
+ * the travel time left and {@code B} the latest wait-bound finish. A move is therefore evaluated
+ * by simulating only {@code p..q} and applying the stored suffix function, instead of
+ * re-simulating the whole route. A time-dependent matrix makes the remainder depend on the exact
+ * time of day it is entered, so there the positions after {@code q} are simulated as well.
+ *
+ * <p>The search stops at a local optimum or when {@link LocalSearchConfig#getTimeLimit()}
+ * expires, returning the best route found.
+ */
+public class LocalSearchRouteImprover implements RouteImprover {
+
+    private static final double EPSILON = 1e-9;
+
+    private final TravelTimeEstimationService travelEstimator;
+    private final LocalSearchConfig config;
+
+    /**
+     * Constructs the improver with the default {@link LocalSearchConfig}.
+     *
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     */
+    public LocalSearchRouteImprover(TravelTimeEstimationService travelEstimator) {
+        this(travelEstimator, LocalSearchConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs the improver with a travel time estimator and search limits.
+     *
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @param config          Time limit of the search.
+     */
+    @Inject
+    public LocalSearchRouteImprover(TravelTimeEstimationService travelEstimator, LocalSearchConfig config) {
+        this.travelEstimator = travelEstimator;
+        this.config = config;
+    }
+
+    @Override
+    public List<VisitNode> improve(GeoLocation startLocation, List<VisitNode> route) {
+        if (route == null || route.size() < 2) {
+            return route;
+        }
+        TravelTimeMatrix matrix = TravelTimeMatrix.build(startLocation, route, travelEstimator);
+        return matrix.getInstance().toRoute(improve(matrix, matrix.getInstance().indicesOf(route)));
+    }
+
+    @Override
+    public List<VisitNode> improve(TravelTimeMatrix matrix, List<VisitNode> nodes, List<VisitNode> route) {
+        if (route == null || route.size() < 2) {
+            return route;
+        }
+        ProblemInstance instance = matrix.getInstance();
+        return instance.toRoute(improve(matrix, instance.indicesOf(route)));
+    }
+
+    @Override
+    public int[] improve(TravelTimeMatrix matrix, int[] order) {
+        if (order == null || order.length < 2) {
+            return order;
+        }
+        int[] improved = order.clone();
+        long deadline = System.nanoTime() + config.getTimeLimit().toNanos();
+        new Search(matrix, improved, deadline).run();
+        return improved;
+    }
+
+    /**
+     * Mutable state of a single improvement run. The route is held as node indices in
+     * {@code order}; {@code position} is its inverse.
+     */
+    private static final class Search {
+
+        private final TravelTimeMatrix matrix;
+        private final ProblemInstance instance;
+        private final int[] order;
+        private final int[] position;
+        private final double[] readyTimes;
+        private final long deadline;
+        /** Whether travel times depend on when a leg starts, which rules out the suffix functions */
+        private final boolean timeDependent;
+
+        /** arrival[k]: time at which the node at position k has been served */
+        private final double[] arrival;
+        /** Suffix function after position k: completion(t) = max(t + suffixTravel[k], suffixBound[k]) */
+        private final double[] suffixTravel;
+        private final double[] suffixBound;
+
+        /** Candidate contents of the changed positions p..q, and the new position of each node in it */
+        private final int[] segment;
+        private final int[] segmentPosition;
+        private final int[] segmentStamp;
+        private int stamp;
+
+        private double completionTime;
+
+        Search(TravelTimeMatrix matrix, int[] order, long deadline) {
+            int nodeCount = matrix.getNodeCount();
+            this.matrix = matrix;
+            this.instance = matrix.getInstance();
+            this.order = order;
+            this.deadline = deadline;
+            this.timeDependent = matrix.isTimeDependent();
+            this.position = new int[nodeCount];
+            this.readyTimes = instance.getReadyTimes();
+            this.arrival = new double[order.length];
+            this.suffixTravel = new double[order.length];
+            this.suffixBound = new double[order.length];
+            this.segment = new int[order.length];
+            this.segmentPosition = new int[nodeCount];
+            this.segmentStamp = new int[nodeCount];
+
+            for (int k = 0; k < order.length; k++) {
+                position[order[k]] = k;
+            }
+            refreshTimes();
+        }
+
+        void run() {
+            boolean improved = true;
+            while (improved && System.nanoTime() < deadline) {
+                improved = relocatePass() || swapPass() || twoOptPass();
+            }
+        }
+
+        private boolean relocatePass() {
+            int length = order.length;
+            for (int from = 0; from < length; from++) {
+                if (System.nanoTime() >= deadline) return false;
+                for (int to = 0; to < length; to++) {
+                    if (to == from) continue;
+                    int first = Math.min(from, to);
+                    int last = Math.max(from, to);
+                    if (from < to) {
+                        System.arraycopy(order, from + 1, segment, 0, to - from);
+                        segment[to - from] = order[from];
+                    } else {
+                        segment[0] = order[from];
+                        System.arraycopy(order, to, segment, 1, from - to);
+                    }
+                    if (tryApply(first, last)) return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean swapPass() {
+            int length = order.length;
+            for (int first = 0; first < length; first++) {
+                if (System.nanoTime() >= deadline) return false;
+                for (int last = first + 1; last < length; last++) {
+                    System.arraycopy(order, first, segment, 0, last - first + 1);
+                    segment[0] = order[last];
+                    segment[last - first] = order[first];
+                    if (tryApply(first, last)) return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean twoOptPass() {
+            int length = order.length;
+            for (int first = 0; first < length; first++) {
+                if (System.nanoTime() >= deadline) return false;
+                // Adjacent reversals are already covered by the swap pass
+                for (int last = first + 2; last < length; last++) {
+                    for (int k = first; k <= last; k++) {
+                        segment[k - first] = order[first + last - k];
+                    }
+                    if (tryApply(first, last)) return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Evaluates replacing positions {@code first..last} with the candidate in {@code segment}
+         * and commits it if it is valid and strictly faster.
+         */
+        private boolean tryApply(int first, int last) {
+            if (!respectsPrecedence(first, last)) return false;
+
+            double time = first == 0 ? 0 : arrival[first - 1];
+            int previous = first == 0 ? matrix.getStartIndex() : order[first - 1];
+            for (int k = first; k <= last; k++) {
+                int node = segment[k - first];
+                time = Math.max(time + matrix.time(previous, node, time), readyTimes[node]);
+                previous = node;
+            }
+            if (timeDependent) {
+                for (int k = last + 1; k < order.length; k++) {
+                    time = Math.max(time + matrix.time(previous, order[k], time), readyTimes[order[k]]);
+                    previous = order[k];
+                }
+            } else if (last + 1 < order.length) {
+                int next = order[last + 1];
+                time = Math.max(time + matrix.time(previous, next), readyTimes[next]);
+                time = Math.max(time + suffixTravel[last + 1], suffixBound[last + 1]);
+            }
+
+            if (time >= completionTime - EPSILON) return false;
+
+            System.arraycopy(segment, 0, order, first, last - first + 1);
+            for (int k = first; k <= last; k++) {
+                position[order[k]] = k;
+            }
+            refreshTimes();
+            return true;
+        }
+
+        private boolean respectsPrecedence(int first, int last) {
+            stamp++;
+            for (int k = first; k <= last; k++) {
+                int node = segment[k - first];
+                segmentPosition[node] = k;
+                segmentStamp[node] = stamp;
+            }
+            for (int k = first; k <= last; k++) {
+                int node = segment[k - first];
+                int restaurant = instance.restaurantOf(node);
+                if (restaurant >= 0 && newPosition(restaurant) > k) return false;
+                int customer = instance.customerOf(node);
+                if (customer >= 0 && newPosition(customer) < k) return false;
+            }
+            return true;
+        }
+
+        private int newPosition(int node) {
+            return segmentStamp[node] == stamp ? segmentPosition[node] : position[node];
+        }
+
+        /**
+         * Recomputes the prefix arrival times and suffix functions of the current route.
+         */
+        private void refreshTimes() {
+            int length = order.length;
+            double time = 0;
+            int previous = matrix.getStartIndex();
+            for (int k = 0; k < length; k++) {
+                time = Math.max(time + matrix.time(previous, order[k], time), readyTimes[order[k]]);
+                arrival[k] = time;
+                previous = order[k];
+            }
+            completionTime = arrival[length - 1];
+
+            suffixTravel[length - 1] = 0;
+            suffixBound[length - 1] = Double.NEGATIVE_INFINITY;
+            for (int k = length - 2; k >= 0; k--) {
+                int next = order[k + 1];
+                suffixTravel[k] = matrix.time(order[k], next) + suffixTravel[k + 1];
+                suffixBound[k] = Math.max(readyTimes[next] + suffixTravel[k + 1], suffixBound[k + 1]);
+            }
+        }
+    }
+}
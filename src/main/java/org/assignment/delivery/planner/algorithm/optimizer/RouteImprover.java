@@ -0,0 +1,61 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.ProblemInstance;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.model.GeoLocation;
+
+import java.util.List;
+
+/**
+ * RouteImprover defines a post-processing stage that takes a complete route produced by a
+ * {@link RouteOptimizer} and returns a route that is at least as good.
+ */
+public interface RouteImprover {
+
+    /** Improver that returns every route unchanged. */
+    RouteImprover NONE = new RouteImprover() {
+        @Override
+        public List<VisitNode> improve(GeoLocation startLocation, List<VisitNode> route) {
+            return route;
+        }
+
+        @Override
+        public int[] improve(TravelTimeMatrix matrix, int[] order) {
+            return order;
+        }
+    };
+
+    /**
+     * Improves a complete route starting from the given location.
+     *
+     * @param startLocation The starting point of the delivery agent.
+     * @param route         A complete route in which each restaurant precedes its customer.
+     * @return A route visiting the same nodes whose total time is not higher than the input's.
+     */
+    List<VisitNode> improve(GeoLocation startLocation, List<VisitNode> route);
+
+    /**
+     * Improves a complete route using a precomputed travel time matrix.
+     *
+     * @param matrix Travel times between the start location and every node, indexed by node position.
+     * @param nodes  The visit nodes in the order used to build the matrix.
+     * @param route  A complete route over {@code nodes}.
+     * @return A route visiting the same nodes whose total time is not higher than the input's.
+     */
+    default List<VisitNode> improve(TravelTimeMatrix matrix, List<VisitNode> nodes, List<VisitNode> route) {
+        return improve(matrix.getStartLocation(), route);
+    }
+
+    /**
+     * Improves a complete route given as node indices of the matrix's {@link ProblemInstance}.
+     *
+     * @param matrix Travel times between the start location and every node of its instance.
+     * @param order  A complete route as node indices.
+     * @return A route over the same indices whose total time is not higher than the input's.
+     */
+    default int[] improve(TravelTimeMatrix matrix, int[] order) {
+        ProblemInstance instance = matrix.getInstance();
+        return instance.indicesOf(improve(matrix, instance.getNodes(), instance.toRoute(order)));
+    }
+}
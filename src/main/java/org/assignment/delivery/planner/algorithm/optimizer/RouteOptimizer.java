@@ -1,5 +1,7 @@
 package org.assignment.delivery.planner.algorithm.optimizer;
 
+import org.assignment.delivery.planner.algorithm.optimizer.model.ProblemInstance;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
 import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
 import org.assignment.delivery.planner.model.GeoLocation;
 
@@ -21,4 +23,51 @@ public interface RouteOptimizer {
      * @return An ordered list of VisitNodes representing the optimal route.
      */
     List<VisitNode> computeOptimalRoute(GeoLocation startLocation, List<VisitNode> nodes);
+
+    /**
+     * Computes the optimal route using a precomputed travel time matrix.
+     *
+     * <p>Implementations that work on matrix indices should override this method so that a
+     * matrix built once per planning call can be shared between optimizers. The default
+     * implementation ignores the matrix and falls back to
+     * {@link #computeOptimalRoute(GeoLocation, List)}.
+     *
+     * @param matrix Travel times between the start location and every node, indexed by node position.
+     * @param nodes  A list of visit nodes, in the same order used to build the matrix.
+     * @return An ordered list of VisitNodes representing the optimal route.
+     */
+    default List<VisitNode> computeOptimalRoute(TravelTimeMatrix matrix, List<VisitNode> nodes) {
+        return computeOptimalRoute(matrix.getStartLocation(), nodes);
+    }
+
+    /**
+     * Computes the optimal route as node indices of the matrix's {@link ProblemInstance}.
+     *
+     * <p>Optimizers that search over node indices should override this method and derive
+     * {@link #computeOptimalRoute(TravelTimeMatrix, List)} from it, so that callers working on
+     * indices never have to translate routes through {@link VisitNode}s. The default
+     * implementation translates the result of {@link #computeOptimalRoute(TravelTimeMatrix, List)}.
+     *
+     * @param matrix Travel times between the start location and every node of its instance.
+     * @return Node indices in the order they are visited, or {@code null} if no route exists.
+     */
+    default int[] computeOptimalOrder(TravelTimeMatrix matrix) {
+        ProblemInstance instance = matrix.getInstance();
+        List<VisitNode> route = computeOptimalRoute(matrix, instance.getNodes());
+        return route == null ? null : instance.indicesOf(route);
+    }
+
+    /**
+     * Computes the optimal route as node indices for a planning call that started at
+     * {@code planningStartNanos}, so that optimizers bounded by a latency budget only spend what
+     * is left of it once the caller's own work, such as building the matrix, is accounted for.
+     * The default implementation has no budget and ignores the start time.
+     *
+     * @param matrix             Travel times between the start location and every node of its instance.
+     * @param planningStartNanos {@link System#nanoTime()} at which the planning call started.
+     * @return Node indices in the order they are visited, or {@code null} if no route exists.
+     */
+    default int[] computeOptimalOrder(TravelTimeMatrix matrix, long planningStartNanos) {
+        return computeOptimalOrder(matrix);
+    }
 }
@@ -1,12 +1,21 @@
 package org.assignment.delivery.planner.algorithm.optimizer.adapter;
 
 import lombok.Data;
+import org.assignment.delivery.planner.algorithm.optimizer.RouteImprover;
 import org.assignment.delivery.planner.algorithm.optimizer.RouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.model.ProblemInstance;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
 import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
 import org.assignment.delivery.planner.model.GeoLocation;
 import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.tracing.PlanningTracer;
+import org.assignment.delivery.planner.tracing.TracePhase;
+import org.assignment.delivery.planner.tracing.TraceSpan;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,23 +26,130 @@ import static org.assignment.delivery.planner.algorithm.optimizer.mapper.OrderTo
  * with the internal route optimization engine.
  *
  * <p>This class encapsulates mapping logic and delegates actual routing
- * computation to a {@link RouteOptimizer} implementation (e.g., Heuristic-based).</p>
+ * computation to a {@link RouteOptimizer} implementation (e.g., Heuristic-based).
+ * The optimizer's route is then passed through a {@link RouteImprover} post-processing stage.</p>
  *
+ * <p>When constructed with a travel time service, the travel time matrix is built once per call
+ * and shared by both stages, which work on node indices, so the estimates are only computed once
+ * and both stages score the same (possibly time-dependent) instance. The matrix build counts
+ * against the optimizer's latency budget.</p>
  */
 @Data
 public class RoutePlanningEngine {
 
+    /** Service used to build the travel time matrix of every planning call. */
+    private final TravelTimeEstimationService travelEstimator;
+
     /** The core optimizer instance responsible for computing the optimal delivery route. */
     private final RouteOptimizer optimizer;
 
+    /** Post-processing stage applied to every route produced by the optimizer. */
+    private final RouteImprover improver;
+
+    /** Receives the end-to-end duration of every planning call. */
+    private final PlanningMetrics metrics;
+
+    /** Times the mapping, optimization and improvement phases of every planning call. */
+    private final PlanningTracer tracer;
+
     /**
-     * Constructs a new RoutePlanningEngine with the given optimizer.
+     * Constructs a new RoutePlanningEngine with the given optimizer and no post-processing.
+     * Without a travel time service, the optimizer and the improver each work on their own
+     * {@link VisitNode} route.
      *
      * @param optimizer the strategy implementation used to compute the optimal delivery route
      */
-    @Inject
     public RoutePlanningEngine(RouteOptimizer optimizer) {
+        this(optimizer, RouteImprover.NONE);
+    }
+
+    /**
+     * Constructs a new RoutePlanningEngine with the given optimizer and route improver.
+     *
+     * @param optimizer the strategy implementation used to compute the optimal delivery route
+     * @param improver  the post-processing stage applied to the optimizer's route
+     */
+    public RoutePlanningEngine(RouteOptimizer optimizer, RouteImprover improver) {
+        this(optimizer, improver, PlanningMetrics.NONE);
+    }
+
+    /**
+     * Constructs a new RoutePlanningEngine with the given optimizer, route improver and metrics.
+     *
+     * @param optimizer the strategy implementation used to compute the optimal delivery route
+     * @param improver  the post-processing stage applied to the optimizer's route
+     * @param metrics   the sink receiving the duration of every planning call
+     */
+    public RoutePlanningEngine(RouteOptimizer optimizer, RouteImprover improver, PlanningMetrics metrics) {
+        this(optimizer, improver, metrics, PlanningTracer.NONE);
+    }
+
+    /**
+     * Constructs a new RoutePlanningEngine with the given optimizer, route improver, metrics and tracer.
+     *
+     * @param optimizer the strategy implementation used to compute the optimal delivery route
+     * @param improver  the post-processing stage applied to the optimizer's route
+     * @param metrics   the sink receiving the duration of every planning call
+     * @param tracer    the tracer timing each phase of a planning call
+     */
+    public RoutePlanningEngine(RouteOptimizer optimizer, RouteImprover improver, PlanningMetrics metrics,
+                               PlanningTracer tracer) {
+        this(null, optimizer, improver, metrics, tracer);
+    }
+
+    /**
+     * Constructs a new RoutePlanningEngine with the given optimizer and no post-processing.
+     *
+     * @param travelEstimator the service used to build the travel time matrix
+     * @param optimizer       the strategy implementation used to compute the optimal delivery route
+     */
+    public RoutePlanningEngine(TravelTimeEstimationService travelEstimator, RouteOptimizer optimizer) {
+        this(travelEstimator, optimizer, RouteImprover.NONE);
+    }
+
+    /**
+     * Constructs a new RoutePlanningEngine with the given optimizer and route improver.
+     *
+     * @param travelEstimator the service used to build the travel time matrix
+     * @param optimizer       the strategy implementation used to compute the optimal delivery route
+     * @param improver        the post-processing stage applied to the optimizer's route
+     */
+    public RoutePlanningEngine(TravelTimeEstimationService travelEstimator, RouteOptimizer optimizer,
+                               RouteImprover improver) {
+        this(travelEstimator, optimizer, improver, PlanningMetrics.NONE);
+    }
+
+    /**
+     * Constructs a new RoutePlanningEngine with the given optimizer, route improver and metrics.
+     *
+     * @param travelEstimator the service used to build the travel time matrix
+     * @param optimizer       the strategy implementation used to compute the optimal delivery route
+     * @param improver        the post-processing stage applied to the optimizer's route
+     * @param metrics         the sink receiving the duration of every planning call
+     */
+    public RoutePlanningEngine(TravelTimeEstimationService travelEstimator, RouteOptimizer optimizer,
+                               RouteImprover improver, PlanningMetrics metrics) {
+        this(travelEstimator, optimizer, improver, metrics, PlanningTracer.NONE);
+    }
+
+    /**
+     * Constructs a new RoutePlanningEngine with the given optimizer, route improver, metrics and tracer.
+     *
+     * @param travelEstimator the service used to build the travel time matrix shared by both stages,
+     *                        or {@code null} to let each stage work on its own route
+     * @param optimizer       the strategy implementation used to compute the optimal delivery route
+     * @param improver        the post-processing stage applied to the optimizer's route
+     * @param metrics         the sink receiving the duration of every planning call
+     * @param tracer          the tracer timing each phase of a planning call
+     */
+    @Inject
+    public RoutePlanningEngine(TravelTimeEstimationService travelEstimator, RouteOptimizer optimizer,
+                               RouteImprover improver, PlanningMetrics metrics, PlanningTracer tracer) {
+        this.travelEstimator = travelEstimator;
         this.optimizer = optimizer;
+        this.improver = improver;
+        this.metrics = metrics;
+        this.tracer = tracer;
     }
 
     /**
@@ -45,8 +161,76 @@ public class RoutePlanningEngine {
      * @return an ordered list of visit IDs representing the optimized delivery route
      */
     public List<String> generateRoute(GeoLocation startLocation, List<Order> orders) {
-        List<VisitNode> visitNodes = INSTANCE.mapOrdersToVisitNodes(orders);
-        List<VisitNode> optimizedNodes = optimizer.computeOptimalRoute(startLocation, visitNodes);
+        long startNanos = System.nanoTime();
+        List<VisitNode> visitNodes;
+        TraceSpan mapSpan = tracer.start(TracePhase.MAP_ORDERS);
+        try {
+            visitNodes = INSTANCE.mapOrdersToVisitNodes(orders);
+        } finally {
+            mapSpan.close();
+        }
+        List<String> route = travelEstimator == null
+                ? routeByNodes(startLocation, visitNodes)
+                : routeByIndices(startLocation, visitNodes, startNanos);
+        metrics.recordPlanningCall(System.nanoTime() - startNanos);
+        return route;
+    }
+
+    /**
+     * Builds the matrix once and runs both stages on it. The optimizer is handed the start of the
+     * call so that the matrix build counts against its latency budget.
+     */
+    private List<String> routeByIndices(GeoLocation startLocation, List<VisitNode> visitNodes, long startNanos) {
+        TravelTimeMatrix matrix;
+        TraceSpan matrixSpan = tracer.start(TracePhase.BUILD_MATRIX);
+        try {
+            matrix = TravelTimeMatrix.build(startLocation, visitNodes, travelEstimator);
+        } finally {
+            matrixSpan.close();
+        }
+        int[] order;
+        TraceSpan optimizeSpan = tracer.start(TracePhase.OPTIMIZE);
+        try {
+            order = optimizer.computeOptimalOrder(matrix, startNanos);
+        } finally {
+            optimizeSpan.close();
+        }
+        if (order == null) {
+            return new ArrayList<>();
+        }
+        TraceSpan improveSpan = tracer.start(TracePhase.IMPROVE_ROUTE);
+        try {
+            order = improver.improve(matrix, order);
+        } finally {
+            improveSpan.close();
+        }
+
+        ProblemInstance instance = matrix.getInstance();
+        List<String> route = new ArrayList<>(order.length);
+        for (int node : order) {
+            route.add(instance.node(node).getVisitId());
+        }
+        return route;
+    }
+
+    private List<String> routeByNodes(GeoLocation startLocation, List<VisitNode> visitNodes) {
+        List<VisitNode> optimizerRoute;
+        TraceSpan optimizeSpan = tracer.start(TracePhase.OPTIMIZE);
+        try {
+            optimizerRoute = optimizer.computeOptimalRoute(startLocation, visitNodes);
+        } finally {
+            optimizeSpan.close();
+        }
+        if (optimizerRoute == null) {
+            return new ArrayList<>();
+        }
+        List<VisitNode> optimizedNodes;
+        TraceSpan improveSpan = tracer.start(TracePhase.IMPROVE_ROUTE);
+        try {
+            optimizedNodes = improver.improve(startLocation, optimizerRoute);
+        } finally {
+            improveSpan.close();
+        }
 
         return optimizedNodes.stream()
                 .map(VisitNode::getVisitId)
@@ -0,0 +1,41 @@
+package org.assignment.delivery.planner.algorithm.optimizer.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thresholds used by {@code AdaptiveRouteOptimizer} to pick an algorithm for a batch.
+ *
+ * <p>Batches of up to {@code exactMaxNodes} nodes are solved exactly and batches of up to
+ * {@code beamMaxNodes} nodes by beam search; anything larger is planned greedily. A strategy is
+ * only chosen if the remaining latency budget is at least its minimum budget, otherwise the
+ * next cheaper strategy is used.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class AdaptiveOptimizerConfig {
+
+    public static final AdaptiveOptimizerConfig DEFAULT = AdaptiveOptimizerConfig.builder().build();
+
+    /** Largest batch, in visit nodes, solved with the exact optimizer (6 orders). */
+    @Builder.Default
+    private final int exactMaxNodes = 12;
+
+    /** Largest batch, in visit nodes, solved with beam search. */
+    @Builder.Default
+    private final int beamMaxNodes = 80;
+
+    /** Latency budget of a planning call when the caller does not pass one. */
+    @Builder.Default
+    private final Duration latencyBudget = Duration.ofMillis(40);
+
+    /** Minimum remaining budget required to run the exact optimizer. */
+    @Builder.Default
+    private final Duration exactMinBudget = Duration.ofMillis(10);
+
+    /** Minimum remaining budget required to run beam search. */
+    @Builder.Default
+    private final Duration beamMinBudget = Duration.ofMillis(5);
+}
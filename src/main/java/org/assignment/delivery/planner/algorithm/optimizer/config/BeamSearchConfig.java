@@ -0,0 +1,63 @@
+package org.assignment.delivery.planner.algorithm.optimizer.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Tuning parameters for the beam search performed by {@code HeuristicRouteOptimizer}.
+ *
+ * <p>The search stops as soon as either the expansion limit or the time budget is reached.
+ * It then returns the best complete route found so far, or finishes the most promising
+ * partial route greedily.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class BeamSearchConfig {
+
+    /** Configuration matching the original fixed beam of width 3 with no limits. */
+    public static final BeamSearchConfig DEFAULT = BeamSearchConfig.builder().build();
+
+    /** Number of most promising states retained at each level of the search. */
+    @Builder.Default
+    private final int beamWidth = 3;
+
+    /**
+     * Maximum number of successors generated per state: only the feasible unvisited nodes
+     * nearest to the state's current node are considered. The default considers every node.
+     */
+    @Builder.Default
+    private final int candidateLimit = Integer.MAX_VALUE;
+
+    /** Maximum number of states expanded before the search is cut short. */
+    @Builder.Default
+    private final long maxExpansions = Long.MAX_VALUE;
+
+    /**
+     * Wall-clock budget for a single search, measured from the start of the call.
+     * {@code null} means the search is not time bounded.
+     */
+    private final Duration timeBudget;
+
+    /**
+     * Expands the states of a beam level concurrently on the common {@code ForkJoinPool}.
+     * Produces exactly the same routes as the sequential search.
+     */
+    @Builder.Default
+    private final boolean parallel = false;
+
+    /**
+     * Minimum amount of work in a level (beam states multiplied by visit nodes) before it is
+     * expanded in parallel; smaller levels are expanded sequentially.
+     */
+    @Builder.Default
+    private final long parallelThreshold = 4096;
+
+    /**
+     * @return {@code true} if a wall-clock time budget has been configured
+     */
+    public boolean hasTimeBudget() {
+        return timeBudget != null;
+    }
+}
@@ -0,0 +1,20 @@
+package org.assignment.delivery.planner.algorithm.optimizer.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Tuning parameters for {@code LocalSearchRouteImprover}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class LocalSearchConfig {
+
+    public static final LocalSearchConfig DEFAULT = LocalSearchConfig.builder().build();
+
+    /** Wall-clock limit for improving a single route; the best route so far is returned when it expires. */
+    @Builder.Default
+    private final Duration timeLimit = Duration.ofMillis(10);
+}
@@ -0,0 +1,152 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded max-heap keeping the {@code capacity} most promising {@link RouteState}s of a beam level.
+ *
+ * <p>States are ordered by estimated total time and, on ties, by the sequence number they were
+ * generated with. Because the order is total, the states retained do not depend on the order in
+ * which they are offered, so heaps filled by different workers can be merged and still yield
+ * exactly the states a single stable sort of all candidates would keep.
+ */
+public class BoundedBeam {
+
+    private final int capacity;
+    private final RouteState[] states;
+    private final long[] sequences;
+    private int size;
+    private long candidateCount;
+
+    /**
+     * @param capacity Maximum number of states retained (the beam width)
+     */
+    public BoundedBeam(int capacity) {
+        this.capacity = capacity;
+        this.states = new RouteState[capacity];
+        this.sequences = new long[capacity];
+    }
+
+    /**
+     * Checks whether a candidate with the given ranking would currently be retained, so that
+     * callers can skip building states that cannot make the cut.
+     *
+     * @param estimatedTotalTime Estimated total time of the candidate
+     * @param sequence           Generation order of the candidate, used to break ties
+     * @return {@code true} if offering such a candidate would retain it
+     */
+    public boolean wouldAccept(double estimatedTotalTime, long sequence) {
+        return size < capacity
+                || (capacity > 0 && precedes(estimatedTotalTime, sequence, states[0].getEstimatedTotalTime(), sequences[0]));
+    }
+
+    /**
+     * Offers a candidate state, evicting the worst retained state if the beam is full.
+     *
+     * @param state    Candidate state
+     * @param sequence Generation order of the candidate, used to break ties
+     */
+    public void offer(RouteState state, long sequence) {
+        if (size < capacity) {
+            states[size] = state;
+            sequences[size] = sequence;
+            siftUp(size++);
+        } else if (wouldAccept(state.getEstimatedTotalTime(), sequence)) {
+            states[0] = state;
+            sequences[0] = sequence;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Counts a candidate generated for this beam, whether or not it ends up offered or retained.
+     */
+    public void countCandidate() {
+        candidateCount++;
+    }
+
+    /**
+     * @return Number of candidates counted by this beam and every beam merged into it
+     */
+    public long getCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Offers every state retained by another beam to this one.
+     *
+     * @param other Beam to merge into this one
+     */
+    public void addAll(BoundedBeam other) {
+        candidateCount += other.candidateCount;
+        for (int i = 0; i < other.size; i++) {
+            offer(other.states[i], other.sequences[i]);
+        }
+    }
+
+    /**
+     * @return Number of states currently retained
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the beam and returns the retained states from most to least promising.
+     *
+     * @return Retained states in ascending order of estimated total time
+     */
+    public List<RouteState> drainSorted() {
+        RouteState[] sorted = new RouteState[size];
+        while (size > 0) {
+            sorted[size - 1] = states[0];
+            size--;
+            states[0] = states[size];
+            sequences[0] = sequences[size];
+            states[size] = null;
+            siftDown(0);
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAfter(index, parent)) break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksAfter(left, worst)) worst = left;
+            if (right < size && ranksAfter(right, worst)) worst = right;
+            if (worst == index) return;
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private boolean ranksAfter(int a, int b) {
+        return precedes(states[b].getEstimatedTotalTime(), sequences[b], states[a].getEstimatedTotalTime(), sequences[a]);
+    }
+
+    private void swap(int a, int b) {
+        RouteState state = states[a];
+        states[a] = states[b];
+        states[b] = state;
+        long sequence = sequences[a];
+        sequences[a] = sequences[b];
+        sequences[b] = sequence;
+    }
+
+    private static boolean precedes(double estimate, long sequence, double otherEstimate, long otherSequence) {
+        return estimate < otherEstimate || (estimate == otherEstimate && sequence < otherSequence);
+    }
+}
@@ -0,0 +1,16 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+/**
+ * Identifies the route optimization algorithm used to plan a batch.
+ *
+ * <ul>
+ *   <li>{@code EXACT} – Held-Karp dynamic program; optimal, for tiny batches.</li>
+ *   <li>{@code BEAM} – Heuristic beam search, for medium batches.</li>
+ *   <li>{@code GREEDY} – Earliest-arrival greedy construction, for large batches or tight budgets.</li>
+ * </ul>
+ */
+public enum OptimizerStrategy {
+    EXACT,
+    BEAM,
+    GREEDY
+}
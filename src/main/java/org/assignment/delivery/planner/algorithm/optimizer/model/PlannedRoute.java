@@ -0,0 +1,145 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An agent's current route together with the travel time of every leg, so that new stops can be
+ * inserted without re-estimating travel between nodes that are already on the route.
+ *
+ * <p>When travel times are time-dependent, each leg is priced for the time it starts, counted
+ * from the route's departure minute, the same way optimizers price legs with
+ * {@link TravelTimeMatrix#time(int, int, double)}.
+ *
+ * <p>Instances are immutable; inserting or re-optimizing produces a new {@code PlannedRoute}.
+ */
+@Getter
+public class PlannedRoute {
+
+    /** Starting point of the delivery agent */
+    private final GeoLocation startLocation;
+
+    /** Visit nodes in the order they are visited */
+    private final List<VisitNode> route;
+
+    /** Time at which the last node is served, in minutes */
+    private final double completionTime;
+
+    /** Number of incremental insertions applied since the route was last fully optimized */
+    private final int insertionsSinceOptimization;
+
+    /** Minute of the day at which the route starts; time-dependent legs are priced from it */
+    private final double departureMinute;
+
+    /** legTimes[k]: travel time from the previous node (or the start) into position k */
+    @Getter(AccessLevel.NONE)
+    private final double[] legTimes;
+
+    /**
+     * Creates a planned route from already known leg travel times.
+     *
+     * @param startLocation               Starting point of the delivery agent.
+     * @param route                       A complete route in which each restaurant precedes its customer.
+     * @param legTimes                    Travel time into each position; owned by the new instance.
+     * @param insertionsSinceOptimization Incremental insertions applied since the last full optimization.
+     */
+    public PlannedRoute(GeoLocation startLocation, List<VisitNode> route, double[] legTimes, int insertionsSinceOptimization) {
+        this(startLocation, route, legTimes, insertionsSinceOptimization, 0);
+    }
+
+    /**
+     * Creates a planned route from already known leg travel times, priced for a departure at the
+     * given minute of the day.
+     *
+     * @param startLocation               Starting point of the delivery agent.
+     * @param route                       A complete route in which each restaurant precedes its customer.
+     * @param legTimes                    Travel time into each position; owned by the new instance.
+     * @param insertionsSinceOptimization Incremental insertions applied since the last full optimization.
+     * @param departureMinute             Minute of the day at which the route starts.
+     */
+    public PlannedRoute(GeoLocation startLocation, List<VisitNode> route, double[] legTimes,
+                        int insertionsSinceOptimization, double departureMinute) {
+        this.startLocation = startLocation;
+        this.route = Collections.unmodifiableList(route);
+        this.legTimes = legTimes;
+        this.insertionsSinceOptimization = insertionsSinceOptimization;
+        this.departureMinute = departureMinute;
+
+        double time = 0;
+        for (int position = 0; position < route.size(); position++) {
+            time = Math.max(time + legTimes[position], readyTime(route.get(position)));
+        }
+        this.completionTime = time;
+    }
+
+    /**
+     * Creates a planned route departing now, estimating the travel time of each of its legs.
+     *
+     * @param startLocation   Starting point of the delivery agent.
+     * @param route           A complete route in which each restaurant precedes its customer.
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @return A planned route with no pending incremental insertions.
+     */
+    public static PlannedRoute of(GeoLocation startLocation, List<VisitNode> route, TravelTimeEstimationService travelEstimator) {
+        return of(startLocation, route, travelEstimator, travelEstimator.currentMinuteOfDay());
+    }
+
+    /**
+     * Creates a planned route departing at the given minute of the day, estimating the travel
+     * time of each of its legs for the time the leg starts.
+     *
+     * @param startLocation   Starting point of the delivery agent.
+     * @param route           A complete route in which each restaurant precedes its customer.
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @param departureMinute Minute of the day at which the route starts.
+     * @return A planned route with no pending incremental insertions.
+     */
+    public static PlannedRoute of(GeoLocation startLocation, List<VisitNode> route,
+                                  TravelTimeEstimationService travelEstimator, double departureMinute) {
+        boolean timeDependent = travelEstimator.isTimeDependent();
+        double[] legTimes = new double[route.size()];
+        GeoLocation previous = startLocation;
+        double time = 0;
+        for (int position = 0; position < route.size(); position++) {
+            VisitNode node = route.get(position);
+            GeoLocation next = node.getLocation();
+            legTimes[position] = timeDependent
+                    ? travelEstimator.estimateTimeAt(previous, next, departureMinute + time)
+                    : travelEstimator.estimateTime(previous, next);
+            time = Math.max(time + legTimes[position], readyTime(node));
+            previous = next;
+        }
+        return new PlannedRoute(startLocation, route, legTimes, 0, departureMinute);
+    }
+
+    /**
+     * @return A copy of this route marked as fully optimized.
+     */
+    public PlannedRoute markOptimized() {
+        return new PlannedRoute(startLocation, route, legTimes, 0, departureMinute);
+    }
+
+    /**
+     * @param position Position on the route.
+     * @return Travel time in minutes from the previous node (or the start) into that position.
+     */
+    public double legTime(int position) {
+        return legTimes[position];
+    }
+
+    /**
+     * @return Number of visit nodes on the route.
+     */
+    public int size() {
+        return route.size();
+    }
+
+    private static double readyTime(VisitNode node) {
+        return node.getType() == VisitType.RESTAURANT ? node.getAveragePreparationTime() : 0;
+    }
+}
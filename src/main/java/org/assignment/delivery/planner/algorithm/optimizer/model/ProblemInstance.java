@@ -0,0 +1,171 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented view of the visit nodes of a single planning call.
+ *
+ * <p>Every attribute optimizers read in their inner loops is held in a primitive array indexed
+ * by node position, so a search touches a few contiguous arrays instead of chasing
+ * {@link VisitNode} and {@code GeoLocation} references and identity-hashing nodes to find their
+ * pair. {@link VisitNode}s are only kept to translate an index route back into the API's
+ * representation at the end of a search.
+ *
+ * <p>An instance is built once per planning call, together with its {@link TravelTimeMatrix},
+ * and is shared read-only by every optimizer that runs on the matrix. The arrays returned by the
+ * getters are the instance's own and must not be modified.
+ */
+@Getter
+public final class ProblemInstance {
+
+    /** {@link #getTypes()} value of a restaurant (pickup) node. */
+    public static final byte RESTAURANT = 0;
+
+    /** {@link #getTypes()} value of a customer (drop-off) node. */
+    public static final byte CUSTOMER = 1;
+
+    /** Visit nodes, in index order */
+    private final List<VisitNode> nodes;
+
+    /** Latitude of every node */
+    private final double[] latitudes;
+
+    /** Longitude of every node */
+    private final double[] longitudes;
+
+    /** Earliest time each node can be served: preparation time for restaurants, zero for customers */
+    private final double[] readyTimes;
+
+    /** Index of each node's pair: a customer's restaurant, a restaurant's customer, or -1 if unpaired */
+    private final int[] pairIndex;
+
+    /** {@link #RESTAURANT} or {@link #CUSTOMER} for every node */
+    private final byte[] types;
+
+    private ProblemInstance(List<VisitNode> nodes) {
+        int nodeCount = nodes.size();
+        this.nodes = nodes;
+        this.latitudes = new double[nodeCount];
+        this.longitudes = new double[nodeCount];
+        this.readyTimes = VisitNodes.readyTimes(nodes);
+        this.pairIndex = VisitNodes.restaurantIndices(nodes);
+        this.types = new byte[nodeCount];
+
+        for (int node = 0; node < nodeCount; node++) {
+            VisitNode visitNode = nodes.get(node);
+            latitudes[node] = visitNode.getLocation().getLatitude();
+            longitudes[node] = visitNode.getLocation().getLongitude();
+            types[node] = visitNode.getType() == VisitType.RESTAURANT ? RESTAURANT : CUSTOMER;
+        }
+        // Customers were resolved to their restaurant; link each restaurant back to its customer
+        for (int node = 0; node < nodeCount; node++) {
+            int restaurant = pairIndex[node];
+            if (restaurant >= 0 && types[node] == CUSTOMER) {
+                pairIndex[restaurant] = node;
+            }
+        }
+    }
+
+    /**
+     * Builds the columnar view of a node list.
+     *
+     * @param nodes Visit nodes of the planning call, in the order optimizers index them.
+     * @return The instance over {@code nodes}.
+     */
+    public static ProblemInstance of(List<VisitNode> nodes) {
+        return new ProblemInstance(nodes);
+    }
+
+    /**
+     * @return Number of visit nodes.
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * @param node Index of a node.
+     * @return Index of the restaurant that must be visited before {@code node}, or -1 if none.
+     */
+    public int restaurantOf(int node) {
+        return types[node] == CUSTOMER ? pairIndex[node] : -1;
+    }
+
+    /**
+     * @param node Index of a node.
+     * @return Index of the customer that must be visited after {@code node}, or -1 if none.
+     */
+    public int customerOf(int node) {
+        return types[node] == RESTAURANT ? pairIndex[node] : -1;
+    }
+
+    /**
+     * @param node Index of a node.
+     * @return The visit node at that index.
+     */
+    public VisitNode node(int node) {
+        return nodes.get(node);
+    }
+
+    /**
+     * Translates a route of node indices into visit nodes.
+     *
+     * @param order Node indices in the order they are visited.
+     * @return The corresponding visit nodes.
+     */
+    public List<VisitNode> toRoute(int[] order) {
+        List<VisitNode> route = new ArrayList<>(order.length);
+        for (int node : order) {
+            route.add(nodes.get(node));
+        }
+        return route;
+    }
+
+    /**
+     * Translates a route of visit nodes into node indices. Only needed at the API boundary, when a
+     * caller hands in a route that was not produced on this instance.
+     *
+     * @param route Visit nodes of this instance, in the order they are visited.
+     * @return The index of every node of the route.
+     */
+    public int[] indicesOf(List<VisitNode> route) {
+        if (route == nodes) {
+            int[] order = new int[route.size()];
+            Arrays.setAll(order, position -> position);
+            return order;
+        }
+        Map<VisitNode, Integer> indexOf = new IdentityHashMap<>();
+        for (int node = 0; node < nodes.size(); node++) {
+            indexOf.put(nodes.get(node), node);
+        }
+        int[] order = new int[route.size()];
+        for (int position = 0; position < order.length; position++) {
+            order[position] = indexOf.get(route.get(position));
+        }
+        return order;
+    }
+
+    /**
+     * Computes the time at which the last node of a route is served, waiting at restaurants
+     * until their preparation time where needed.
+     *
+     * @param matrix Travel times built over this instance.
+     * @param order  Node indices in the order they are visited.
+     * @return Completion time of the route in minutes.
+     */
+    public double completionTime(TravelTimeMatrix matrix, int[] order) {
+        double time = 0;
+        int current = matrix.getStartIndex();
+        for (int node : order) {
+            time = Math.max(time + matrix.time(current, node, time), readyTimes[node]);
+            current = node;
+        }
+        return time;
+    }
+}
@@ -1,31 +1,45 @@
 package org.assignment.delivery.planner.algorithm.optimizer.model;
 
 import lombok.Getter;
-import org.assignment.delivery.planner.model.GeoLocation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Represents a single state in the route planning process.
- * Maintains information about the delivery agent's current location,
- * the path taken so far, the nodes already visited, the current time
+ * Maintains information about the delivery agent's current location (as a
+ * {@link TravelTimeMatrix} index), the nodes already visited, the current time
  * after reaching this state, and the estimated total time for the full route.
  *
+ * <p>The state is compact so that expanding it is O(1) in allocation:
+ * <ul>
+ *   <li>Visited nodes are a bit mask over node indices. The first 64 nodes live in a
+ *   {@code long}; larger batches spill into a shared, copy-on-write {@code long[]}.</li>
+ *   <li>The route is not copied; each state points to its parent and the route is only
+ *   rebuilt from the parent chain once a final state has been chosen.</li>
+ * </ul>
+ *
  * <p>Used by route optimizers such as the Beam Search based {@code HeuristicRouteOptimizer}
  * to keep track of potential paths and prioritize exploration of better routes.
  */
 @Getter
 public class RouteState {
 
-    /** Current location of the delivery agent */
-    private final GeoLocation currentLocation;
+    /** Previous state in the route, or {@code null} for the initial state */
+    private final RouteState parent;
+
+    /** Travel time matrix index of the delivery agent's current location */
+    private final int currentIndex;
+
+    /** Number of nodes visited so far */
+    private final int visitedCount;
 
-    /** Ordered list of nodes visited so far in the route */
-    private final List<VisitNode> route;
+    /** Visited mask for node indices 0..63 */
+    private final long visitedLow;
 
-    /** Set of nodes that have been visited */
-    private final Set<VisitNode> visited;
+    /** Visited mask for node indices 64 and above; {@code null} when none of them is visited */
+    private final long[] visitedHigh;
 
     /** Time elapsed to reach this state */
     private final double currentTime;
@@ -33,33 +47,84 @@ public class RouteState {
     /** Estimated total time to complete the full route from this state */
     private final double estimatedTotalTime;
 
+    private RouteState(RouteState parent, int currentIndex, int visitedCount, long visitedLow, long[] visitedHigh,
+                       double currentTime, double estimatedTotalTime) {
+        this.parent = parent;
+        this.currentIndex = currentIndex;
+        this.visitedCount = visitedCount;
+        this.visitedLow = visitedLow;
+        this.visitedHigh = visitedHigh;
+        this.currentTime = currentTime;
+        this.estimatedTotalTime = estimatedTotalTime;
+    }
+
+    /**
+     * Creates the initial state at the start location with nothing visited.
+     *
+     * @param startIndex Matrix index of the start location
+     * @return The initial route state
+     */
+    public static RouteState initial(int startIndex) {
+        return new RouteState(null, startIndex, 0, 0L, null, 0, 0);
+    }
+
+    /**
+     * Creates the successor state reached by visiting the given node next.
+     *
+     * @param nodeIndex          Index of the visited node
+     * @param arrivalTime        Time at which the node is reached (including any preparation wait)
+     * @param estimatedTotalTime Estimated total time of the full route through the new state
+     * @return The successor state
+     */
+    public RouteState visit(int nodeIndex, double arrivalTime, double estimatedTotalTime) {
+        long low = visitedLow;
+        long[] high = visitedHigh;
+        if (nodeIndex < Long.SIZE) {
+            low |= 1L << nodeIndex;
+        } else {
+            int word = (nodeIndex >>> 6) - 1;
+            high = high == null ? new long[word + 1] : Arrays.copyOf(high, Math.max(high.length, word + 1));
+            high[word] |= 1L << nodeIndex;
+        }
+        return new RouteState(this, nodeIndex, visitedCount + 1, low, high, arrivalTime, estimatedTotalTime);
+    }
+
+    /**
+     * @param nodeIndex Index of a node
+     * @return {@code true} if the node has been visited in this state
+     */
+    public boolean isVisited(int nodeIndex) {
+        if (nodeIndex < Long.SIZE) {
+            return (visitedLow & (1L << nodeIndex)) != 0;
+        }
+        int word = (nodeIndex >>> 6) - 1;
+        return visitedHigh != null && word < visitedHigh.length && (visitedHigh[word] & (1L << nodeIndex)) != 0;
+    }
+
     /**
-     * Constructs a route state without an estimated total time,
-     * using current time as a placeholder.
+     * Rebuilds the ordered route leading to this state by walking the parent chain.
      *
-     * @param loc     Current location
-     * @param r       Route so far
-     * @param v       Visited nodes
-     * @param t       Current time
+     * @param nodes Visit nodes, indexed the same way as the state
+     * @return Ordered list of nodes visited so far in the route
      */
-    public RouteState(GeoLocation loc, List<VisitNode> r, Set<VisitNode> v, double t) {
-        this(loc, r, v, t, t);
+    public List<VisitNode> toRoute(List<VisitNode> nodes) {
+        VisitNode[] route = new VisitNode[visitedCount];
+        for (RouteState state = this; state.parent != null; state = state.parent) {
+            route[state.visitedCount - 1] = nodes.get(state.currentIndex);
+        }
+        return new ArrayList<>(Arrays.asList(route));
     }
 
     /**
-     * Constructs a route state with a given estimated total time.
+     * Rebuilds the node indices of the route leading to this state by walking the parent chain.
      *
-     * @param loc      Current location
-     * @param r        Route so far
-     * @param v        Visited nodes
-     * @param t        Current time
-     * @param estimate Estimated total time
+     * @return Node indices visited so far, in visiting order
      */
-    public RouteState(GeoLocation loc, List<VisitNode> r, Set<VisitNode> v, double t, double estimate) {
-        this.currentLocation = loc;
-        this.route = r;
-        this.visited = v;
-        this.currentTime = t;
-        this.estimatedTotalTime = estimate;
+    public int[] toOrder() {
+        int[] order = new int[visitedCount];
+        for (RouteState state = this; state.parent != null; state = state.parent) {
+            order[state.visitedCount - 1] = state.currentIndex;
+        }
+        return order;
     }
 }
@@ -0,0 +1,48 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters of how often each {@link OptimizerStrategy} ran and how long it took.
+ */
+public class StrategyStatistics {
+
+    private final Map<OptimizerStrategy, LongAdder> runs = new EnumMap<>(OptimizerStrategy.class);
+    private final Map<OptimizerStrategy, LongAdder> nanos = new EnumMap<>(OptimizerStrategy.class);
+
+    public StrategyStatistics() {
+        for (OptimizerStrategy strategy : OptimizerStrategy.values()) {
+            runs.put(strategy, new LongAdder());
+            nanos.put(strategy, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a single run of a strategy.
+     *
+     * @param strategy     Strategy that computed the route
+     * @param elapsedNanos Time spent computing the route, in nanoseconds
+     */
+    public void record(OptimizerStrategy strategy, long elapsedNanos) {
+        runs.get(strategy).increment();
+        nanos.get(strategy).add(elapsedNanos);
+    }
+
+    /**
+     * @param strategy Strategy to query
+     * @return Number of routes computed by the strategy
+     */
+    public long getRuns(OptimizerStrategy strategy) {
+        return runs.get(strategy).sum();
+    }
+
+    /**
+     * @param strategy Strategy to query
+     * @return Total time spent in the strategy, in nanoseconds
+     */
+    public long getTotalNanos(OptimizerStrategy strategy) {
+        return nanos.get(strategy).sum();
+    }
+}
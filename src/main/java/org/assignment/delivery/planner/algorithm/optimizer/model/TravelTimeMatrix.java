@@ -0,0 +1,254 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Dense matrix of travel times (in minutes) between the agent's start location and every
+ * visit node of a single planning call.
+ *
+ * <p>The node at position {@code i} of the visit node list maps to row/column {@code i},
+ * and the start location occupies the last index ({@link #getStartIndex()}). The matrix is
+ * built once per {@code computeOptimalRoute} call so that optimizer inner loops only index
+ * into arrays instead of re-running the distance formula for the same pairs.
+ *
+ * <p>The matrix keeps the {@link ProblemInstance} it was built over, so that every optimizer
+ * sharing the matrix also shares the node attributes it needs, resolved once per call.
+ *
+ * <p>When the time estimator is time-dependent (see {@link TravelTimeEstimationService#isTimeDependent()}),
+ * the matrix also keeps the distance between every pair and the speed zone of every origin, and
+ * {@link #time(int, int, double)} prices a leg at the moment the route reaches it: the speed of
+ * the origin's zone in the time-of-day bucket the leg departs in. The departure time of day is
+ * captured when the matrix is built. The times table holds the travel times at that departure, so
+ * that lookups without a route time and the neighbour lists keep working.
+ *
+ * <p>Travel back to the start location is never required by a route and is left at zero.
+ */
+@Getter
+public class TravelTimeMatrix {
+
+    /** Starting point of the delivery agent */
+    private final GeoLocation startLocation;
+
+    /** Columnar view of the visit nodes the matrix is built over */
+    private final ProblemInstance instance;
+
+    /** Index of the start location in the matrix; equal to the number of visit nodes */
+    private final int startIndex;
+
+    /** Travel times in minutes, indexed as {@code times[from][to]} */
+    private final double[][] times;
+
+    /** Distances in kilometers, indexed as {@code distances[from][to]}; only kept when time-dependent */
+    @Getter(AccessLevel.NONE)
+    private final double[][] distances;
+
+    /** Speed zone of every origin, the start location last; only kept when time-dependent */
+    @Getter(AccessLevel.NONE)
+    private final int[] zones;
+
+    /** Time of day, in minutes since midnight, at which the route departs */
+    @Getter(AccessLevel.NONE)
+    private final double departureMinute;
+
+    @Getter(AccessLevel.NONE)
+    private final TravelTimeEstimationService travelEstimator;
+
+    /** Per origin, the node indices ordered by increasing travel time; built on first use */
+    @Getter(AccessLevel.NONE)
+    private volatile int[][] nearestNeighbours;
+
+    private TravelTimeMatrix(GeoLocation startLocation, ProblemInstance instance, double[][] times) {
+        this(startLocation, instance, times, null, null, 0, null);
+    }
+
+    private TravelTimeMatrix(GeoLocation startLocation, ProblemInstance instance, double[][] times,
+                             double[][] distances, int[] zones, double departureMinute,
+                             TravelTimeEstimationService travelEstimator) {
+        this.startLocation = startLocation;
+        this.instance = instance;
+        this.startIndex = times.length - 1;
+        this.times = times;
+        this.distances = distances;
+        this.zones = zones;
+        this.departureMinute = departureMinute;
+        this.travelEstimator = travelEstimator;
+    }
+
+    /**
+     * Builds the travel time matrix for the given start location and visit nodes.
+     *
+     * @param startLocation   Starting point of the delivery agent.
+     * @param nodes           Visit nodes of the planning call, in the order optimizers index them.
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @return A matrix holding the travel time between every pair of locations.
+     */
+    public static TravelTimeMatrix build(GeoLocation startLocation,
+                                         List<VisitNode> nodes,
+                                         TravelTimeEstimationService travelEstimator) {
+        return build(startLocation, ProblemInstance.of(nodes), travelEstimator);
+    }
+
+    /**
+     * Builds the travel time matrix for the given start location and problem instance.
+     *
+     * @param startLocation   Starting point of the delivery agent.
+     * @param instance        Visit nodes of the planning call, in the order optimizers index them.
+     * @param travelEstimator Service used to estimate travel time between geo-locations.
+     * @return A matrix holding the travel time between every pair of locations.
+     */
+    public static TravelTimeMatrix build(GeoLocation startLocation,
+                                         ProblemInstance instance,
+                                         TravelTimeEstimationService travelEstimator) {
+        if (travelEstimator.isTimeDependent()) {
+            return buildTimeDependent(startLocation, instance, travelEstimator);
+        }
+        int nodeCount = instance.size();
+        double[] latitudes = instance.getLatitudes();
+        double[] longitudes = instance.getLongitudes();
+
+        // One all-pairs call fills every row, the start last; column startIndex is never written and stays zero
+        double[][] times = new double[nodeCount + 1][nodeCount + 1];
+        travelEstimator.estimateTimes(withStart(latitudes, startLocation.getLatitude()),
+                withStart(longitudes, startLocation.getLongitude()), latitudes, longitudes, times);
+        for (int from = 0; from < nodeCount; from++) {
+            times[from][from] = 0;
+        }
+        return new TravelTimeMatrix(startLocation, instance, times);
+    }
+
+    /**
+     * Builds a time-dependent matrix: distances and origin zones are resolved once, and times are
+     * priced from them at departure. Estimates are not cached, as they depend on the time of day.
+     */
+    private static TravelTimeMatrix buildTimeDependent(GeoLocation startLocation,
+                                                       ProblemInstance instance,
+                                                       TravelTimeEstimationService travelEstimator) {
+        int nodeCount = instance.size();
+        double[] latitudes = instance.getLatitudes();
+        double[] longitudes = instance.getLongitudes();
+        double departureMinute = travelEstimator.currentMinuteOfDay();
+
+        double[] fromLatitudes = withStart(latitudes, startLocation.getLatitude());
+        double[] fromLongitudes = withStart(longitudes, startLocation.getLongitude());
+        double[][] distances = new double[nodeCount + 1][nodeCount + 1];
+        travelEstimator.distancesKm(fromLatitudes, fromLongitudes, latitudes, longitudes, distances);
+        int[] zones = new int[nodeCount + 1];
+        for (int from = 0; from <= nodeCount; from++) {
+            zones[from] = travelEstimator.zoneOf(fromLatitudes[from], fromLongitudes[from]);
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            distances[node][node] = 0;
+        }
+
+        double[][] times = new double[nodeCount + 1][nodeCount + 1];
+        for (int from = 0; from <= nodeCount; from++) {
+            for (int to = 0; to < nodeCount; to++) {
+                times[from][to] = travelEstimator.estimateTimeAt(distances[from][to], zones[from], departureMinute);
+            }
+        }
+        return new TravelTimeMatrix(startLocation, instance, times, distances, zones, departureMinute, travelEstimator);
+    }
+
+    /**
+     * @return The node coordinates followed by the start coordinate, matching the row indices.
+     */
+    private static double[] withStart(double[] coordinates, double startCoordinate) {
+        double[] withStart = Arrays.copyOf(coordinates, coordinates.length + 1);
+        withStart[coordinates.length] = startCoordinate;
+        return withStart;
+    }
+
+    /**
+     * Returns the travel time between two matrix indices, for a trip leaving at the route's
+     * departure.
+     *
+     * @param from Index of the origin (a node index or {@link #getStartIndex()}).
+     * @param to   Index of the destination node.
+     * @return Travel time in minutes.
+     */
+    public double time(int from, int to) {
+        return times[from][to];
+    }
+
+    /**
+     * Returns the travel time between two matrix indices for a leg leaving a given number of
+     * minutes after the route's departure. Equal to {@link #time(int, int)} unless the matrix is
+     * time-dependent; in both cases a lookup is constant time and allocates nothing.
+     *
+     * @param from           Index of the origin (a node index or {@link #getStartIndex()}).
+     * @param to             Index of the destination node.
+     * @param elapsedMinutes Minutes since the route departed when the leg starts.
+     * @return Travel time in minutes.
+     */
+    public double time(int from, int to, double elapsedMinutes) {
+        if (distances == null) {
+            return times[from][to];
+        }
+        return travelEstimator.estimateTimeAt(distances[from][to], zones[from], departureMinute + elapsedMinutes);
+    }
+
+    /**
+     * @return {@code true} if travel times depend on when a leg starts, so that optimizers must
+     * price legs with {@link #time(int, int, double)} and cannot assume waiting never pays off.
+     */
+    public boolean isTimeDependent() {
+        return distances != null;
+    }
+
+    /**
+     * Returns, for every origin (including the start location), the other node indices ordered
+     * by increasing travel time from that origin. Lets callers find the nearest node satisfying
+     * a condition by scanning only until the first match instead of over every node.
+     *
+     * <p>The lists are computed once per matrix, on first use, and are safe to share between
+     * threads.
+     *
+     * @return Neighbour lists indexed as {@code nearestNeighbours[from][rank]}.
+     */
+    public int[][] getNearestNeighbours() {
+        int[][] neighbours = nearestNeighbours;
+        return neighbours != null ? neighbours : computeNearestNeighbours();
+    }
+
+    private synchronized int[][] computeNearestNeighbours() {
+        if (nearestNeighbours == null) {
+            int nodeCount = getNodeCount();
+            int[][] neighbours = new int[nodeCount + 1][];
+            for (int from = 0; from <= nodeCount; from++) {
+                double[] row = times[from];
+                int origin = from;
+                neighbours[from] = IntStream.range(0, nodeCount)
+                        .filter(to -> to != origin)
+                        .boxed()
+                        .sorted(Comparator.comparingDouble(to -> row[to]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+            nearestNeighbours = neighbours;
+        }
+        return nearestNeighbours;
+    }
+
+    /**
+     * @return Number of travel time estimates made to build this matrix: one per ordered pair of
+     * distinct nodes and one from the start location to each node.
+     */
+    public long getEstimateCount() {
+        return (long) startIndex * startIndex;
+    }
+
+    /**
+     * @return Number of visit nodes covered by this matrix (excluding the start location).
+     */
+    public int getNodeCount() {
+        return startIndex;
+    }
+}
@@ -0,0 +1,80 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility methods deriving index-based views of a visit node list, so that optimizers can
+ * check constraints with array lookups instead of identity-hashed node sets.
+ */
+public final class VisitNodes {
+
+    /** Private constructor to prevent instantiation */
+    private VisitNodes() {}
+
+    /**
+     * Resolves each customer's paired restaurant to its node index.
+     *
+     * @param nodes All visit nodes (restaurants/customers).
+     * @return For every node, the index of the restaurant that must precede it, or -1 if none.
+     */
+    public static int[] restaurantIndices(List<VisitNode> nodes) {
+        Map<VisitNode, Integer> indexOf = new IdentityHashMap<>();
+        for (int index = 0; index < nodes.size(); index++) {
+            indexOf.put(nodes.get(index), index);
+        }
+
+        int[] pairIndex = new int[nodes.size()];
+        for (int index = 0; index < nodes.size(); index++) {
+            VisitNode node = nodes.get(index);
+            Integer restaurant = node.getType() == VisitType.CUSTOMER ? indexOf.get(node.getPairedNode()) : null;
+            pairIndex[index] = restaurant == null ? -1 : restaurant;
+        }
+        return pairIndex;
+    }
+
+    /**
+     * Returns the earliest time each node can be served: the preparation time for restaurants
+     * and zero for customers.
+     *
+     * @param nodes All visit nodes (restaurants/customers).
+     * @return Ready time in minutes for every node.
+     */
+    public static double[] readyTimes(List<VisitNode> nodes) {
+        double[] readyTimes = new double[nodes.size()];
+        for (int index = 0; index < nodes.size(); index++) {
+            VisitNode node = nodes.get(index);
+            readyTimes[index] = node.getType() == VisitType.RESTAURANT ? node.getAveragePreparationTime() : 0;
+        }
+        return readyTimes;
+    }
+
+    /**
+     * Computes the time at which the last node of a route is served, waiting at restaurants
+     * until their preparation time where needed.
+     *
+     * @param matrix Travel times built over {@code nodes}.
+     * @param nodes  The visit nodes in matrix order.
+     * @param route  A route over {@code nodes}, starting at the matrix start location.
+     * @return Completion time of the route in minutes.
+     */
+    public static double completionTime(TravelTimeMatrix matrix, List<VisitNode> nodes, List<VisitNode> route) {
+        Map<VisitNode, Integer> indexOf = new IdentityHashMap<>();
+        for (int index = 0; index < nodes.size(); index++) {
+            indexOf.put(nodes.get(index), index);
+        }
+
+        double time = 0;
+        int current = matrix.getStartIndex();
+        for (VisitNode node : route) {
+            int next = indexOf.get(node);
+            time += matrix.time(current, next, time);
+            if (node.getType() == VisitType.RESTAURANT) {
+                time = Math.max(time, node.getAveragePreparationTime());
+            }
+            current = next;
+        }
+        return time;
+    }
+}
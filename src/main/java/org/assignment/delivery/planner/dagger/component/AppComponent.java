@@ -2,14 +2,33 @@ package org.assignment.delivery.planner.dagger.component;
 
 import dagger.Component;
 import org.assignment.delivery.planner.dagger.module.DistanceCalculatorModule;
+import org.assignment.delivery.planner.dagger.module.MetricsModule;
 import org.assignment.delivery.planner.dagger.module.RouteOptimizerModule;
+import org.assignment.delivery.planner.dagger.module.ServiceModule;
 import org.assignment.delivery.planner.dagger.module.TimeEstimatorModule;
+import org.assignment.delivery.planner.dagger.module.TracingModule;
+import org.assignment.delivery.planner.loadtest.LoadTestRunner;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
 import org.assignment.delivery.planner.service.DeliveryRoutePlanner;
+import org.assignment.delivery.planner.service.IncrementalRoutePlanner;
+import org.assignment.delivery.planner.service.OrderAssignmentService;
+import org.assignment.delivery.planner.tracing.PlanningTracer;
 
 import javax.inject.Singleton;
 
 @Singleton
-@Component(modules = {DistanceCalculatorModule.class, RouteOptimizerModule.class, TimeEstimatorModule.class})
+@Component(modules = {DistanceCalculatorModule.class, MetricsModule.class, RouteOptimizerModule.class,
+        ServiceModule.class, TimeEstimatorModule.class, TracingModule.class})
 public interface AppComponent {
     DeliveryRoutePlanner getDeliveryRoutePlanner();
+
+    OrderAssignmentService getOrderAssignmentService();
+
+    IncrementalRoutePlanner getIncrementalRoutePlanner();
+
+    LoadTestRunner getLoadTestRunner();
+
+    PlanningMetrics getPlanningMetrics();
+
+    PlanningTracer getPlanningTracer();
 }
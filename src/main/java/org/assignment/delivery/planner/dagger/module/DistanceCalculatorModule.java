@@ -2,14 +2,36 @@ package org.assignment.delivery.planner.dagger.module;
 
 import dagger.Module;
 import dagger.Provides;
+import org.assignment.delivery.planner.distance.DistanceCalculationMode;
 import org.assignment.delivery.planner.distance.DistanceCalculator;
+import org.assignment.delivery.planner.distance.EquirectangularDistanceCalculator;
 import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
 
 @Module
 public class DistanceCalculatorModule {
+
+    private final DistanceCalculationMode mode;
+    private final double cityLatitude;
+
+    public DistanceCalculatorModule() {
+        this(DistanceCalculationMode.HAVERSINE, 0);
+    }
+
+    /**
+     * @param mode         the distance calculator to provide
+     * @param cityLatitude reference latitude in degrees of the city being served; only used by
+     *                     {@link DistanceCalculationMode#EQUIRECTANGULAR}
+     */
+    public DistanceCalculatorModule(DistanceCalculationMode mode, double cityLatitude) {
+        this.mode = mode;
+        this.cityLatitude = cityLatitude;
+    }
+
     @Provides
-    public DistanceCalculator provideHaversineDistanceCalculator(HaversineDistanceCalculator calculator) {
-        return  calculator;
+    public DistanceCalculator provideDistanceCalculator(HaversineDistanceCalculator calculator) {
+        return mode == DistanceCalculationMode.EQUIRECTANGULAR
+                ? new EquirectangularDistanceCalculator(cityLatitude)
+                : calculator;
     }
 
 }
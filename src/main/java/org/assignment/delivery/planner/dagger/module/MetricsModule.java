@@ -0,0 +1,25 @@
+package org.assignment.delivery.planner.dagger.module;
+
+import dagger.Module;
+import dagger.Provides;
+import org.assignment.delivery.planner.metrics.InMemoryPlanningMetrics;
+import org.assignment.delivery.planner.metrics.MetricsConfig;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
+
+import javax.inject.Singleton;
+
+@Module
+public class MetricsModule {
+
+    // Singleton so every optimizer records into the same histograms when enabled
+    @Provides
+    @Singleton
+    PlanningMetrics providePlanningMetrics(MetricsConfig config) {
+        return config.isInMemory() ? new InMemoryPlanningMetrics() : PlanningMetrics.NONE;
+    }
+
+    @Provides
+    MetricsConfig provideMetricsConfig() {
+        return MetricsConfig.DEFAULT;
+    }
+}
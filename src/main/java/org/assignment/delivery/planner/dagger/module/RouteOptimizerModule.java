@@ -2,13 +2,57 @@ package org.assignment.delivery.planner.dagger.module;
 
 import dagger.Module;
 import dagger.Provides;
-import org.assignment.delivery.planner.algorithm.optimizer.HeuristicRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.AdaptiveRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.LocalSearchRouteImprover;
+import org.assignment.delivery.planner.algorithm.optimizer.RouteImprover;
 import org.assignment.delivery.planner.algorithm.optimizer.RouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.config.AdaptiveOptimizerConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.config.BeamSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.config.LocalSearchConfig;
+
+import java.time.Duration;
 
 @Module
 public class RouteOptimizerModule {
+
+    // Search and local search together leave headroom for mapping and matrix construction
+    // within a 50 ms per-assignment SLA
+    private static final Duration SEARCH_TIME_BUDGET = Duration.ofMillis(30);
+    private static final Duration LOCAL_SEARCH_TIME_LIMIT = Duration.ofMillis(10);
+
+    // Successors per beam state; nodes farther away are left for later levels
+    private static final int BEAM_CANDIDATE_LIMIT = 16;
+
     @Provides
-    RouteOptimizer provideRouteOptimizer(HeuristicRouteOptimizer optimizer) {
+    RouteOptimizer provideRouteOptimizer(AdaptiveRouteOptimizer optimizer) {
         return optimizer;
     }
+
+    @Provides
+    RouteImprover provideRouteImprover(LocalSearchRouteImprover improver) {
+        return improver;
+    }
+
+    @Provides
+    BeamSearchConfig provideBeamSearchConfig() {
+        return BeamSearchConfig.builder()
+                .beamWidth(3)
+                .candidateLimit(BEAM_CANDIDATE_LIMIT)
+                .timeBudget(SEARCH_TIME_BUDGET)
+                .build();
+    }
+
+    @Provides
+    AdaptiveOptimizerConfig provideAdaptiveOptimizerConfig() {
+        return AdaptiveOptimizerConfig.builder()
+                .latencyBudget(SEARCH_TIME_BUDGET)
+                .build();
+    }
+
+    @Provides
+    LocalSearchConfig provideLocalSearchConfig() {
+        return LocalSearchConfig.builder()
+                .timeLimit(LOCAL_SEARCH_TIME_LIMIT)
+                .build();
+    }
 }
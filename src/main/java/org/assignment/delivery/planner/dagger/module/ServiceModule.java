@@ -1,8 +1,62 @@
 package org.assignment.delivery.planner.dagger.module;
 
 import dagger.Module;
+import dagger.Provides;
+import org.assignment.delivery.planner.distance.DistanceCalculator;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
+import org.assignment.delivery.planner.service.CachingTravelTimeEstimationService;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.service.config.AssignmentConfig;
+import org.assignment.delivery.planner.service.config.IncrementalPlanningConfig;
+import org.assignment.delivery.planner.service.config.TravelTimeCacheConfig;
+import org.assignment.delivery.planner.time.TimeEstimator;
+
+import javax.inject.Singleton;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Module
 public class ServiceModule {
 
+    // Route planning is CPU-bound, so more threads than cores only adds contention
+    private static final int PLANNING_THREADS = Runtime.getRuntime().availableProcessors();
+
+    @Provides
+    @Singleton
+    Executor providePlanningExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(PLANNING_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "route-planner-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Provides
+    AssignmentConfig provideAssignmentConfig() {
+        return AssignmentConfig.DEFAULT;
+    }
+
+    @Provides
+    IncrementalPlanningConfig provideIncrementalPlanningConfig() {
+        return IncrementalPlanningConfig.DEFAULT;
+    }
+
+    // Singleton so every optimizer and planning call shares one cache
+    @Provides
+    @Singleton
+    TravelTimeEstimationService provideTravelTimeEstimationService(DistanceCalculator distanceCalculator,
+                                                                   TimeEstimator timeEstimator,
+                                                                   TravelTimeCacheConfig config,
+                                                                   PlanningMetrics metrics) {
+        return config.isEnabled()
+                ? new CachingTravelTimeEstimationService(distanceCalculator, timeEstimator, config, metrics)
+                : new TravelTimeEstimationService(distanceCalculator, timeEstimator);
+    }
+
+    @Provides
+    TravelTimeCacheConfig provideTravelTimeCacheConfig() {
+        return TravelTimeCacheConfig.DEFAULT;
+    }
 }
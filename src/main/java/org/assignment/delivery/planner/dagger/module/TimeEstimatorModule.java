@@ -3,14 +3,35 @@ package org.assignment.delivery.planner.dagger.module;
 import dagger.Module;
 import dagger.Provides;
 import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.assignment.delivery.planner.time.SpeedProfile;
+import org.assignment.delivery.planner.time.SpeedProfileConfig;
+import org.assignment.delivery.planner.time.SpeedProfileTimeEstimator;
 import org.assignment.delivery.planner.time.TimeEstimator;
 
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+
 @Module
 public class TimeEstimatorModule {
 
+    // Singleton so the speed profile is loaded once and shared
     @Provides
-    public TimeEstimator provideTimeEstimator() {
-        return new AverageSpeedTimeEstimator(20);
+    @Singleton
+    public TimeEstimator provideTimeEstimator(SpeedProfileConfig config) {
+        if (config.getProfileFile() == null) {
+            return new AverageSpeedTimeEstimator(config.getAverageSpeedKmPerHour());
+        }
+        try {
+            return new SpeedProfileTimeEstimator(SpeedProfile.load(config.getProfileFile()), Clock.system(config.getTimeZone()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load speed profile " + config.getProfileFile(), e);
+        }
     }
 
+    @Provides
+    SpeedProfileConfig provideSpeedProfileConfig() {
+        return SpeedProfileConfig.DEFAULT;
+    }
 }
@@ -0,0 +1,23 @@
+package org.assignment.delivery.planner.dagger.module;
+
+import dagger.Module;
+import dagger.Provides;
+import org.assignment.delivery.planner.tracing.PlanningTracer;
+import org.assignment.delivery.planner.tracing.TracingConfig;
+
+import javax.inject.Singleton;
+
+@Module
+public class TracingModule {
+
+    @Provides
+    @Singleton
+    PlanningTracer providePlanningTracer(TracingConfig config) {
+        return config.getMode().create(config);
+    }
+
+    @Provides
+    TracingConfig provideTracingConfig() {
+        return TracingConfig.DEFAULT;
+    }
+}
@@ -0,0 +1,13 @@
+package org.assignment.delivery.planner.distance;
+
+/**
+ * Selects the {@link DistanceCalculator} implementation provided by the distance module.
+ */
+public enum DistanceCalculationMode {
+
+    /** Great-circle distance; accurate at any range. */
+    HAVERSINE,
+
+    /** Planar approximation around a city's reference latitude; faster, for intra-city distances only. */
+    EQUIRECTANGULAR
+}
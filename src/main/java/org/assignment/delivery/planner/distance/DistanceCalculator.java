@@ -4,5 +4,76 @@ import org.assignment.delivery.planner.model.Distance;
 import org.assignment.delivery.planner.model.GeoLocation;
 
 public abstract class DistanceCalculator {
-    abstract public Distance calculateDistance(final GeoLocation sourceLocation, final GeoLocation destinationLocation);
+
+    /**
+     * Calculates the distance between two coordinates without allocating intermediate objects.
+     *
+     * @param sourceLatitude       latitude of the source in degrees
+     * @param sourceLongitude      longitude of the source in degrees
+     * @param destinationLatitude  latitude of the destination in degrees
+     * @param destinationLongitude longitude of the destination in degrees
+     * @return distance in kilometers
+     */
+    abstract public double distanceKm(double sourceLatitude, double sourceLongitude,
+                                      double destinationLatitude, double destinationLongitude);
+
+    /**
+     * Calculates the distance between two coordinates already converted to radians. Callers that
+     * measure the same points repeatedly can convert them once and skip the per-call conversion.
+     *
+     * @param sourceLatitude       latitude of the source in radians
+     * @param sourceLongitude      longitude of the source in radians
+     * @param destinationLatitude  latitude of the destination in radians
+     * @param destinationLongitude longitude of the destination in radians
+     * @return distance in kilometers
+     */
+    public double distanceKmRadians(double sourceLatitude, double sourceLongitude,
+                                    double destinationLatitude, double destinationLongitude) {
+        return distanceKm(Math.toDegrees(sourceLatitude), Math.toDegrees(sourceLongitude),
+                Math.toDegrees(destinationLatitude), Math.toDegrees(destinationLongitude));
+    }
+
+    /**
+     * Calculates the distances from one source to many destinations given as parallel
+     * coordinate arrays. Implementations override this with a loop the JIT can unroll and
+     * vectorise, instead of one virtual {@link #distanceKm} call per destination.
+     *
+     * @param sourceLatitude  latitude of the source in degrees
+     * @param sourceLongitude longitude of the source in degrees
+     * @param latitudes       latitudes of the destinations in degrees
+     * @param longitudes      longitudes of the destinations in degrees
+     * @param distances       receives, in its first {@code latitudes.length} entries, the
+     *                        distance in kilometers to each destination
+     */
+    public void distancesKm(double sourceLatitude, double sourceLongitude,
+                            double[] latitudes, double[] longitudes, double[] distances) {
+        for (int i = 0; i < latitudes.length; i++) {
+            distances[i] = distanceKm(sourceLatitude, sourceLongitude, latitudes[i], longitudes[i]);
+        }
+    }
+
+    /**
+     * Calculates the distances between every pair of sources and destinations given as parallel
+     * coordinate arrays.
+     *
+     * @param sourceLatitudes  latitudes of the sources in degrees
+     * @param sourceLongitudes longitudes of the sources in degrees
+     * @param latitudes        latitudes of the destinations in degrees
+     * @param longitudes       longitudes of the destinations in degrees
+     * @param distances        receives {@code distances[source][destination]} in kilometers; each
+     *                         row must hold at least {@code latitudes.length} entries
+     */
+    public void distancesKm(double[] sourceLatitudes, double[] sourceLongitudes,
+                            double[] latitudes, double[] longitudes, double[][] distances) {
+        for (int source = 0; source < sourceLatitudes.length; source++) {
+            distancesKm(sourceLatitudes[source], sourceLongitudes[source], latitudes, longitudes, distances[source]);
+        }
+    }
+
+    public Distance calculateDistance(final GeoLocation sourceLocation, final GeoLocation destinationLocation) {
+        return Distance.builder()
+                .distance(distanceKm(sourceLocation.getLatitude(), sourceLocation.getLongitude(),
+                        destinationLocation.getLatitude(), destinationLocation.getLongitude()))
+                .build();
+    }
 }
@@ -0,0 +1,77 @@
+package org.assignment.delivery.planner.distance;
+
+import static org.assignment.delivery.planner.utils.MathUtil.EARTH_RADIUS_KM;
+import static org.assignment.delivery.planner.utils.MathUtil.toRadians;
+
+/**
+ * Fast distance approximation for points within a single city.
+ *
+ * <p>Projects both points onto a plane using the cosine of a fixed reference latitude, computed
+ * once per city: {@code d = R * sqrt(dLat^2 + (cos(lat0) * dLon)^2)}. Each call costs a square
+ * root and a few multiplications, against the two cosines, two sines, two square roots and an
+ * {@code atan2} of {@link HaversineDistanceCalculator}.
+ *
+ * <p>Error versus Haversine, relative to the true distance, for a pair with mean latitude
+ * {@code latM}:
+ * <pre>
+ *   |error| &lt;= |cos(lat0) / cos(latM) - 1| + 1e-4      for distances up to 50 km
+ * </pre>
+ * The first term comes from using the city's reference latitude instead of the pair's own;
+ * it is about {@code tan(lat0) * |latM - lat0|} (in radians). The second term bounds the
+ * curvature the planar model ignores at city scale. For a city spanning &plusmn;0.25&deg;
+ * around a reference latitude of 13&deg; (e.g. Bangalore) the error stays below 0.15%; at 50&deg;
+ * it stays below 0.55%. Use Haversine for inter-city distances.
+ */
+public class EquirectangularDistanceCalculator extends DistanceCalculator {
+
+    private final double referenceLatitude;
+    private final double cosReferenceLatitude;
+
+    /**
+     * Constructs the calculator for a city.
+     *
+     * @param referenceLatitude latitude in degrees of the city centre, used for every pair
+     */
+    public EquirectangularDistanceCalculator(double referenceLatitude) {
+        this.referenceLatitude = referenceLatitude;
+        this.cosReferenceLatitude = Math.cos(toRadians(referenceLatitude));
+    }
+
+    /**
+     * @return latitude in degrees whose cosine scales longitude differences
+     */
+    public double getReferenceLatitude() {
+        return referenceLatitude;
+    }
+
+    @Override
+    public double distanceKm(double sourceLatitude, double sourceLongitude,
+                             double destinationLatitude, double destinationLongitude) {
+        return distanceKmRadians(toRadians(sourceLatitude), toRadians(sourceLongitude),
+                toRadians(destinationLatitude), toRadians(destinationLongitude));
+    }
+
+    @Override
+    public double distanceKmRadians(double sourceLatitude, double sourceLongitude,
+                                    double destinationLatitude, double destinationLongitude) {
+        double deltaLatitude = destinationLatitude - sourceLatitude;
+        double deltaLongitude = (destinationLongitude - sourceLongitude) * cosReferenceLatitude;
+        return EARTH_RADIUS_KM * Math.sqrt(deltaLatitude * deltaLatitude + deltaLongitude * deltaLongitude);
+    }
+
+    /**
+     * Straight-line arithmetic with no calls other than {@code sqrt}, so the JIT can vectorise the loop.
+     */
+    @Override
+    public void distancesKm(double sourceLatitude, double sourceLongitude,
+                            double[] latitudes, double[] longitudes, double[] distances) {
+        double sourceLatitudeInRadians = toRadians(sourceLatitude);
+        double sourceLongitudeInRadians = toRadians(sourceLongitude);
+        double cosReference = cosReferenceLatitude;
+        for (int i = 0; i < latitudes.length; i++) {
+            double deltaLatitude = toRadians(latitudes[i]) - sourceLatitudeInRadians;
+            double deltaLongitude = (toRadians(longitudes[i]) - sourceLongitudeInRadians) * cosReference;
+            distances[i] = EARTH_RADIUS_KM * Math.sqrt(deltaLatitude * deltaLatitude + deltaLongitude * deltaLongitude);
+        }
+    }
+}
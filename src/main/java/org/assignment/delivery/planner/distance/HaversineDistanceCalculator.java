@@ -1,8 +1,5 @@
 package org.assignment.delivery.planner.distance;
 
-import org.assignment.delivery.planner.model.Distance;
-import org.assignment.delivery.planner.model.GeoLocation;
-
 import javax.inject.Inject;
 
 import static org.assignment.delivery.planner.utils.MathUtil.*;
@@ -12,34 +9,73 @@ public class HaversineDistanceCalculator extends DistanceCalculator{
         @Inject
         public HaversineDistanceCalculator(){}
 
-        public Distance calculateDistance(final GeoLocation sourceLocation, final GeoLocation destinationLocation) {
-
-            double sourceLongitude = sourceLocation.getLongitude();
-            double sourceLatitude = sourceLocation.getLatitude();
+        @Override
+        public double distanceKm(double sourceLatitude, double sourceLongitude,
+                                 double destinationLatitude, double destinationLongitude) {
+            return distanceKmRadians(toRadians(sourceLatitude), toRadians(sourceLongitude),
+                    toRadians(destinationLatitude), toRadians(destinationLongitude));
+        }
 
-            double destinationLongitude = destinationLocation.getLongitude();
-            double destinationLatitude = destinationLocation.getLatitude();
+        @Override
+        public double distanceKmRadians(double sourceLatitude, double sourceLongitude,
+                                        double destinationLatitude, double destinationLongitude) {
 
-            double deltaLatitudeInRadians = toRadians(destinationLatitude - sourceLatitude);
-            double deltaLongitudeInRadians = toRadians(destinationLongitude - sourceLongitude);
+            return haversineKm(sourceLatitude, sourceLongitude, Math.cos(sourceLatitude),
+                    destinationLatitude, destinationLongitude, Math.cos(destinationLatitude));
+        }
 
-            final double sourceLatitudeInRadians = toRadians(sourceLatitude);
-            final double destinationLatitudeInRadians = toRadians(destinationLatitude);
+        @Override
+        public void distancesKm(double sourceLatitude, double sourceLongitude,
+                                double[] latitudes, double[] longitudes, double[] distances) {
+            double sourceLatitudeInRadians = toRadians(sourceLatitude);
+            double sourceLongitudeInRadians = toRadians(sourceLongitude);
+            double cosSourceLatitude = Math.cos(sourceLatitudeInRadians);
+            for (int i = 0; i < latitudes.length; i++) {
+                double latitudeInRadians = toRadians(latitudes[i]);
+                distances[i] = haversineKm(sourceLatitudeInRadians, sourceLongitudeInRadians, cosSourceLatitude,
+                        latitudeInRadians, toRadians(longitudes[i]), Math.cos(latitudeInRadians));
+            }
+        }
 
-            final double haversineLatitude = computeHaversine(deltaLatitudeInRadians);
-            final double haversineLongitude = computeHaversine(deltaLongitudeInRadians);
+        /**
+         * Converts every destination to radians and computes its latitude cosine once, then
+         * reuses them for each source, leaving only the half-angle sines per pair.
+         */
+        @Override
+        public void distancesKm(double[] sourceLatitudes, double[] sourceLongitudes,
+                                double[] latitudes, double[] longitudes, double[][] distances) {
+            int count = latitudes.length;
+            double[] latitudesInRadians = new double[count];
+            double[] longitudesInRadians = new double[count];
+            double[] cosLatitudes = new double[count];
+            for (int i = 0; i < count; i++) {
+                latitudesInRadians[i] = toRadians(latitudes[i]);
+                longitudesInRadians[i] = toRadians(longitudes[i]);
+                cosLatitudes[i] = Math.cos(latitudesInRadians[i]);
+            }
 
+            for (int source = 0; source < sourceLatitudes.length; source++) {
+                double sourceLatitudeInRadians = toRadians(sourceLatitudes[source]);
+                double sourceLongitudeInRadians = toRadians(sourceLongitudes[source]);
+                double cosSourceLatitude = Math.cos(sourceLatitudeInRadians);
+                double[] row = distances[source];
+                for (int i = 0; i < count; i++) {
+                    row[i] = haversineKm(sourceLatitudeInRadians, sourceLongitudeInRadians, cosSourceLatitude,
+                            latitudesInRadians[i], longitudesInRadians[i], cosLatitudes[i]);
+                }
+            }
+        }
 
-            double haversineFormulaComponent = haversineLatitude
-                    + Math.cos(sourceLatitudeInRadians) * Math.cos(destinationLatitudeInRadians) * haversineLongitude;
+        private static double haversineKm(double sourceLatitude, double sourceLongitude, double cosSourceLatitude,
+                                          double destinationLatitude, double destinationLongitude, double cosDestinationLatitude) {
+            double haversineFormulaComponent = computeHaversine(destinationLatitude - sourceLatitude)
+                    + cosSourceLatitude * cosDestinationLatitude * computeHaversine(destinationLongitude - sourceLongitude);
 
             double angularDistance = 2 * Math.atan2(
                     Math.sqrt(haversineFormulaComponent),
                     Math.sqrt(1 - haversineFormulaComponent)
             );
 
-            return Distance.builder()
-                    .distance(angularDistance * EARTH_RADIUS_KM)
-                    .build();
+            return angularDistance * EARTH_RADIUS_KM;
         }
 }
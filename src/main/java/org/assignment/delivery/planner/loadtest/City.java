@@ -0,0 +1,23 @@
+package org.assignment.delivery.planner.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.assignment.delivery.planner.model.GeoLocation;
+
+/**
+ * A city of a synthetic workload: restaurants, customers and agents are placed uniformly
+ * within {@code radiusKm} of its centre.
+ */
+@Getter
+@Builder
+public class City {
+
+    /** Name of the city. */
+    private final String name;
+
+    /** Centre of the city. */
+    private final GeoLocation centre;
+
+    /** Radius of the city's service area in kilometers. */
+    private final double radiusKm;
+}
@@ -0,0 +1,26 @@
+package org.assignment.delivery.planner.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Parameters of a load test run by {@link LoadTestRunner}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class LoadTestConfig {
+
+    public static final LoadTestConfig DEFAULT = LoadTestConfig.builder().build();
+
+    /** Rate at which requests are issued, independently of how fast they complete. */
+    @Builder.Default
+    private final double targetRequestsPerSecond = 200.0;
+
+    /** Number of threads issuing requests concurrently. */
+    @Builder.Default
+    private final int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Requests planned as fast as possible before measuring, to warm up the JIT; not reported. */
+    @Builder.Default
+    private final int warmupRequests = 200;
+}
@@ -0,0 +1,40 @@
+package org.assignment.delivery.planner.loadtest;
+
+import org.assignment.delivery.planner.dagger.component.AppComponent;
+import org.assignment.delivery.planner.dagger.component.DaggerAppComponent;
+
+import java.io.IOException;
+
+/**
+ * Generates a synthetic workload and runs a load test against the production wiring of
+ * {@code DeliveryRoutePlanner}, printing the report.
+ *
+ * <p>Arguments, all optional and positional: number of requests, target requests per second,
+ * number of threads and workload seed. The planning trace is exported once the run ends, if
+ * tracing is configured to write one.
+ */
+public class LoadTestMain {
+
+    /**
+     * @param args {@code [requests [requestsPerSecond [threads [seed]]]]}
+     * @throws IOException if the planning trace cannot be exported
+     */
+    public static void main(String[] args) throws IOException {
+        WorkloadConfig workloadConfig = WorkloadConfig.builder()
+                .requestCount(args.length > 0 ? Integer.parseInt(args[0]) : WorkloadConfig.DEFAULT.getRequestCount())
+                .seed(args.length > 3 ? Long.parseLong(args[3]) : WorkloadConfig.DEFAULT.getSeed())
+                .build();
+        LoadTestConfig loadTestConfig = LoadTestConfig.builder()
+                .targetRequestsPerSecond(args.length > 1 ? Double.parseDouble(args[1]) : LoadTestConfig.DEFAULT.getTargetRequestsPerSecond())
+                .threads(args.length > 2 ? Integer.parseInt(args[2]) : LoadTestConfig.DEFAULT.getThreads())
+                .build();
+
+        Workload workload = new WorkloadGenerator(workloadConfig).generate();
+        AppComponent appComponent = DaggerAppComponent.create();
+        LoadTestReport report = appComponent.getLoadTestRunner()
+                .run(workload.getRequests(), loadTestConfig);
+
+        System.out.print(report.summary());
+        appComponent.getPlanningTracer().export();
+    }
+}
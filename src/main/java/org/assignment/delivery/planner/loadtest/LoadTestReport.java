@@ -0,0 +1,63 @@
+package org.assignment.delivery.planner.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Results of a load test. Latencies are measured from the time each request was scheduled to
+ * start, so queueing behind slow requests is included rather than hidden.
+ */
+@Getter
+@Builder
+@ToString
+public class LoadTestReport {
+
+    /** Number of measured requests. */
+    private final int requests;
+
+    /** Number of measured requests whose planning threw an exception. */
+    private final int failures;
+
+    /** Wall-clock duration of the measured run in seconds. */
+    private final double elapsedSeconds;
+
+    /** Completed requests per second. */
+    private final double throughputPerSecond;
+
+    private final double p50LatencyMillis;
+
+    private final double p99LatencyMillis;
+
+    private final double p999LatencyMillis;
+
+    private final double maxLatencyMillis;
+
+    /**
+     * Bytes allocated per second by the threads issuing requests, or {@code -1} when the JVM
+     * does not support per-thread allocation accounting.
+     */
+    private final double allocatedBytesPerSecond;
+
+    /** Bytes allocated per request, or {@code -1} when not supported. */
+    private final double allocatedBytesPerRequest;
+
+    /** Sum over successful requests of the time at which the last node of the route is served, in minutes. */
+    private final double totalRouteMinutes;
+
+    /** Mean over successful requests of the route completion time, in minutes. */
+    private final double meanRouteMinutes;
+
+    /**
+     * @return A multi-line, human-readable summary of the report.
+     */
+    public String summary() {
+        return String.format("requests:     %d (%d failed) in %.2f s%n", requests, failures, elapsedSeconds)
+                + String.format("throughput:   %.1f req/s%n", throughputPerSecond)
+                + String.format("latency (ms): p50 %.3f  p99 %.3f  p999 %.3f  max %.3f%n",
+                        p50LatencyMillis, p99LatencyMillis, p999LatencyMillis, maxLatencyMillis)
+                + String.format("allocation:   %.1f MB/s, %.1f KB/request%n",
+                        allocatedBytesPerSecond / (1 << 20), allocatedBytesPerRequest / (1 << 10))
+                + String.format("route time:   %.1f min total, %.2f min mean%n", totalRouteMinutes, meanRouteMinutes);
+    }
+}
@@ -0,0 +1,221 @@
+package org.assignment.delivery.planner.loadtest;
+
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.Customer;
+import org.assignment.delivery.planner.model.DeliveryPlan;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.model.Restaurant;
+import org.assignment.delivery.planner.model.User;
+import org.assignment.delivery.planner.service.DeliveryRoutePlanner;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+
+import javax.inject.Inject;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link DeliveryRoutePlanner#planRoute} with a list of requests at a target rate from
+ * several threads, and reports throughput, latency percentiles, allocation rate and route quality.
+ *
+ * <p>Request {@code i} is scheduled to start at {@code i / targetRequestsPerSecond} seconds into
+ * the run, and its latency is measured from that scheduled time. When the planner falls behind,
+ * the time requests spend waiting for a free thread therefore shows up in the latencies instead
+ * of silently lowering the offered load.
+ */
+public class LoadTestRunner {
+
+    private final DeliveryRoutePlanner planner;
+    private final TravelTimeEstimationService travelEstimator;
+
+    /**
+     * Constructs the runner.
+     *
+     * @param planner         Planner under test.
+     * @param travelEstimator Service used to measure the travel time of planned routes.
+     */
+    @Inject
+    public LoadTestRunner(DeliveryRoutePlanner planner, TravelTimeEstimationService travelEstimator) {
+        this.planner = planner;
+        this.travelEstimator = travelEstimator;
+    }
+
+    /**
+     * Runs the warm-up, then plans every request once at the configured rate.
+     *
+     * @param requests Requests to plan; see {@link WorkloadGenerator}.
+     * @param config   Rate, concurrency and warm-up of the run.
+     * @return The measurements of the requests planned after the warm-up.
+     */
+    public LoadTestReport run(List<AgentAssignment> requests, LoadTestConfig config) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one request is required");
+        }
+        if (config.getWarmupRequests() > 0) {
+            List<AgentAssignment> warmup = new ArrayList<>(config.getWarmupRequests());
+            for (int i = 0; i < config.getWarmupRequests(); i++) {
+                warmup.add(requests.get(i % requests.size()));
+            }
+            new Run(warmup, config.getThreads(), 0).execute();
+        }
+
+        Run run = new Run(requests, config.getThreads(), (long) (1e9 / config.getTargetRequestsPerSecond()));
+        run.execute();
+        return report(run);
+    }
+
+    private LoadTestReport report(Run run) {
+        int count = run.requests.size();
+        long[] sorted = run.latencies.clone();
+        Arrays.sort(sorted);
+
+        int failures = 0;
+        double totalRouteMinutes = 0;
+        for (int i = 0; i < count; i++) {
+            if (run.plans[i] == null) {
+                failures++;
+            } else {
+                totalRouteMinutes += routeMinutes(run.requests.get(i).getAgent().getLocation(), run.plans[i]);
+            }
+        }
+        int successes = count - failures;
+        double elapsedSeconds = run.elapsedNanos / 1e9;
+        long allocatedBytes = run.allocationUnsupported ? -1 : run.allocatedBytes.sum();
+        return LoadTestReport.builder()
+                .requests(count)
+                .failures(failures)
+                .elapsedSeconds(elapsedSeconds)
+                .throughputPerSecond(count / elapsedSeconds)
+                .p50LatencyMillis(percentile(sorted, 0.50) / 1e6)
+                .p99LatencyMillis(percentile(sorted, 0.99) / 1e6)
+                .p999LatencyMillis(percentile(sorted, 0.999) / 1e6)
+                .maxLatencyMillis(sorted[count - 1] / 1e6)
+                .allocatedBytesPerSecond(allocatedBytes < 0 ? -1 : allocatedBytes / elapsedSeconds)
+                .allocatedBytesPerRequest(allocatedBytes < 0 ? -1 : (double) allocatedBytes / count)
+                .totalRouteMinutes(totalRouteMinutes)
+                .meanRouteMinutes(successes == 0 ? 0 : totalRouteMinutes / successes)
+                .build();
+    }
+
+    /**
+     * Computes the time at which the last stop of a plan is served, waiting at each restaurant
+     * until its average preparation time has elapsed.
+     */
+    double routeMinutes(GeoLocation start, DeliveryPlan plan) {
+        double time = 0;
+        GeoLocation previous = start;
+        for (User user : plan.getUsers()) {
+            if (user instanceof Restaurant restaurant) {
+                GeoLocation location = restaurant.getAddress().getLocation();
+                time = Math.max(time + travelEstimator.estimateTime(previous, location), restaurant.getAveragePreparationTime());
+                previous = location;
+            } else if (user instanceof Customer customer) {
+                GeoLocation location = customer.getAddress().getLocation();
+                time += travelEstimator.estimateTime(previous, location);
+                previous = location;
+            }
+        }
+        return time;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    /**
+     * @return Bytes allocated so far by the current thread, or {@code -1} if the JVM cannot tell.
+     */
+    private static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * A single paced pass over a list of requests. Each worker thread claims the next request,
+     * waits for its scheduled start and plans it.
+     */
+    private final class Run {
+
+        private final List<AgentAssignment> requests;
+        private final int threadCount;
+        private final long intervalNanos;
+        private final List<List<Customer>> customers;
+        private final List<List<Restaurant>> restaurants;
+
+        private final long[] latencies;
+        private final DeliveryPlan[] plans;
+        private final AtomicInteger next = new AtomicInteger();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private volatile boolean allocationUnsupported;
+        private long elapsedNanos;
+
+        Run(List<AgentAssignment> requests, int threadCount, long intervalNanos) {
+            this.requests = requests;
+            this.threadCount = Math.max(1, threadCount);
+            this.intervalNanos = intervalNanos;
+            this.latencies = new long[requests.size()];
+            this.plans = new DeliveryPlan[requests.size()];
+
+            // Built up front so that only planning itself is timed
+            this.customers = new ArrayList<>(requests.size());
+            this.restaurants = new ArrayList<>(requests.size());
+            for (AgentAssignment request : requests) {
+                customers.add(request.getOrders().stream().map(Order::getCustomer).toList());
+                restaurants.add(request.getOrders().stream().map(Order::getRestaurant).toList());
+            }
+        }
+
+        void execute() {
+            long startNanos = System.nanoTime();
+            List<Thread> workers = new ArrayList<>(threadCount);
+            for (int t = 0; t < threadCount; t++) {
+                Thread worker = new Thread(() -> work(startNanos), "load-test-" + t);
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the load test to finish", e);
+                }
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        private void work(long startNanos) {
+            long allocatedBefore = currentThreadAllocatedBytes();
+            for (int i = next.getAndIncrement(); i < requests.size(); i = next.getAndIncrement()) {
+                long scheduledNanos = startNanos + i * intervalNanos;
+                for (long wait = scheduledNanos - System.nanoTime(); wait > 0; wait = scheduledNanos - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                AgentAssignment request = requests.get(i);
+                try {
+                    plans[i] = planner.planRoute(request.getAgent().getLocation(), request.getOrders(),
+                            customers.get(i), restaurants.get(i));
+                } catch (RuntimeException e) {
+                    plans[i] = null;
+                }
+                latencies[i] = System.nanoTime() - scheduledNanos;
+            }
+            long allocatedAfter = currentThreadAllocatedBytes();
+            if (allocatedBefore < 0 || allocatedAfter < 0) {
+                allocationUnsupported = true;
+            } else {
+                allocatedBytes.add(allocatedAfter - allocatedBefore);
+            }
+        }
+    }
+}
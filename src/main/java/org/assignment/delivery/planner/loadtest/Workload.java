@@ -0,0 +1,30 @@
+package org.assignment.delivery.planner.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.assignment.delivery.planner.model.Agent;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.Customer;
+import org.assignment.delivery.planner.model.Restaurant;
+
+import java.util.List;
+
+/**
+ * A synthetic population of cities, restaurants, customers and agents, together with the
+ * planning requests to replay against it.
+ */
+@Getter
+@Builder
+public class Workload {
+
+    private final List<City> cities;
+
+    private final List<Restaurant> restaurants;
+
+    private final List<Customer> customers;
+
+    private final List<Agent> agents;
+
+    /** Planning requests: each pairs an agent with orders from restaurants and customers of the agent's city. */
+    private final List<AgentAssignment> requests;
+}
@@ -0,0 +1,59 @@
+package org.assignment.delivery.planner.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Shape of a synthetic workload produced by {@link WorkloadGenerator}. The same configuration,
+ * including the seed, always produces the same workload.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class WorkloadConfig {
+
+    public static final WorkloadConfig DEFAULT = WorkloadConfig.builder().build();
+
+    /** Seed of the random generator. */
+    @Builder.Default
+    private final long seed = 42L;
+
+    /** Number of cities; their centres are spread around the first one. */
+    @Builder.Default
+    private final int cityCount = 4;
+
+    /** Radius of each city's service area in kilometers. */
+    @Builder.Default
+    private final double cityRadiusKm = 10.0;
+
+    @Builder.Default
+    private final int restaurantsPerCity = 200;
+
+    @Builder.Default
+    private final int customersPerCity = 2000;
+
+    @Builder.Default
+    private final int agentsPerCity = 100;
+
+    /**
+     * Median of the restaurants' average preparation times in minutes. Preparation times are
+     * log-normally distributed, so a few restaurants are much slower than the rest.
+     */
+    @Builder.Default
+    private final double medianPreparationMinutes = 12.0;
+
+    /** Standard deviation of the logarithm of the preparation times. */
+    @Builder.Default
+    private final double preparationTimeSigma = 0.4;
+
+    /** Number of planning requests, each an agent with a batch of orders. */
+    @Builder.Default
+    private final int requestCount = 1000;
+
+    /** Smallest number of orders in a request. */
+    @Builder.Default
+    private final int minOrdersPerRequest = 1;
+
+    /** Largest number of orders in a request. */
+    @Builder.Default
+    private final int maxOrdersPerRequest = 6;
+}
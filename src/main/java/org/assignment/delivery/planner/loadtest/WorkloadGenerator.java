@@ -0,0 +1,170 @@
+package org.assignment.delivery.planner.loadtest;
+
+import org.assignment.delivery.planner.model.Address;
+import org.assignment.delivery.planner.model.Agent;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.Customer;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.model.Restaurant;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic workloads: every value is drawn from a single
+ * {@link Random} seeded from {@link WorkloadConfig#getSeed()}, in a fixed order.
+ *
+ * <p>Each request picks a random agent and draws its orders from restaurants and customers of
+ * that agent's city, so routes stay city-sized.
+ */
+public class WorkloadGenerator {
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    /** Centre of the first city; further cities are placed within a few hundred kilometers of it. */
+    private static final double FIRST_CITY_LATITUDE = 12.9716;
+    private static final double FIRST_CITY_LONGITUDE = 77.5946;
+    private static final double CITY_SPREAD_DEGREES = 4.0;
+
+    private final WorkloadConfig config;
+
+    /**
+     * Constructs a generator for the given workload shape.
+     *
+     * @param config Workload shape and seed.
+     */
+    public WorkloadGenerator(WorkloadConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Generates the workload.
+     *
+     * @return A workload that is identical for identical configurations.
+     */
+    public Workload generate() {
+        Random random = new Random(config.getSeed());
+
+        List<City> cities = new ArrayList<>(config.getCityCount());
+        List<List<Restaurant>> restaurantsByCity = new ArrayList<>();
+        List<List<Customer>> customersByCity = new ArrayList<>();
+        List<Agent> agents = new ArrayList<>();
+        List<Integer> agentCity = new ArrayList<>();
+        for (int c = 0; c < config.getCityCount(); c++) {
+            City city = City.builder()
+                    .name("City" + c)
+                    .centre(c == 0
+                            ? location(FIRST_CITY_LATITUDE, FIRST_CITY_LONGITUDE)
+                            : location(FIRST_CITY_LATITUDE + (random.nextDouble() - 0.5) * CITY_SPREAD_DEGREES,
+                                       FIRST_CITY_LONGITUDE + (random.nextDouble() - 0.5) * CITY_SPREAD_DEGREES))
+                    .radiusKm(config.getCityRadiusKm())
+                    .build();
+            cities.add(city);
+            restaurantsByCity.add(restaurants(city, c, random));
+            customersByCity.add(customers(city, c, random));
+            for (int a = 0; a < config.getAgentsPerCity(); a++) {
+                Agent agent = Agent.builder()
+                        .location(randomLocation(city, random))
+                        .build();
+                agent.setId("A" + c + "-" + a);
+                agents.add(agent);
+                agentCity.add(c);
+            }
+        }
+
+        List<AgentAssignment> requests = new ArrayList<>(config.getRequestCount());
+        Map<Restaurant, List<Order>> ordersByRestaurant = new HashMap<>();
+        Map<Customer, List<String>> orderIdsByCustomer = new HashMap<>();
+        int orderCount = 0;
+        for (int r = 0; r < config.getRequestCount() && !agents.isEmpty(); r++) {
+            int agent = random.nextInt(agents.size());
+            List<Restaurant> restaurants = restaurantsByCity.get(agentCity.get(agent));
+            List<Customer> customers = customersByCity.get(agentCity.get(agent));
+            int size = config.getMinOrdersPerRequest()
+                    + random.nextInt(config.getMaxOrdersPerRequest() - config.getMinOrdersPerRequest() + 1);
+
+            List<Order> orders = new ArrayList<>(size);
+            for (int o = 0; o < size; o++) {
+                Restaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+                Customer customer = customers.get(random.nextInt(customers.size()));
+                Order order = Order.builder()
+                        .orderId("O" + orderCount++)
+                        .restaurant(restaurant)
+                        .customer(customer)
+                        .build();
+                ordersByRestaurant.computeIfAbsent(restaurant, key -> new ArrayList<>()).add(order);
+                orderIdsByCustomer.computeIfAbsent(customer, key -> new ArrayList<>()).add(order.getOrderId());
+                orders.add(order);
+            }
+            requests.add(AgentAssignment.builder()
+                    .agent(agents.get(agent))
+                    .orders(orders)
+                    .build());
+        }
+        ordersByRestaurant.forEach(Restaurant::setOrders);
+        orderIdsByCustomer.forEach(Customer::setOrderIds);
+
+        List<Restaurant> allRestaurants = new ArrayList<>();
+        restaurantsByCity.forEach(allRestaurants::addAll);
+        List<Customer> allCustomers = new ArrayList<>();
+        customersByCity.forEach(allCustomers::addAll);
+        return Workload.builder()
+                .cities(cities)
+                .restaurants(allRestaurants)
+                .customers(allCustomers)
+                .agents(agents)
+                .requests(requests)
+                .build();
+    }
+
+    private List<Restaurant> restaurants(City city, int cityIndex, Random random) {
+        List<Restaurant> restaurants = new ArrayList<>(config.getRestaurantsPerCity());
+        for (int i = 0; i < config.getRestaurantsPerCity(); i++) {
+            double preparationTime = config.getMedianPreparationMinutes()
+                    * Math.exp(config.getPreparationTimeSigma() * random.nextGaussian());
+            Restaurant restaurant = Restaurant.builder()
+                    .name("Restaurant " + cityIndex + "-" + i)
+                    .address(Address.builder().location(randomLocation(city, random)).build())
+                    .averagePreparationTime(preparationTime)
+                    .orders(List.of())
+                    .build();
+            restaurant.setId("R" + cityIndex + "-" + i);
+            restaurants.add(restaurant);
+        }
+        return restaurants;
+    }
+
+    private List<Customer> customers(City city, int cityIndex, Random random) {
+        List<Customer> customers = new ArrayList<>(config.getCustomersPerCity());
+        for (int i = 0; i < config.getCustomersPerCity(); i++) {
+            Customer customer = Customer.builder()
+                    .name("Customer " + cityIndex + "-" + i)
+                    .address(Address.builder().location(randomLocation(city, random)).build())
+                    .orderIds(List.of())
+                    .build();
+            customer.setId("C" + cityIndex + "-" + i);
+            customers.add(customer);
+        }
+        return customers;
+    }
+
+    /**
+     * Draws a location uniformly from the city's disc.
+     */
+    private static GeoLocation randomLocation(City city, Random random) {
+        double distanceKm = city.getRadiusKm() * Math.sqrt(random.nextDouble());
+        double bearing = 2 * Math.PI * random.nextDouble();
+        double latitude = city.getCentre().getLatitude();
+        return location(latitude + distanceKm * Math.cos(bearing) / KM_PER_DEGREE,
+                city.getCentre().getLongitude()
+                        + distanceKm * Math.sin(bearing) / (KM_PER_DEGREE * Math.cos(Math.toRadians(latitude))));
+    }
+
+    private static GeoLocation location(double latitude, double longitude) {
+        return GeoLocation.builder().latitude(latitude).longitude(longitude).build();
+    }
+}
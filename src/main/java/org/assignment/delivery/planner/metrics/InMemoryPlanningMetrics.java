@@ -0,0 +1,119 @@
+package org.assignment.delivery.planner.metrics;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PlanningMetrics} aggregated in memory: a {@link Histogram} per measurement and optimizer
+ * strategy, and counters for beam pruning and the travel time cache. Every histogram and counter
+ * is created up front, so recording is lock-free and allocation-free.
+ */
+public class InMemoryPlanningMetrics implements PlanningMetrics {
+
+    private final Histogram[] optimizationNanos = histograms();
+    private final Histogram[] statesExpanded = histograms();
+    private final Histogram[] travelTimeEvaluations = histograms();
+    private final Histogram[] routeSeconds = histograms();
+    private final Histogram planningNanos = new Histogram();
+
+    private final LongAdder beamCandidatesGenerated = new LongAdder();
+    private final LongAdder beamCandidatesRetained = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    @Override
+    public void recordOptimization(OptimizerStrategy strategy, long elapsedNanos, long statesExpanded,
+                                   long travelTimeEvaluations, double routeMinutes) {
+        int tag = strategy.ordinal();
+        this.optimizationNanos[tag].record(elapsedNanos);
+        this.statesExpanded[tag].record(statesExpanded);
+        this.travelTimeEvaluations[tag].record(travelTimeEvaluations);
+        if (Double.isFinite(routeMinutes)) {
+            this.routeSeconds[tag].record(Math.round(routeMinutes * 60));
+        }
+    }
+
+    @Override
+    public void recordBeamPruning(long candidatesGenerated, long candidatesRetained) {
+        beamCandidatesGenerated.add(candidatesGenerated);
+        beamCandidatesRetained.add(candidatesRetained);
+    }
+
+    @Override
+    public void recordTravelTimeCacheLookups(long hits, long misses) {
+        cacheHits.add(hits);
+        cacheMisses.add(misses);
+    }
+
+    @Override
+    public void recordPlanningCall(long elapsedNanos) {
+        planningNanos.record(elapsedNanos);
+    }
+
+    /**
+     * @param strategy Strategy to query.
+     * @return Time spent per optimizer run, in nanoseconds.
+     */
+    public Histogram getOptimizationLatency(OptimizerStrategy strategy) {
+        return optimizationNanos[strategy.ordinal()];
+    }
+
+    /**
+     * @param strategy Strategy to query.
+     * @return Search states expanded per optimizer run.
+     */
+    public Histogram getStatesExpanded(OptimizerStrategy strategy) {
+        return statesExpanded[strategy.ordinal()];
+    }
+
+    /**
+     * @param strategy Strategy to query.
+     * @return Travel time estimates behind each optimizer run.
+     */
+    public Histogram getTravelTimeEvaluations(OptimizerStrategy strategy) {
+        return travelTimeEvaluations[strategy.ordinal()];
+    }
+
+    /**
+     * @param strategy Strategy to query.
+     * @return Completion time of each route found, rounded to whole seconds.
+     */
+    public Histogram getRouteDurationSeconds(OptimizerStrategy strategy) {
+        return routeSeconds[strategy.ordinal()];
+    }
+
+    /**
+     * @return End-to-end time of each planning call, in nanoseconds.
+     */
+    public Histogram getPlanningLatency() {
+        return planningNanos;
+    }
+
+    /**
+     * @return Fraction of the beam search's generated candidates that were discarded, or
+     * {@code 0} if no candidates were generated.
+     */
+    public double getBeamPruningRatio() {
+        long generated = beamCandidatesGenerated.sum();
+        return generated == 0 ? 0 : 1 - (double) beamCandidatesRetained.sum() / generated;
+    }
+
+    /**
+     * @return Fraction of travel time cache lookups answered from the cache, or {@code 0} if
+     * there were none.
+     */
+    public double getCacheHitRate() {
+        long hits = cacheHits.sum();
+        long lookups = hits + cacheMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private static Histogram[] histograms() {
+        Histogram[] histograms = new Histogram[OptimizerStrategy.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+        return histograms;
+    }
+}
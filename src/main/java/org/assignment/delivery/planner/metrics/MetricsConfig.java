@@ -0,0 +1,25 @@
+package org.assignment.delivery.planner.metrics;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Selects where planning measurements are recorded.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class MetricsConfig {
+
+    /** System property that, set to {@code true}, enables in-memory metrics by default. */
+    public static final String IN_MEMORY_PROPERTY = "planner.metrics.inMemory";
+
+    public static final MetricsConfig DEFAULT = MetricsConfig.builder().build();
+
+    /**
+     * Whether measurements are aggregated by an {@link InMemoryPlanningMetrics}. Defaults to the
+     * value of {@link #IN_MEMORY_PROPERTY}, which is off when unset: measurements are then
+     * discarded by {@link PlanningMetrics#NONE}.
+     */
+    @Builder.Default
+    private final boolean inMemory = Boolean.getBoolean(IN_MEMORY_PROPERTY);
+}
@@ -0,0 +1,59 @@
+package org.assignment.delivery.planner.metrics;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+
+/**
+ * Receives measurements of route planning calls.
+ *
+ * <p>Every hook takes only primitives and enum constants and is called a bounded number of
+ * times per planning call, never per candidate or per node, so implementations that do not
+ * allocate keep the planning hot path allocation-free. All hooks default to doing nothing.
+ */
+public interface PlanningMetrics {
+
+    /** Metrics that discard every measurement. */
+    PlanningMetrics NONE = new PlanningMetrics() {
+    };
+
+    /**
+     * Records a single optimizer run.
+     *
+     * @param strategy              Algorithm that computed the route.
+     * @param elapsedNanos          Time spent in the optimizer, excluding building the travel time matrix.
+     * @param statesExpanded        Number of search states the optimizer expanded.
+     * @param travelTimeEvaluations Number of travel time estimates behind the matrix the optimizer used.
+     * @param routeMinutes          Time at which the last node of the route is served, or {@code NaN}
+     *                              if no valid route was found.
+     */
+    default void recordOptimization(OptimizerStrategy strategy, long elapsedNanos, long statesExpanded,
+                                    long travelTimeEvaluations, double routeMinutes) {
+    }
+
+    /**
+     * Records how many successor candidates a beam search generated and how many it kept.
+     *
+     * @param candidatesGenerated Successors considered over all levels of the search.
+     * @param candidatesRetained  Successors kept in the beam over all levels of the search.
+     */
+    default void recordBeamPruning(long candidatesGenerated, long candidatesRetained) {
+    }
+
+    /**
+     * Records the lookups a single batch estimate made in the travel time cache, such as building
+     * one travel time matrix. Pairwise lookups are not reported, as they happen per candidate.
+     *
+     * @param hits   Estimates answered from the cache.
+     * @param misses Estimates that had to be computed.
+     */
+    default void recordTravelTimeCacheLookups(long hits, long misses) {
+    }
+
+    /**
+     * Records an end-to-end planning call, including mapping orders to visit nodes, building the
+     * travel time matrix, optimization and route improvement.
+     *
+     * @param elapsedNanos Time spent in the call.
+     */
+    default void recordPlanningCall(long elapsedNanos) {
+    }
+}
@@ -0,0 +1,24 @@
+package org.assignment.delivery.planner.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Pairs a delivery agent with the orders they have to fulfil in a single planning cycle.
+ */
+@Getter
+@Builder
+public class AgentAssignment {
+
+    /**
+     * Agent to plan for; the route starts at the agent's current location.
+     */
+    private final Agent agent;
+
+    /**
+     * Orders assigned to the agent.
+     */
+    private final List<Order> orders;
+}
@@ -0,0 +1,42 @@
+package org.assignment.delivery.planner.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Outcome of planning the route of a single agent within a batch.
+ */
+@Getter
+@Builder
+public class AgentPlanResult {
+
+    /**
+     * Identifier of the agent the result belongs to.
+     */
+    private final String agentId;
+
+    /**
+     * The planned route, or {@code null} if planning failed.
+     */
+    @Nullable
+    private final DeliveryPlan plan;
+
+    /**
+     * Wall-clock time spent planning this agent's route, in nanoseconds.
+     */
+    private final long planningTimeNanos;
+
+    /**
+     * The error raised while planning, or {@code null} on success.
+     */
+    @Nullable
+    private final Throwable failure;
+
+    /**
+     * @return {@code true} if a plan was produced.
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,25 @@
+package org.assignment.delivery.planner.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of assigning a pool of unassigned orders to a fleet of agents.
+ */
+@Getter
+@Builder
+public class AssignmentResult {
+
+    /**
+     * One assignment per agent of the fleet, in fleet order, holding the agent's existing orders
+     * followed by the orders newly assigned to them.
+     */
+    private final List<AgentAssignment> assignments;
+
+    /**
+     * Orders that could not be assigned to any agent, e.g. because every candidate agent is full.
+     */
+    private final List<Order> unassignedOrders;
+}
@@ -0,0 +1,22 @@
+package org.assignment.delivery.planner.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A new order arriving on the order stream, already dispatched to the agent that will fulfil it.
+ */
+@Getter
+@Builder
+public class OrderEvent {
+
+    /**
+     * Agent the order is dispatched to; its route is re-planned with the order included.
+     */
+    private final Agent agent;
+
+    /**
+     * The incoming order.
+     */
+    private final Order order;
+}
@@ -0,0 +1,432 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.distance.DistanceCalculator;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
+import org.assignment.delivery.planner.service.config.TravelTimeCacheConfig;
+import org.assignment.delivery.planner.time.TimeEstimator;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TravelTimeEstimationService} that remembers recent travel time estimates, so pairs that
+ * recur across planning calls (e.g. popular restaurants to nearby customers) are only computed once.
+ *
+ * <p>Keys are the source and destination coordinates rounded to
+ * {@link TravelTimeCacheConfig#getQuantizationDegrees()}; points closer than that share an entry.
+ * The cache is split into independently locked stripes, each evicting its least recently used
+ * entry once it holds its share of {@link TravelTimeCacheConfig#getMaximumSize()}. Stripes keep
+ * keys and estimates in primitive arrays, so a lookup allocates nothing. Estimates are computed
+ * outside the lock, so a slow estimator never blocks lookups of other keys.
+ *
+ * <p>Batch estimates, used to build travel time matrices, read and fill the same entries. A batch
+ * groups its cells by stripe and takes each stripe's lock once for all of its lookups and once to
+ * store its misses, so a matrix build costs at most two lock acquisitions per stripe and source
+ * rather than one per cell. Missing cells are computed together through the all-pairs distance
+ * and time APIs, restricted to the sources and destinations that have a miss.
+ *
+ * <p>Each batch call reports its hits and misses to {@link PlanningMetrics} once. Pairwise
+ * lookups happen per insertion candidate, so they are only counted by {@link #getHitCount()} and
+ * {@link #getMissCount()}.
+ */
+public class CachingTravelTimeEstimationService extends TravelTimeEstimationService {
+
+    private final double quantizationDegrees;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final PlanningMetrics metrics;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs the caching service.
+     *
+     * @param distanceCalculator the distance calculator component
+     * @param timeEstimator      the time estimator component
+     * @param config             cache size, key precision and striping
+     */
+    public CachingTravelTimeEstimationService(DistanceCalculator distanceCalculator,
+                                              TimeEstimator timeEstimator,
+                                              TravelTimeCacheConfig config) {
+        this(distanceCalculator, timeEstimator, config, PlanningMetrics.NONE);
+    }
+
+    /**
+     * Constructs the caching service, reporting batch lookups to the given metrics.
+     *
+     * @param distanceCalculator the distance calculator component
+     * @param timeEstimator      the time estimator component
+     * @param config             cache size, key precision and striping
+     * @param metrics            the sink receiving the hits and misses of every batch lookup
+     */
+    public CachingTravelTimeEstimationService(DistanceCalculator distanceCalculator,
+                                              TimeEstimator timeEstimator,
+                                              TravelTimeCacheConfig config,
+                                              PlanningMetrics metrics) {
+        super(distanceCalculator, timeEstimator);
+        this.metrics = metrics;
+        this.quantizationDegrees = config.getQuantizationDegrees();
+
+        int stripeCount = config.getStripes() <= 1 ? 1 : Integer.highestOneBit(config.getStripes() - 1) << 1;
+        int capacityPerStripe = Math.max(1, config.getMaximumSize() / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(capacityPerStripe);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    @Override
+    public double estimateTime(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        long from = pack(fromLatitude, fromLongitude);
+        long to = pack(toLatitude, toLongitude);
+        Stripe stripe = stripes[hash(from, to) & stripeMask];
+
+        boolean hit;
+        double estimate = 0;
+        synchronized (stripe) {
+            int entry = stripe.find(from, to);
+            hit = entry >= 0;
+            if (hit) {
+                estimate = stripe.get(entry);
+            }
+        }
+        if (hit) {
+            hits.increment();
+            return estimate;
+        }
+
+        misses.increment();
+        estimate = super.estimateTime(fromLatitude, fromLongitude, toLatitude, toLongitude);
+        synchronized (stripe) {
+            stripe.put(from, to, estimate);
+        }
+        return estimate;
+    }
+
+    @Override
+    public void estimateTimes(double fromLatitude, double fromLongitude,
+                              double[] latitudes, double[] longitudes, double[] times) {
+        estimateTimes(new double[]{fromLatitude}, new double[]{fromLongitude}, latitudes, longitudes, new double[][]{times});
+    }
+
+    @Override
+    public void estimateTimes(double[] fromLatitudes, double[] fromLongitudes,
+                              double[] latitudes, double[] longitudes, double[][] times) {
+        int sourceCount = fromLatitudes.length;
+        int count = latitudes.length;
+        long[] toKeys = new long[count];
+        for (int i = 0; i < count; i++) {
+            toKeys[i] = pack(latitudes[i], longitudes[i]);
+        }
+        long[] fromKeys = new long[sourceCount];
+        int[] order = new int[count];
+        int[] stripeStarts = new int[stripes.length + 1];
+        boolean[][] missed = new boolean[sourceCount][count];
+        boolean[] missingSources = new boolean[sourceCount];
+        boolean[] missingDestinations = new boolean[count];
+        int missingSourceCount = 0;
+        int missingDestinationCount = 0;
+        long missCount = 0;
+
+        for (int from = 0; from < sourceCount; from++) {
+            fromKeys[from] = pack(fromLatitudes[from], fromLongitudes[from]);
+            groupByStripe(fromKeys[from], toKeys, order, stripeStarts);
+            for (int s = 0; s < stripes.length; s++) {
+                if (stripeStarts[s] == stripeStarts[s + 1]) {
+                    continue;
+                }
+                Stripe stripe = stripes[s];
+                synchronized (stripe) {
+                    for (int k = stripeStarts[s]; k < stripeStarts[s + 1]; k++) {
+                        int to = order[k];
+                        int entry = stripe.find(fromKeys[from], toKeys[to]);
+                        if (entry >= 0) {
+                            times[from][to] = stripe.get(entry);
+                        } else {
+                            missed[from][to] = true;
+                        }
+                    }
+                }
+            }
+            for (int to = 0; to < count; to++) {
+                if (missed[from][to]) {
+                    missCount++;
+                    if (!missingSources[from]) {
+                        missingSources[from] = true;
+                        missingSourceCount++;
+                    }
+                    if (!missingDestinations[to]) {
+                        missingDestinations[to] = true;
+                        missingDestinationCount++;
+                    }
+                }
+            }
+        }
+        long hitCount = (long) sourceCount * count - missCount;
+        hits.add(hitCount);
+        misses.add(missCount);
+        metrics.recordTravelTimeCacheLookups(hitCount, missCount);
+        if (missCount == 0) {
+            return;
+        }
+
+        // Compute the missing cells over the sub-grid of sources and destinations that have one
+        int[] sources = indicesOf(missingSources, missingSourceCount);
+        int[] destinations = indicesOf(missingDestinations, missingDestinationCount);
+        double[][] computed = new double[sources.length][destinations.length];
+        super.estimateTimes(select(fromLatitudes, sources), select(fromLongitudes, sources),
+                select(latitudes, destinations), select(longitudes, destinations), computed);
+
+        for (int row = 0; row < sources.length; row++) {
+            int from = sources[row];
+            for (int column = 0; column < destinations.length; column++) {
+                int to = destinations[column];
+                if (missed[from][to]) {
+                    times[from][to] = computed[row][column];
+                }
+            }
+            groupByStripe(fromKeys[from], toKeys, order, stripeStarts);
+            for (int s = 0; s < stripes.length; s++) {
+                if (stripeStarts[s] == stripeStarts[s + 1]) {
+                    continue;
+                }
+                Stripe stripe = stripes[s];
+                synchronized (stripe) {
+                    for (int k = stripeStarts[s]; k < stripeStarts[s + 1]; k++) {
+                        int to = order[k];
+                        if (missed[from][to]) {
+                            stripe.put(fromKeys[from], toKeys[to], times[from][to]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of estimates answered from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of estimates that had to be computed
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of entries evicted to respect the size bound
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of entries currently cached
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Packs a quantized coordinate pair into one long: latitude in the high 32 bits,
+     * longitude in the low 32 bits.
+     */
+    private long pack(double latitude, double longitude) {
+        long quantizedLatitude = Math.round(latitude / quantizationDegrees);
+        long quantizedLongitude = Math.round(longitude / quantizationDegrees);
+        return (quantizedLatitude << 32) ^ (quantizedLongitude & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Counting-sorts the destinations of one source by stripe: the destinations in stripe
+     * {@code s} are {@code order[stripeStarts[s]]} up to, excluding, {@code order[stripeStarts[s + 1]]}.
+     */
+    private void groupByStripe(long from, long[] toKeys, int[] order, int[] stripeStarts) {
+        Arrays.fill(stripeStarts, 0);
+        for (long to : toKeys) {
+            stripeStarts[(hash(from, to) & stripeMask) + 1]++;
+        }
+        for (int s = 0; s < stripes.length; s++) {
+            stripeStarts[s + 1] += stripeStarts[s];
+        }
+        for (int i = 0; i < toKeys.length; i++) {
+            int s = hash(from, toKeys[i]) & stripeMask;
+            order[stripeStarts[s]++] = i;
+        }
+        // Filling shifted every start to the next stripe's start; shift them back
+        System.arraycopy(stripeStarts, 0, stripeStarts, 1, stripes.length);
+        stripeStarts[0] = 0;
+    }
+
+    private static int[] indicesOf(boolean[] flags, int count) {
+        int[] indices = new int[count];
+        int next = 0;
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) {
+                indices[next++] = i;
+            }
+        }
+        return indices;
+    }
+
+    private static double[] select(double[] values, int[] indices) {
+        double[] selected = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            selected[i] = values[indices[i]];
+        }
+        return selected;
+    }
+
+    private static int hash(long from, long to) {
+        long mixed = from * 0x9E3779B97F4A7C15L + to;
+        mixed ^= mixed >>> 29;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * Fixed-capacity map from a (from, to) key pair to an estimate, evicting its least recently
+     * used entry when full. Entries live in parallel primitive arrays linked into a recency list,
+     * and are found through an open-addressing index, so lookups and updates allocate nothing.
+     * Guarded by its own monitor.
+     */
+    private final class Stripe {
+        private static final int NONE = -1;
+
+        private final long[] fromKeys;
+        private final long[] toKeys;
+        private final double[] values;
+        /** Recency list: previous is towards the most recently used entry */
+        private final int[] previous;
+        private final int[] next;
+        /** Open-addressing index holding entry + 1, or 0 for an empty slot */
+        private final int[] index;
+        private final int indexMask;
+
+        private int size;
+        private int head = NONE;
+        private int tail = NONE;
+
+        Stripe(int capacity) {
+            this.fromKeys = new long[capacity];
+            this.toKeys = new long[capacity];
+            this.values = new double[capacity];
+            this.previous = new int[capacity];
+            this.next = new int[capacity];
+            int indexSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+            this.index = new int[indexSize];
+            this.indexMask = indexSize - 1;
+        }
+
+        /**
+         * @return The entry holding the key, marked as most recently used, or {@link #NONE}.
+         */
+        int find(long from, long to) {
+            for (int slot = slotOf(from, to); index[slot] != 0; slot = (slot + 1) & indexMask) {
+                int entry = index[slot] - 1;
+                if (fromKeys[entry] == from && toKeys[entry] == to) {
+                    moveToHead(entry);
+                    return entry;
+                }
+            }
+            return NONE;
+        }
+
+        double get(int entry) {
+            return values[entry];
+        }
+
+        void put(long from, long to, double value) {
+            int entry = find(from, to);
+            if (entry == NONE) {
+                if (size < values.length) {
+                    entry = size++;
+                } else {
+                    entry = tail;
+                    unlink(entry);
+                    removeFromIndex(entry);
+                    evictions.increment();
+                }
+                fromKeys[entry] = from;
+                toKeys[entry] = to;
+                int slot = slotOf(from, to);
+                while (index[slot] != 0) {
+                    slot = (slot + 1) & indexMask;
+                }
+                index[slot] = entry + 1;
+                linkAtHead(entry);
+            }
+            values[entry] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int slotOf(long from, long to) {
+            // The stripe was chosen by the low bits of the hash, so fold the high bits in
+            int mixed = hash(from, to) * 0x9E3779B9;
+            return (mixed ^ (mixed >>> 16)) & indexMask;
+        }
+
+        private void moveToHead(int entry) {
+            if (entry != head) {
+                unlink(entry);
+                linkAtHead(entry);
+            }
+        }
+
+        private void linkAtHead(int entry) {
+            previous[entry] = NONE;
+            next[entry] = head;
+            if (head != NONE) {
+                previous[head] = entry;
+            }
+            head = entry;
+            if (tail == NONE) {
+                tail = entry;
+            }
+        }
+
+        private void unlink(int entry) {
+            int before = previous[entry];
+            int after = next[entry];
+            if (before != NONE) next[before] = after; else head = after;
+            if (after != NONE) previous[after] = before; else tail = before;
+        }
+
+        /**
+         * Removes an entry from the index, shifting later entries of its probe run back so that
+         * lookups never stop at the freed slot too early.
+         */
+        private void removeFromIndex(int entry) {
+            int slot = slotOf(fromKeys[entry], toKeys[entry]);
+            while (index[slot] != entry + 1) {
+                slot = (slot + 1) & indexMask;
+            }
+            int hole = slot;
+            for (int probe = (hole + 1) & indexMask; index[probe] != 0; probe = (probe + 1) & indexMask) {
+                int moved = index[probe] - 1;
+                int home = slotOf(fromKeys[moved], toKeys[moved]);
+                // Move it into the hole unless its home lies cyclically in (hole, probe]
+                if (((probe - home) & indexMask) >= ((probe - hole) & indexMask)) {
+                    index[hole] = index[probe];
+                    hole = probe;
+                }
+            }
+            index[hole] = 0;
+        }
+    }
+}
@@ -2,17 +2,26 @@ package org.assignment.delivery.planner.service;
 
 import lombok.Data;
 import org.assignment.delivery.planner.algorithm.optimizer.adapter.RoutePlanningEngine;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.AgentPlanResult;
 import org.assignment.delivery.planner.model.Customer;
 import org.assignment.delivery.planner.model.DeliveryPlan;
 import org.assignment.delivery.planner.model.GeoLocation;
 import org.assignment.delivery.planner.model.Order;
 import org.assignment.delivery.planner.model.Restaurant;
 import org.assignment.delivery.planner.model.User;
+import org.assignment.delivery.planner.tracing.PlanningTracer;
+import org.assignment.delivery.planner.tracing.TracePhase;
+import org.assignment.delivery.planner.tracing.TraceSpan;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Service responsible for planning the optimal delivery route for a list of orders.
@@ -21,14 +30,44 @@ import java.util.Map;
 public class DeliveryRoutePlanner {
     private final RoutePlanningEngine planningEngine;
 
+    /** Executor on which {@link #planRoutes(List)} plans agents concurrently. */
+    private final Executor planningExecutor;
+
+    /** Times each planning call and its user resolution. */
+    private final PlanningTracer tracer;
+
     /**
      * Constructs a {@code DeliveryRoutePlanner} with the given {@link RoutePlanningEngine}.
+     * Batches are planned on the common fork-join pool.
      *
      * @param planningEngine the route planning engine to be used for optimization
      */
-    @Inject
     public DeliveryRoutePlanner(RoutePlanningEngine planningEngine) {
+        this(planningEngine, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a {@code DeliveryRoutePlanner} with the given {@link RoutePlanningEngine} and batch executor.
+     *
+     * @param planningEngine   the route planning engine to be used for optimization
+     * @param planningExecutor the executor used to plan the agents of a batch concurrently
+     */
+    public DeliveryRoutePlanner(RoutePlanningEngine planningEngine, Executor planningExecutor) {
+        this(planningEngine, planningExecutor, PlanningTracer.NONE);
+    }
+
+    /**
+     * Constructs a {@code DeliveryRoutePlanner} with the given {@link RoutePlanningEngine}, batch executor and tracer.
+     *
+     * @param planningEngine   the route planning engine to be used for optimization
+     * @param planningExecutor the executor used to plan the agents of a batch concurrently
+     * @param tracer           the tracer timing each planning call
+     */
+    @Inject
+    public DeliveryRoutePlanner(RoutePlanningEngine planningEngine, Executor planningExecutor, PlanningTracer tracer) {
         this.planningEngine = planningEngine;
+        this.planningExecutor = planningExecutor;
+        this.tracer = tracer;
     }
 
     /**
@@ -47,12 +86,90 @@ public class DeliveryRoutePlanner {
             List<Customer> customers,
             List<Restaurant> restaurants
     ) {
+        TraceSpan span = tracer.start(TracePhase.PLAN_ROUTE);
+        try {
+            List<String> userIds = planningEngine.generateRoute(startLocation, orders);
+
+            TraceSpan resolveSpan = tracer.start(TracePhase.RESOLVE_USERS);
+            try {
+                Map<String, User> idToUserMapping = new HashMap<>();
+                customers.forEach(customer -> idToUserMapping.put(customer.getId(), customer));
+                restaurants.forEach(restaurant -> idToUserMapping.put(restaurant.getId(), restaurant));
+
+                return toDeliveryPlan(userIds, idToUserMapping);
+            } finally {
+                resolveSpan.close();
+            }
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Plans the routes of many agents concurrently on the configured executor.
+     *
+     * @param assignments the agents to plan for, each with their assigned orders
+     * @return one result per assignment, in the same order
+     * @see #planRoutes(List, Executor)
+     */
+    public List<AgentPlanResult> planRoutes(List<AgentAssignment> assignments) {
+        return planRoutes(assignments, planningExecutor);
+    }
+
+    /**
+     * Plans the routes of many agents concurrently on the given executor.
+     *
+     * <p>The id-to-user lookup is built once from the customers and restaurants of every order in
+     * the batch and shared, read-only, by all planning tasks. A failure while planning one agent
+     * is recorded in that agent's {@link AgentPlanResult} and does not affect the others.
+     *
+     * @param assignments the agents to plan for, each with their assigned orders
+     * @param executor    the executor on which the agents are planned
+     * @return one result per assignment, in the same order, with the plan or failure and the planning time
+     */
+    public List<AgentPlanResult> planRoutes(List<AgentAssignment> assignments, Executor executor) {
         Map<String, User> idToUserMapping = new HashMap<>();
-        customers.forEach(customer -> idToUserMapping.put(customer.getId(), customer));
-        restaurants.forEach(restaurant -> idToUserMapping.put(restaurant.getId(), restaurant));
+        for (AgentAssignment assignment : assignments) {
+            for (Order order : assignment.getOrders()) {
+                idToUserMapping.put(order.getCustomer().getId(), order.getCustomer());
+                idToUserMapping.put(order.getRestaurant().getId(), order.getRestaurant());
+            }
+        }
+
+        List<CompletableFuture<AgentPlanResult>> futures = new ArrayList<>(assignments.size());
+        for (AgentAssignment assignment : assignments) {
+            futures.add(CompletableFuture.supplyAsync(() -> planAgent(assignment, idToUserMapping), executor));
+        }
 
-        List<String> userIds = planningEngine.generateRoute(startLocation, orders);
+        List<AgentPlanResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<AgentPlanResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private AgentPlanResult planAgent(AgentAssignment assignment, Map<String, User> idToUserMapping) {
+        AgentPlanResult.AgentPlanResultBuilder result = AgentPlanResult.builder()
+                .agentId(assignment.getAgent().getId());
+        long startNanos = System.nanoTime();
+        TraceSpan span = tracer.start(TracePhase.PLAN_ROUTE);
+        try {
+            List<String> userIds = planningEngine.generateRoute(assignment.getAgent().getLocation(), assignment.getOrders());
+            TraceSpan resolveSpan = tracer.start(TracePhase.RESOLVE_USERS);
+            try {
+                result.plan(toDeliveryPlan(userIds, idToUserMapping));
+            } finally {
+                resolveSpan.close();
+            }
+        } catch (RuntimeException e) {
+            result.failure(e);
+        } finally {
+            span.close();
+        }
+        return result.planningTimeNanos(System.nanoTime() - startNanos).build();
+    }
 
+    private static DeliveryPlan toDeliveryPlan(List<String> userIds, Map<String, User> idToUserMapping) {
         return DeliveryPlan.builder()
                 .users(userIds.stream()
                         .map(idToUserMapping::get)
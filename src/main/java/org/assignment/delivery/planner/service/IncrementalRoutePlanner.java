@@ -0,0 +1,97 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.algorithm.optimizer.CheapestInsertion;
+import org.assignment.delivery.planner.algorithm.optimizer.RouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.model.PlannedRoute;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.service.config.IncrementalPlanningConfig;
+
+import javax.inject.Inject;
+import java.util.List;
+
+import static org.assignment.delivery.planner.algorithm.optimizer.mapper.OrderToVisitNodeMapper.INSTANCE;
+
+/**
+ * Service responsible for keeping an agent's route up to date as new orders arrive.
+ *
+ * <p>Each new order is placed with {@link CheapestInsertion}, which only prices the new stops
+ * against the existing route. A full {@link RouteOptimizer} run over every stop is triggered only
+ * when the {@link IncrementalPlanningConfig} thresholds indicate that the accumulated insertions
+ * may have drifted from a good route; its result is kept only if it is faster.
+ *
+ * <p>With time-dependent travel times, a route keeps the minute of the day it was first planned
+ * for, and insertions and re-optimizations price every leg for when it starts on that route.
+ */
+public class IncrementalRoutePlanner {
+
+    private final RouteOptimizer optimizer;
+    private final CheapestInsertion cheapestInsertion;
+    private final TravelTimeEstimationService travelEstimator;
+    private final IncrementalPlanningConfig config;
+
+    /**
+     * Constructs the planner.
+     *
+     * @param optimizer         Optimizer used for initial planning and re-optimization.
+     * @param cheapestInsertion Insertion used for each new order.
+     * @param travelEstimator   Service used to estimate travel time between geo-locations.
+     * @param config            Re-optimization thresholds.
+     */
+    @Inject
+    public IncrementalRoutePlanner(RouteOptimizer optimizer,
+                                   CheapestInsertion cheapestInsertion,
+                                   TravelTimeEstimationService travelEstimator,
+                                   IncrementalPlanningConfig config) {
+        this.optimizer = optimizer;
+        this.cheapestInsertion = cheapestInsertion;
+        this.travelEstimator = travelEstimator;
+        this.config = config;
+    }
+
+    /**
+     * Plans a route from scratch for the given orders.
+     *
+     * @param startLocation The starting point of the delivery agent.
+     * @param orders        The orders to deliver.
+     * @return The optimized route.
+     */
+    public PlannedRoute plan(GeoLocation startLocation, List<Order> orders) {
+        return optimize(startLocation, INSTANCE.mapOrdersToVisitNodes(orders), travelEstimator.currentMinuteOfDay());
+    }
+
+    /**
+     * Adds a new order to an existing route.
+     *
+     * @param plannedRoute The agent's current route.
+     * @param order        The newly arrived order.
+     * @return The route including the new order's restaurant and customer.
+     */
+    public PlannedRoute addOrder(PlannedRoute plannedRoute, Order order) {
+        List<VisitNode> orderNodes = INSTANCE.mapOrdersToVisitNodes(List.of(order));
+        PlannedRoute inserted = cheapestInsertion.insert(plannedRoute, orderNodes.get(0), orderNodes.get(1));
+        if (!shouldReoptimize(plannedRoute, inserted)) {
+            return inserted;
+        }
+
+        PlannedRoute reoptimized = optimize(plannedRoute.getStartLocation(), inserted.getRoute(),
+                plannedRoute.getDepartureMinute());
+        return reoptimized.getCompletionTime() < inserted.getCompletionTime() ? reoptimized : inserted.markOptimized();
+    }
+
+    private boolean shouldReoptimize(PlannedRoute before, PlannedRoute after) {
+        if (after.getInsertionsSinceOptimization() >= config.getReoptimizeAfterInsertions()) {
+            return true;
+        }
+        double insertionCost = after.getCompletionTime() - before.getCompletionTime();
+        return before.getCompletionTime() > 0
+                && insertionCost > config.getReoptimizeCostRatio() * before.getCompletionTime();
+    }
+
+    // Priced for the given departure, so a re-optimized route is compared with the insertion on equal terms
+    private PlannedRoute optimize(GeoLocation startLocation, List<VisitNode> nodes, double departureMinute) {
+        return PlannedRoute.of(startLocation, optimizer.computeOptimalRoute(startLocation, nodes), travelEstimator,
+                departureMinute);
+    }
+}
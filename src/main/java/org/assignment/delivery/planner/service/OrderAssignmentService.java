@@ -0,0 +1,258 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.algorithm.optimizer.RouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.AssignmentResult;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.service.config.AssignmentConfig;
+import org.assignment.delivery.planner.spatial.SpatialIndex;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assignment.delivery.planner.algorithm.optimizer.mapper.OrderToVisitNodeMapper.INSTANCE;
+
+/**
+ * Service responsible for deciding which agent of a fleet fulfils each unassigned order.
+ *
+ * <p>The cost of giving an order to an agent is the marginal increase of the agent's route
+ * completion time, as computed by the configured {@link RouteOptimizer} over the agent's current
+ * orders plus the new one. Assignment proceeds in rounds:
+ * <ol>
+ *   <li>Every agent whose orders changed re-evaluates its insertion cost for each unassigned
+ *   order it is a candidate for. Agents are evaluated concurrently on the executor.</li>
+ *   <li>All (order, agent) costs are ranked and the cheapest are committed, at most one new
+ *   order per agent per round, since a commit invalidates that agent's other costs.</li>
+ * </ol>
+ * Rounds repeat until no further order can be assigned.
+ *
+ * <p>To keep the number of optimizer calls manageable, an order is only evaluated against the
+ * {@link AssignmentConfig#getCandidateAgents()} agents closest to its restaurant that are within
+ * {@link AssignmentConfig#getMaxCandidateDistanceKm()}, looked up in a spatial index of the fleet.
+ */
+public class OrderAssignmentService {
+
+    private final RouteOptimizer optimizer;
+    private final TravelTimeEstimationService travelEstimator;
+    private final Executor executor;
+    private final AssignmentConfig config;
+
+    /**
+     * Constructs the service.
+     *
+     * @param optimizer       Optimizer used to route each agent's candidate order set.
+     * @param travelEstimator Service used to estimate travel time and distance between geo-locations.
+     * @param executor        Executor on which agents' insertion costs are evaluated concurrently.
+     * @param config          Candidate filtering and capacity limits.
+     */
+    @Inject
+    public OrderAssignmentService(RouteOptimizer optimizer,
+                                  TravelTimeEstimationService travelEstimator,
+                                  Executor executor,
+                                  AssignmentConfig config) {
+        this.optimizer = optimizer;
+        this.travelEstimator = travelEstimator;
+        this.executor = executor;
+        this.config = config;
+    }
+
+    /**
+     * Assigns a pool of orders to a fleet of agents.
+     *
+     * @param orders Orders not yet assigned to any agent.
+     * @param fleet  Every available agent with the orders they already carry.
+     * @return The fleet's updated assignments and the orders that could not be assigned.
+     */
+    public AssignmentResult assignOrders(List<Order> orders, List<AgentAssignment> fleet) {
+        AgentState[] agents = new AgentState[fleet.size()];
+        for (int agent = 0; agent < agents.length; agent++) {
+            agents[agent] = new AgentState(fleet.get(agent));
+        }
+        registerCandidates(orders, agents);
+
+        boolean[] assigned = new boolean[orders.size()];
+        List<List<VisitNode>> orderNodes = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderNodes.add(INSTANCE.mapOrdersToVisitNodes(List.of(order)));
+        }
+
+        boolean progress = true;
+        while (progress) {
+            evaluateChangedAgents(agents, orderNodes, assigned);
+            progress = commitCheapestInsertions(agents, orders, orderNodes, assigned);
+        }
+
+        List<AgentAssignment> assignments = new ArrayList<>(agents.length);
+        for (AgentState agent : agents) {
+            assignments.add(AgentAssignment.builder()
+                    .agent(agent.assignment.getAgent())
+                    .orders(agent.orders)
+                    .build());
+        }
+        List<Order> unassigned = new ArrayList<>();
+        for (int order = 0; order < orders.size(); order++) {
+            if (!assigned[order]) {
+                unassigned.add(orders.get(order));
+            }
+        }
+        return AssignmentResult.builder()
+                .assignments(assignments)
+                .unassignedOrders(unassigned)
+                .build();
+    }
+
+    /**
+     * Registers each order with the nearest agents to its restaurant, found through a spatial
+     * index over the agents' locations instead of measuring every (order, agent) pair.
+     */
+    private void registerCandidates(List<Order> orders, AgentState[] agents) {
+        List<GeoLocation> agentLocations = new ArrayList<>(agents.length);
+        for (AgentState agent : agents) {
+            agentLocations.add(agent.assignment.getAgent().getLocation());
+        }
+        SpatialIndex index = config.getSpatialIndexType().build(agentLocations);
+
+        for (int order = 0; order < orders.size(); order++) {
+            GeoLocation restaurant = orders.get(order).getRestaurant().getAddress().getLocation();
+            for (int agent : index.nearest(restaurant, config.getCandidateAgents())) {
+                GeoLocation location = agentLocations.get(agent);
+                double distanceKm = travelEstimator.getDistanceCalculator().distanceKm(
+                        location.getLatitude(), location.getLongitude(),
+                        restaurant.getLatitude(), restaurant.getLongitude());
+                if (distanceKm <= config.getMaxCandidateDistanceKm()) {
+                    agents[agent].candidateOrders.add(order);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes, concurrently per agent, the insertion costs of every agent whose orders changed.
+     */
+    private void evaluateChangedAgents(AgentState[] agents, List<List<VisitNode>> orderNodes, boolean[] assigned) {
+        List<CompletableFuture<Void>> evaluations = new ArrayList<>();
+        for (AgentState agent : agents) {
+            if (agent.changed) {
+                agent.changed = false;
+                evaluations.add(CompletableFuture.runAsync(() -> agent.evaluate(orderNodes, assigned), executor));
+            }
+        }
+        CompletableFuture.allOf(evaluations.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * Commits the cheapest insertions, at most one per agent, and reports whether any was made.
+     */
+    private boolean commitCheapestInsertions(AgentState[] agents,
+                                             List<Order> orders,
+                                             List<List<VisitNode>> orderNodes,
+                                             boolean[] assigned) {
+        List<Insertion> insertions = new ArrayList<>();
+        for (int agent = 0; agent < agents.length; agent++) {
+            AgentState state = agents[agent];
+            if (state.orders.size() >= config.getMaxOrdersPerAgent()) continue;
+            for (int candidate = 0; candidate < state.candidateOrders.size(); candidate++) {
+                int order = state.candidateOrders.get(candidate);
+                double cost = state.insertionCosts[candidate];
+                if (!assigned[order] && cost != Double.POSITIVE_INFINITY) {
+                    insertions.add(new Insertion(cost, order, agent));
+                }
+            }
+        }
+        // Ties are broken by order, then by agent, so the result does not depend on thread timing
+        insertions.sort(Comparator.comparingDouble((Insertion insertion) -> insertion.cost)
+                .thenComparingInt(insertion -> insertion.order)
+                .thenComparingInt(insertion -> insertion.agent));
+
+        boolean[] agentChanged = new boolean[agents.length];
+        boolean progress = false;
+        for (Insertion insertion : insertions) {
+            if (assigned[insertion.order] || agentChanged[insertion.agent]) continue;
+
+            assigned[insertion.order] = true;
+            agentChanged[insertion.agent] = true;
+            agents[insertion.agent].insert(orders.get(insertion.order), orderNodes.get(insertion.order), insertion.cost);
+            progress = true;
+        }
+        return progress;
+    }
+
+    /**
+     * Marginal cost of giving an order to an agent.
+     */
+    private static final class Insertion {
+        private final double cost;
+        private final int order;
+        private final int agent;
+
+        Insertion(double cost, int order, int agent) {
+            this.cost = cost;
+            this.order = order;
+            this.agent = agent;
+        }
+    }
+
+    /**
+     * Per-agent assignment state. Mutated by at most one thread at a time: evaluation tasks
+     * only run between commit phases, which happen on the calling thread.
+     */
+    private final class AgentState {
+
+        private final AgentAssignment assignment;
+        private final List<Order> orders;
+        private final List<VisitNode> nodes;
+        private final List<Integer> candidateOrders = new ArrayList<>();
+        private double[] insertionCosts = new double[0];
+        private double routeTime = Double.NaN;
+        private boolean changed = true;
+
+        AgentState(AgentAssignment assignment) {
+            this.assignment = assignment;
+            this.orders = new ArrayList<>(assignment.getOrders());
+            this.nodes = new ArrayList<>(INSTANCE.mapOrdersToVisitNodes(orders));
+        }
+
+        void evaluate(List<List<VisitNode>> orderNodes, boolean[] assigned) {
+            if (Double.isNaN(routeTime)) {
+                routeTime = routeTime(nodes);
+            }
+            insertionCosts = new double[candidateOrders.size()];
+            Arrays.fill(insertionCosts, Double.POSITIVE_INFINITY);
+            if (orders.size() >= config.getMaxOrdersPerAgent()) return;
+
+            for (int candidate = 0; candidate < candidateOrders.size(); candidate++) {
+                int order = candidateOrders.get(candidate);
+                if (assigned[order]) continue;
+
+                List<VisitNode> extended = new ArrayList<>(nodes.size() + 2);
+                extended.addAll(nodes);
+                extended.addAll(orderNodes.get(order));
+                insertionCosts[candidate] = routeTime(extended) - routeTime;
+            }
+        }
+
+        void insert(Order order, List<VisitNode> orderNodes, double insertionCost) {
+            orders.add(order);
+            nodes.addAll(orderNodes);
+            routeTime += insertionCost;
+            changed = true;
+        }
+
+        private double routeTime(List<VisitNode> routeNodes) {
+            if (routeNodes.isEmpty()) {
+                return 0;
+            }
+            TravelTimeMatrix matrix = TravelTimeMatrix.build(assignment.getAgent().getLocation(), routeNodes, travelEstimator);
+            int[] order = optimizer.computeOptimalOrder(matrix);
+            return order == null ? Double.POSITIVE_INFINITY : matrix.getInstance().completionTime(matrix, order);
+        }
+    }
+}
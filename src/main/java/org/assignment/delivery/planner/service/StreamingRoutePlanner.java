@@ -0,0 +1,399 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.model.Agent;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.AgentPlanResult;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.model.OrderEvent;
+import org.assignment.delivery.planner.service.config.StreamingPlannerConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Plans routes continuously from a stream of {@link OrderEvent}s.
+ *
+ * <p>Accepted orders wait in a bounded queue drained by a single batching thread, which groups
+ * them by {@link StreamingPlannerConfig#getBatchKey()} into micro-batches. A batch is flushed once
+ * it holds {@link StreamingPlannerConfig#getMaxBatchSize()} orders or its first order has waited
+ * {@link StreamingPlannerConfig#getBatchWindow()}, whichever comes first. Flushed batches are
+ * planned on a fixed pool of worker threads: every agent with orders in the batch has its route
+ * re-planned over all of its open orders, and the updated plan is emitted downstream as an
+ * {@link AgentPlanResult}.
+ *
+ * <p>Each agent's batches are queued on the agent and planned by at most one worker at a time,
+ * so plans of the same agent are computed and emitted one at a time, in the order their batches
+ * were flushed. Batches flushed while the agent's previous plan is being computed are merged into
+ * its next plan.
+ *
+ * <p>Backpressure is end to end. When every worker is busy and the pending batch queue is full,
+ * the batching thread plans the batch itself instead of draining new orders; the order queue then
+ * fills up and {@link #submit(OrderEvent)} blocks until there is room again.
+ *
+ * <p>An agent's orders stay open, and part of every later plan of that agent, until they are
+ * {@linkplain #complete(String, Collection) completed}. An agent without open or pending orders is
+ * forgotten, so memory only grows with the orders in flight.
+ *
+ * <p>If the batching thread stops early, e.g. because it was interrupted, the planner closes
+ * itself: further orders are refused and the orders already queued are still planned.
+ */
+public class StreamingRoutePlanner implements AutoCloseable {
+
+    /** Marks the end of the stream in the order queue. */
+    private static final OrderEvent END_OF_STREAM = OrderEvent.builder().build();
+
+    /** How often {@link #close()} checks that the batching thread is still alive while the queue is full. */
+    private static final long CLOSE_POLL_MILLIS = 10;
+
+    private final DeliveryRoutePlanner planner;
+    private final StreamingPlannerConfig config;
+    private final Consumer<AgentPlanResult> downstream;
+    private final BlockingQueue<OrderEvent> orders;
+    private final ThreadPoolExecutor workers;
+    private final Thread batcher;
+    private final Map<String, AgentRoute> routes = new ConcurrentHashMap<>();
+
+    /** Held shared while submitting and exclusively while closing, so no order is queued after the end marker. */
+    private final ReadWriteLock submission = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    /**
+     * Constructs the planner and starts its batching and worker threads.
+     *
+     * @param planner    Planner producing each agent's delivery plan.
+     * @param config     Batching window, batch size and queue limits.
+     * @param downstream Receives every updated plan, or the failure to produce it. Called from the
+     *                   planning threads; it must be thread-safe and should return quickly.
+     */
+    public StreamingRoutePlanner(DeliveryRoutePlanner planner,
+                                 StreamingPlannerConfig config,
+                                 Consumer<AgentPlanResult> downstream) {
+        this.planner = planner;
+        this.config = config;
+        this.downstream = downstream;
+        this.orders = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                config.getWorkerThreads(), config.getWorkerThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getPendingBatchCapacity()),
+                task -> daemon(task, "route-planner-" + workerCount.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.batcher = daemon(this::runBatcher, "order-batcher");
+        this.batcher.start();
+    }
+
+    /**
+     * Accepts an order, waiting for room in the order queue if it is full.
+     *
+     * @param event The order and the agent it is dispatched to.
+     * @throws InterruptedException  If interrupted while waiting for room.
+     * @throws IllegalStateException If the planner has been closed.
+     */
+    public void submit(OrderEvent event) throws InterruptedException {
+        submission.readLock().lock();
+        try {
+            checkOpen();
+            orders.put(event);
+        } finally {
+            submission.readLock().unlock();
+        }
+    }
+
+    /**
+     * Accepts an order, waiting at most {@code timeout} for room in the order queue.
+     *
+     * @param event   The order and the agent it is dispatched to.
+     * @param timeout Longest time to wait for room.
+     * @return {@code false} if the queue stayed full and the order was not accepted.
+     * @throws InterruptedException  If interrupted while waiting for room.
+     * @throws IllegalStateException If the planner has been closed.
+     */
+    public boolean offer(OrderEvent event, Duration timeout) throws InterruptedException {
+        submission.readLock().lock();
+        try {
+            checkOpen();
+            return orders.offer(event, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            submission.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes delivered or cancelled orders from an agent's open orders, so that later plans of the
+     * agent no longer include them. Does not trigger a re-plan.
+     *
+     * @param agentId  The agent the orders were dispatched to.
+     * @param orderIds Identifiers of the orders to remove.
+     */
+    public void complete(String agentId, Collection<String> orderIds) {
+        AgentRoute route = routes.get(agentId);
+        if (route == null) return;
+        synchronized (route) {
+            orderIds.forEach(route.openOrders::remove);
+            retireIfIdle(agentId, route);
+        }
+    }
+
+    /**
+     * @return Number of orders accepted but not yet batched.
+     */
+    public int getQueuedOrders() {
+        return orders.size();
+    }
+
+    /**
+     * Stops accepting orders, flushes every pending batch regardless of its window, and waits until
+     * all of them have been planned and emitted.
+     *
+     * <p>If the calling thread is interrupted while waiting, it stops waiting and returns with its
+     * interrupt flag set. The batching thread still plans and emits every order already accepted.
+     */
+    @Override
+    public void close() {
+        boolean marked = false;
+        try {
+            submission.writeLock().lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    // A batching thread that already stopped drains nothing, so never wait on it for room
+                    while (!marked && batcher.isAlive()) {
+                        marked = orders.offer(END_OF_STREAM, CLOSE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                }
+            } finally {
+                submission.writeLock().unlock();
+            }
+            batcher.join();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            if (!marked) {
+                // No end marker was queued; stopping the batching thread flushes what it holds instead
+                batcher.interrupt();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Streaming planner is closed");
+        }
+    }
+
+    /**
+     * Body of the batching thread. Open batches are kept in creation order, which is also the order
+     * of their deadlines since every batch gets the same window.
+     */
+    private void runBatcher() {
+        Map<Object, Batch> open = new LinkedHashMap<>();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                long wait = open.isEmpty()
+                        ? config.getBatchWindow().toNanos()
+                        : open.values().iterator().next().deadline - System.nanoTime();
+                OrderEvent event = orders.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                if (event == END_OF_STREAM) break;
+
+                if (event != null) {
+                    add(open, event);
+                }
+                flushExpired(open);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        stopAccepting(open);
+        open.values().forEach(batch -> dispatch(batch.events));
+        // Only this thread schedules plans, so the workers can finish once it is done
+        workers.shutdown();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the planner from the batching thread and moves every order still queued into a batch.
+     * Submitters blocked on a full queue hold the shared lock, so the queue is drained until they
+     * are done and the exclusive lock can be taken.
+     */
+    private void stopAccepting(Map<Object, Batch> open) {
+        Lock exclusive = submission.writeLock();
+        while (!exclusive.tryLock()) {
+            drainQueued(open);
+            Thread.yield();
+        }
+        try {
+            closed = true;
+            drainQueued(open);
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    private void drainQueued(Map<Object, Batch> open) {
+        List<OrderEvent> queued = new ArrayList<>();
+        orders.drainTo(queued);
+        for (OrderEvent event : queued) {
+            if (event != END_OF_STREAM) {
+                add(open, event);
+            }
+        }
+    }
+
+    /**
+     * Adds an order to its batch, flushing the batch once it is full.
+     */
+    private void add(Map<Object, Batch> open, OrderEvent event) {
+        Object key = config.getBatchKey().of(event, config);
+        Batch batch = open.computeIfAbsent(key, k -> new Batch(System.nanoTime() + config.getBatchWindow().toNanos()));
+        batch.events.add(event);
+        if (batch.events.size() >= config.getMaxBatchSize()) {
+            open.remove(key);
+            dispatch(batch.events);
+        }
+    }
+
+    private void flushExpired(Map<Object, Batch> open) {
+        long now = System.nanoTime();
+        Iterator<Batch> batches = open.values().iterator();
+        while (batches.hasNext()) {
+            Batch batch = batches.next();
+            if (batch.deadline - now > 0) break;
+            batches.remove();
+            dispatch(batch.events);
+        }
+    }
+
+    /**
+     * Queues a flushed batch on every agent with orders in it, scheduling a re-plan for each agent
+     * that is not already being planned. Only called from the batching thread, so every agent's
+     * queue is in flush order.
+     */
+    private void dispatch(List<OrderEvent> events) {
+        Map<String, List<OrderEvent>> eventsByAgent = new LinkedHashMap<>();
+        for (OrderEvent event : events) {
+            eventsByAgent.computeIfAbsent(event.getAgent().getId(), id -> new ArrayList<>()).add(event);
+        }
+        for (Map.Entry<String, List<OrderEvent>> agentEvents : eventsByAgent.entrySet()) {
+            enqueue(agentEvents.getKey(), agentEvents.getValue());
+        }
+    }
+
+    private void enqueue(String agentId, List<OrderEvent> events) {
+        while (true) {
+            AgentRoute route = routes.computeIfAbsent(agentId, id -> new AgentRoute());
+            boolean schedule;
+            synchronized (route) {
+                // Retired concurrently by complete(); retry with a fresh route
+                if (route.retired) continue;
+                route.pending.addAll(events);
+                schedule = !route.scheduled;
+                route.scheduled = true;
+            }
+            if (schedule) {
+                workers.execute(() -> plan(agentId, route));
+            }
+            return;
+        }
+    }
+
+    /**
+     * Re-plans an agent over all of its open orders until no batch is pending for it. Only one
+     * call per agent runs at a time.
+     */
+    private void plan(String agentId, AgentRoute route) {
+        while (true) {
+            AgentAssignment assignment;
+            synchronized (route) {
+                if (route.pending.isEmpty()) {
+                    route.scheduled = false;
+                    retireIfIdle(agentId, route);
+                    return;
+                }
+                for (OrderEvent event : route.pending) {
+                    // The latest event carries the agent's most recent location
+                    route.agent = event.getAgent();
+                    route.openOrders.put(event.getOrder().getOrderId(), event.getOrder());
+                }
+                route.pending.clear();
+                assignment = AgentAssignment.builder()
+                        .agent(route.agent)
+                        .orders(new ArrayList<>(route.openOrders.values()))
+                        .build();
+            }
+            emit(planner.planRoutes(List.of(assignment), Runnable::run).get(0));
+        }
+    }
+
+    /**
+     * Forgets an agent with nothing left to plan. The caller holds the route's monitor.
+     */
+    private void retireIfIdle(String agentId, AgentRoute route) {
+        if (!route.scheduled && route.openOrders.isEmpty()) {
+            route.retired = true;
+            routes.remove(agentId, route);
+        }
+    }
+
+    /**
+     * Hands a result downstream. An exception thrown by the consumer is reported to the thread's
+     * uncaught exception handler rather than stopping the stream.
+     */
+    private void emit(AgentPlanResult result) {
+        try {
+            downstream.accept(result);
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Orders collected for one key since its batch was opened.
+     */
+    private static final class Batch {
+        private final long deadline;
+        private final List<OrderEvent> events = new ArrayList<>();
+
+        Batch(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * An agent's open orders and the flushed orders waiting to be planned. Guarded by its own monitor.
+     */
+    private static final class AgentRoute {
+        private Agent agent;
+        private final Map<String, Order> openOrders = new LinkedHashMap<>();
+        private final List<OrderEvent> pending = new ArrayList<>();
+        /** Whether a worker is planning, or about to plan, this agent */
+        private boolean scheduled;
+        /** Whether the route was removed from the map; a retired route is never used again */
+        private boolean retired;
+    }
+}
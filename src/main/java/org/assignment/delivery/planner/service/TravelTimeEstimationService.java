@@ -40,6 +40,18 @@ public class TravelTimeEstimationService {
         return distanceCalculator.calculateDistance(from, to);
     }
 
+    /**
+     * Calculates the distance in kilometers between two geo-locations using the primitive
+     * distance API, so no intermediate {@link Distance} is allocated.
+     *
+     * @param from the source location
+     * @param to the destination location
+     * @return the distance in kilometers
+     */
+    public double distanceKm(GeoLocation from, GeoLocation to) {
+        return distanceCalculator.distanceKm(from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude());
+    }
+
     /**
      * Estimates the travel time in minutes between two geo-locations.
      *
@@ -48,7 +60,149 @@ public class TravelTimeEstimationService {
      * @return estimated time in minutes
      */
     public double estimateTime(GeoLocation from, GeoLocation to) {
-        Distance distance = getDistanceInKm(from, to);
-        return timeEstimator.estimateTimeInMinutes(distance);
+        return estimateTime(from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude());
+    }
+
+    /**
+     * Estimates the travel time in minutes between two coordinates using the primitive
+     * distance and time APIs, so no intermediate {@link Distance} is allocated.
+     *
+     * @param fromLatitude  latitude of the source location
+     * @param fromLongitude longitude of the source location
+     * @param toLatitude    latitude of the destination location
+     * @param toLongitude   longitude of the destination location
+     * @return estimated time in minutes
+     */
+    public double estimateTime(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        return timeEstimator.minutes(distanceCalculator.distanceKm(fromLatitude, fromLongitude, toLatitude, toLongitude));
+    }
+
+    /**
+     * Estimates the travel times in minutes from one location to many destinations given as
+     * parallel coordinate arrays, using the batch distance and time APIs.
+     *
+     * @param from       the source location
+     * @param latitudes  latitudes of the destinations
+     * @param longitudes longitudes of the destinations
+     * @param times      receives, in its first {@code latitudes.length} entries, the estimated
+     *                   time in minutes to each destination
+     */
+    public void estimateTimes(GeoLocation from, double[] latitudes, double[] longitudes, double[] times) {
+        estimateTimes(from.getLatitude(), from.getLongitude(), latitudes, longitudes, times);
+    }
+
+    /**
+     * Estimates the travel times in minutes from one coordinate to many destinations given as
+     * parallel coordinate arrays, using the batch distance and time APIs.
+     *
+     * @param fromLatitude  latitude of the source location
+     * @param fromLongitude longitude of the source location
+     * @param latitudes     latitudes of the destinations
+     * @param longitudes    longitudes of the destinations
+     * @param times         receives, in its first {@code latitudes.length} entries, the estimated
+     *                      time in minutes to each destination
+     */
+    public void estimateTimes(double fromLatitude, double fromLongitude,
+                              double[] latitudes, double[] longitudes, double[] times) {
+        distanceCalculator.distancesKm(fromLatitude, fromLongitude, latitudes, longitudes, times);
+        timeEstimator.minutes(times, times, latitudes.length);
+    }
+
+    /**
+     * Estimates the travel times in minutes between every pair of sources and destinations given
+     * as parallel coordinate arrays, using the all-pairs distance API so per-destination work is
+     * done once rather than once per source.
+     *
+     * @param fromLatitudes  latitudes of the sources
+     * @param fromLongitudes longitudes of the sources
+     * @param latitudes      latitudes of the destinations
+     * @param longitudes     longitudes of the destinations
+     * @param times          receives, in row {@code i}, the estimated time in minutes from source
+     *                       {@code i} to each destination
+     */
+    public void estimateTimes(double[] fromLatitudes, double[] fromLongitudes,
+                              double[] latitudes, double[] longitudes, double[][] times) {
+        distanceCalculator.distancesKm(fromLatitudes, fromLongitudes, latitudes, longitudes, times);
+        for (int from = 0; from < fromLatitudes.length; from++) {
+            timeEstimator.minutes(times[from], times[from], latitudes.length);
+        }
+    }
+
+    /**
+     * Computes the distances in kilometers from one coordinate to many destinations.
+     *
+     * @param fromLatitude  latitude of the source location
+     * @param fromLongitude longitude of the source location
+     * @param latitudes     latitudes of the destinations
+     * @param longitudes    longitudes of the destinations
+     * @param distancesKm   receives, in its first {@code latitudes.length} entries, the distance to each destination
+     */
+    public void distancesKm(double fromLatitude, double fromLongitude,
+                            double[] latitudes, double[] longitudes, double[] distancesKm) {
+        distanceCalculator.distancesKm(fromLatitude, fromLongitude, latitudes, longitudes, distancesKm);
+    }
+
+    /**
+     * Computes the distances in kilometers between every pair of sources and destinations.
+     *
+     * @param fromLatitudes  latitudes of the sources
+     * @param fromLongitudes longitudes of the sources
+     * @param latitudes      latitudes of the destinations
+     * @param longitudes     longitudes of the destinations
+     * @param distancesKm    receives, in row {@code i}, the distance from source {@code i} to each destination
+     */
+    public void distancesKm(double[] fromLatitudes, double[] fromLongitudes,
+                            double[] latitudes, double[] longitudes, double[][] distancesKm) {
+        distanceCalculator.distancesKm(fromLatitudes, fromLongitudes, latitudes, longitudes, distancesKm);
+    }
+
+    /**
+     * @return {@code true} if travel times depend on where and when a trip starts
+     * @see TimeEstimator#isTimeDependent()
+     */
+    public boolean isTimeDependent() {
+        return timeEstimator.isTimeDependent();
+    }
+
+    /**
+     * @return the current time of day in minutes since midnight
+     * @see TimeEstimator#currentMinuteOfDay()
+     */
+    public double currentMinuteOfDay() {
+        return timeEstimator.currentMinuteOfDay();
+    }
+
+    /**
+     * @param latitude  latitude of a trip's origin
+     * @param longitude longitude of a trip's origin
+     * @return the zone whose speeds apply to trips starting there
+     * @see TimeEstimator#zoneOf(double, double)
+     */
+    public int zoneOf(double latitude, double longitude) {
+        return timeEstimator.zoneOf(latitude, longitude);
+    }
+
+    /**
+     * Estimates the travel time in minutes between two geo-locations for a trip leaving at a given time.
+     *
+     * @param from        the source location
+     * @param to          the destination location
+     * @param minuteOfDay departure time in minutes since midnight
+     * @return estimated time in minutes
+     */
+    public double estimateTimeAt(GeoLocation from, GeoLocation to, double minuteOfDay) {
+        return estimateTimeAt(distanceKm(from, to), zoneOf(from.getLatitude(), from.getLongitude()), minuteOfDay);
+    }
+
+    /**
+     * Estimates the travel time in minutes of a trip of known length starting in a zone at a given time.
+     *
+     * @param distanceKm  the distance to travel in kilometers
+     * @param zone        zone of the trip's origin, from {@link #zoneOf(double, double)}
+     * @param minuteOfDay departure time in minutes since midnight
+     * @return estimated time in minutes
+     */
+    public double estimateTimeAt(double distanceKm, int zone, double minuteOfDay) {
+        return timeEstimator.minutes(distanceKm, zone, minuteOfDay);
     }
 }
@@ -0,0 +1,31 @@
+package org.assignment.delivery.planner.service.config;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.assignment.delivery.planner.spatial.SpatialIndexType;
+
+/**
+ * Tuning parameters for {@code OrderAssignmentService}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class AssignmentConfig {
+
+    public static final AssignmentConfig DEFAULT = AssignmentConfig.builder().build();
+
+    /** Number of agents nearest to an order's restaurant whose insertion cost is evaluated. */
+    @Builder.Default
+    private final int candidateAgents = 8;
+
+    /** Agents farther than this from an order's restaurant are never considered for it. */
+    @Builder.Default
+    private final double maxCandidateDistanceKm = Double.POSITIVE_INFINITY;
+
+    /** Largest number of orders, including already assigned ones, an agent may carry. */
+    @Builder.Default
+    private final int maxOrdersPerAgent = 5;
+
+    /** Index used to find the agents nearest to each order. */
+    @Builder.Default
+    private final SpatialIndexType spatialIndexType = SpatialIndexType.GRID;
+}
@@ -0,0 +1,36 @@
+package org.assignment.delivery.planner.service.config;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.OrderEvent;
+
+/**
+ * How {@code StreamingRoutePlanner} groups incoming orders into micro-batches.
+ */
+public enum BatchKey {
+
+    /** One batch per agent; each flush re-plans a single route. */
+    AGENT,
+
+    /**
+     * One batch per zone, a square cell of {@link StreamingPlannerConfig#getZoneCellDegrees()}
+     * around the order's restaurant; a flush re-plans every agent with orders in the zone.
+     */
+    ZONE;
+
+    /**
+     * Computes the batch an event belongs to.
+     *
+     * @param event  The incoming order event.
+     * @param config Supplies the zone cell size.
+     * @return A key equal for, and only for, events of the same batch.
+     */
+    public Object of(OrderEvent event, StreamingPlannerConfig config) {
+        if (this == AGENT) {
+            return event.getAgent().getId();
+        }
+        GeoLocation restaurant = event.getOrder().getRestaurant().getAddress().getLocation();
+        long row = (long) Math.floor(restaurant.getLatitude() / config.getZoneCellDegrees());
+        long column = (long) Math.floor(restaurant.getLongitude() / config.getZoneCellDegrees());
+        return row << 32 ^ (column & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,25 @@
+package org.assignment.delivery.planner.service.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Decides when {@code IncrementalRoutePlanner} follows a cheap insertion with a full re-optimization.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class IncrementalPlanningConfig {
+
+    public static final IncrementalPlanningConfig DEFAULT = IncrementalPlanningConfig.builder().build();
+
+    /** Re-optimize once this many orders have been inserted since the last full optimization. */
+    @Builder.Default
+    private final int reoptimizeAfterInsertions = 4;
+
+    /**
+     * Re-optimize when a single insertion lengthens the route by more than this fraction of its
+     * previous completion time, a sign that the existing order of stops no longer fits.
+     */
+    @Builder.Default
+    private final double reoptimizeCostRatio = 0.5;
+}
@@ -0,0 +1,47 @@
+package org.assignment.delivery.planner.service.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Micro-batching and backpressure limits of {@code StreamingRoutePlanner}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class StreamingPlannerConfig {
+
+    public static final StreamingPlannerConfig DEFAULT = StreamingPlannerConfig.builder().build();
+
+    /** How long the first order of a batch may wait for others before the batch is planned. */
+    @Builder.Default
+    private final Duration batchWindow = Duration.ofMillis(200);
+
+    /** A batch is planned as soon as it holds this many orders, without waiting for its window. */
+    @Builder.Default
+    private final int maxBatchSize = 16;
+
+    /** Orders accepted but not yet batched; submitters block once the queue is full. */
+    @Builder.Default
+    private final int queueCapacity = 10_000;
+
+    /** Threads planning flushed batches. */
+    @Builder.Default
+    private final int workerThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Flushed batches waiting for a worker. When full, the batching thread plans the batch itself
+     * and stops draining the order queue, which in turn blocks submitters.
+     */
+    @Builder.Default
+    private final int pendingBatchCapacity = 64;
+
+    /** Criterion grouping orders into batches. */
+    @Builder.Default
+    private final BatchKey batchKey = BatchKey.AGENT;
+
+    /** Side of a {@link BatchKey#ZONE} cell, in degrees of latitude and longitude. */
+    @Builder.Default
+    private final double zoneCellDegrees = 0.05;
+}
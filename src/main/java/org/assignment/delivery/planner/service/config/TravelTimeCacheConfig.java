@@ -0,0 +1,39 @@
+package org.assignment.delivery.planner.service.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Tuning parameters for {@code CachingTravelTimeEstimationService}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class TravelTimeCacheConfig {
+
+    /** System property that, set to {@code true}, enables the cache by default. */
+    public static final String ENABLED_PROPERTY = "planner.travelTimeCache.enabled";
+
+    public static final TravelTimeCacheConfig DEFAULT = TravelTimeCacheConfig.builder().build();
+
+    /**
+     * Whether travel time estimates are cached at all. Defaults to the value of
+     * {@link #ENABLED_PROPERTY}, which is off when unset.
+     */
+    @Builder.Default
+    private final boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /** Maximum number of cached (source, destination) pairs across all stripes. */
+    @Builder.Default
+    private final int maximumSize = 100_000;
+
+    /**
+     * Coordinates are rounded to multiples of this many degrees to form cache keys. The default
+     * of 1e-5 degrees is about 1.1 m, far below the precision of a travel time estimate.
+     */
+    @Builder.Default
+    private final double quantizationDegrees = 1e-5;
+
+    /** Number of independently locked cache segments; rounded up to a power of two. */
+    @Builder.Default
+    private final int stripes = 16;
+}
@@ -0,0 +1,52 @@
+package org.assignment.delivery.planner.spatial;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Base class holding the projected coordinates shared by the {@link SpatialIndex} implementations.
+ */
+abstract class AbstractSpatialIndex implements SpatialIndex {
+
+    protected final LocalProjection projection;
+    protected final double[] xs;
+    protected final double[] ys;
+
+    protected AbstractSpatialIndex(List<GeoLocation> locations) {
+        this.projection = LocalProjection.around(locations);
+        this.xs = new double[locations.size()];
+        this.ys = new double[locations.size()];
+        for (int position = 0; position < xs.length; position++) {
+            xs[position] = projection.x(locations.get(position));
+            ys[position] = projection.y(locations.get(position));
+        }
+    }
+
+    @Override
+    public int size() {
+        return xs.length;
+    }
+
+    protected double squaredDistance(int position, double x, double y) {
+        double dx = xs[position] - x;
+        double dy = ys[position] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Orders the first {@code count} positions of {@code positions} by distance from the point.
+     */
+    protected int[] sortByDistance(int[] positions, int count, double x, double y) {
+        NeighbourHeap heap = new NeighbourHeap(count);
+        for (int i = 0; i < count; i++) {
+            heap.offer(squaredDistance(positions[i], x, y), positions[i]);
+        }
+        return heap.toSortedPositions();
+    }
+
+    protected static int[] grow(int[] positions) {
+        return Arrays.copyOf(positions, Math.max(8, positions.length * 2));
+    }
+}
@@ -0,0 +1,120 @@
+package org.assignment.delivery.planner.spatial;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+
+import java.util.List;
+
+/**
+ * {@link SpatialIndex} backed by a balanced 2-d tree.
+ *
+ * <p>The tree is implicit: positions are arranged in one array so that the median of every
+ * sub-range is its splitting node, alternating between the x and y axes by depth. Queries
+ * descend into the half containing the query point first and only visit the other half when
+ * the splitting plane is closer than the current k-th result (or the search radius).
+ */
+public class KdTreeIndex extends AbstractSpatialIndex {
+
+    private final int[] tree;
+
+    /**
+     * Builds a tree over the given locations.
+     *
+     * @param locations Locations to index.
+     */
+    public KdTreeIndex(List<GeoLocation> locations) {
+        super(locations);
+        this.tree = new int[xs.length];
+        for (int position = 0; position < tree.length; position++) {
+            tree[position] = position;
+        }
+        build(0, tree.length, 0);
+    }
+
+    @Override
+    public int[] nearest(GeoLocation location, int k) {
+        NeighbourHeap heap = new NeighbourHeap(Math.max(0, Math.min(k, size())));
+        if (heap.isFull()) {
+            return heap.toSortedPositions();
+        }
+        nearest(0, tree.length, 0, projection.x(location), projection.y(location), heap);
+        return heap.toSortedPositions();
+    }
+
+    @Override
+    public int[] withinRadius(GeoLocation location, double radiusKm) {
+        double x = projection.x(location);
+        double y = projection.y(location);
+        int[][] found = {new int[8]};
+        int count = withinRadius(0, tree.length, 0, x, y, radiusKm, found, 0);
+        return sortByDistance(found[0], count, x, y);
+    }
+
+    private void build(int from, int to, int depth) {
+        if (to - from <= 1) return;
+        int median = (from + to) >>> 1;
+        select(from, to - 1, median, depth % 2 == 0 ? xs : ys);
+        build(from, median, depth + 1);
+        build(median + 1, to, depth + 1);
+    }
+
+    /**
+     * Quickselect: arranges {@code tree[low..high]} so that position {@code k} holds the element
+     * that would be there if the range were sorted by {@code coordinates}.
+     */
+    private void select(int low, int high, int k, double[] coordinates) {
+        while (low < high) {
+            double pivot = coordinates[tree[(low + high) >>> 1]];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (coordinates[tree[i]] < pivot) i++;
+                while (coordinates[tree[j]] > pivot) j--;
+                if (i <= j) {
+                    int swap = tree[i];
+                    tree[i++] = tree[j];
+                    tree[j--] = swap;
+                }
+            }
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void nearest(int from, int to, int depth, double x, double y, NeighbourHeap heap) {
+        if (from >= to) return;
+        int median = (from + to) >>> 1;
+        int position = tree[median];
+        heap.offer(squaredDistance(position, x, y), position);
+
+        double offset = depth % 2 == 0 ? x - xs[position] : y - ys[position];
+        boolean lowerFirst = offset < 0;
+        nearest(lowerFirst ? from : median + 1, lowerFirst ? median : to, depth + 1, x, y, heap);
+        if (offset * offset <= heap.worstDistance()) {
+            nearest(lowerFirst ? median + 1 : from, lowerFirst ? to : median, depth + 1, x, y, heap);
+        }
+    }
+
+    private int withinRadius(int from, int to, int depth, double x, double y, double radius, int[][] found, int count) {
+        if (from >= to) return count;
+        int median = (from + to) >>> 1;
+        int position = tree[median];
+        if (squaredDistance(position, x, y) <= radius * radius) {
+            if (count == found[0].length) found[0] = grow(found[0]);
+            found[0][count++] = position;
+        }
+
+        double offset = depth % 2 == 0 ? x - xs[position] : y - ys[position];
+        if (offset <= radius) {
+            count = withinRadius(from, median, depth + 1, x, y, radius, found, count);
+        }
+        if (offset >= -radius) {
+            count = withinRadius(median + 1, to, depth + 1, x, y, radius, found, count);
+        }
+        return count;
+    }
+}
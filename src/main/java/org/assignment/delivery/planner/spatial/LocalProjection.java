@@ -0,0 +1,45 @@
+package org.assignment.delivery.planner.spatial;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+
+import java.util.List;
+
+/**
+ * Equirectangular projection of latitude/longitude to planar kilometres around a reference
+ * latitude: {@code x = R * lon * cos(lat0)}, {@code y = R * lat}.
+ *
+ * <p>Over a city-sized area the scale error is bounded by the change of {@code cos(lat)}
+ * across it, well under one percent, which is accurate enough to rank candidates.
+ */
+final class LocalProjection {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final double kmPerDegreeLongitude;
+    private final double kmPerDegreeLatitude;
+
+    private LocalProjection(double referenceLatitude) {
+        this.kmPerDegreeLatitude = Math.toRadians(EARTH_RADIUS_KM);
+        this.kmPerDegreeLongitude = kmPerDegreeLatitude * Math.cos(Math.toRadians(referenceLatitude));
+    }
+
+    /**
+     * @param locations Locations the projection should be accurate for.
+     * @return A projection centred on the mean latitude of {@code locations}.
+     */
+    static LocalProjection around(List<GeoLocation> locations) {
+        double latitudeSum = 0;
+        for (GeoLocation location : locations) {
+            latitudeSum += location.getLatitude();
+        }
+        return new LocalProjection(locations.isEmpty() ? 0 : latitudeSum / locations.size());
+    }
+
+    double x(GeoLocation location) {
+        return location.getLongitude() * kmPerDegreeLongitude;
+    }
+
+    double y(GeoLocation location) {
+        return location.getLatitude() * kmPerDegreeLatitude;
+    }
+}
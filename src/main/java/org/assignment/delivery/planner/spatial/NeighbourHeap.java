@@ -0,0 +1,96 @@
+package org.assignment.delivery.planner.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Bounded max-heap of the {@code k} closest (squared distance, position) pairs seen so far,
+ * ordered so that the farthest kept candidate is on top. Ties are broken by position.
+ */
+final class NeighbourHeap {
+
+    private final double[] distances;
+    private final int[] positions;
+    private int size;
+
+    NeighbourHeap(int capacity) {
+        this.distances = new double[capacity];
+        this.positions = new int[capacity];
+    }
+
+    boolean isFull() {
+        return size == distances.length;
+    }
+
+    /**
+     * @return Squared distance of the farthest kept candidate, or infinity while not full.
+     */
+    double worstDistance() {
+        return isFull() && size > 0 ? distances[0] : Double.POSITIVE_INFINITY;
+    }
+
+    void offer(double distance, int position) {
+        if (distances.length == 0) return;
+        if (!isFull()) {
+            int child = size++;
+            distances[child] = distance;
+            positions[child] = position;
+            siftUp(child);
+        } else if (before(distance, position, distances[0], positions[0])) {
+            distances[0] = distance;
+            positions[0] = position;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return Kept positions ordered by increasing distance.
+     */
+    int[] toSortedPositions() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> before(distances[a], positions[a], distances[b], positions[b]) ? -1 : 1);
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = positions[order[i]];
+        }
+        return sorted;
+    }
+
+    private void siftUp(int child) {
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (!before(distances[parent], positions[parent], distances[child], positions[child])) return;
+            swap(parent, child);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int parent) {
+        while (true) {
+            int largest = parent;
+            for (int child = 2 * parent + 1; child <= 2 * parent + 2 && child < size; child++) {
+                if (before(distances[largest], positions[largest], distances[child], positions[child])) {
+                    largest = child;
+                }
+            }
+            if (largest == parent) return;
+            swap(parent, largest);
+            parent = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+        int position = positions[a];
+        positions[a] = positions[b];
+        positions[b] = position;
+    }
+
+    static boolean before(double distanceA, int positionA, double distanceB, int positionB) {
+        return distanceA < distanceB || (distanceA == distanceB && positionA < positionB);
+    }
+}
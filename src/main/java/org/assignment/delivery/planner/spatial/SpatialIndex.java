@@ -0,0 +1,38 @@
+package org.assignment.delivery.planner.spatial;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+
+/**
+ * Index over a fixed list of {@link GeoLocation}s answering nearest-neighbour and radius queries,
+ * so callers can restrict work to nearby candidates instead of scanning every location.
+ *
+ * <p>Results are positions in the list the index was built from, ordered by increasing distance
+ * (ties by position). Distances are planar kilometres in a {@link LocalProjection} of the indexed
+ * locations; at city scale they are within a fraction of a percent of the great-circle distance,
+ * so callers that need exact distances should re-check the returned candidates.
+ */
+public interface SpatialIndex {
+
+    /**
+     * @return Number of indexed locations.
+     */
+    int size();
+
+    /**
+     * Finds the locations closest to a point.
+     *
+     * @param location The query point.
+     * @param k        Maximum number of results.
+     * @return Positions of up to {@code k} nearest locations, nearest first.
+     */
+    int[] nearest(GeoLocation location, int k);
+
+    /**
+     * Finds every location within a distance of a point.
+     *
+     * @param location The query point.
+     * @param radiusKm Search radius in kilometres.
+     * @return Positions of the locations within the radius, nearest first.
+     */
+    int[] withinRadius(GeoLocation location, double radiusKm);
+}
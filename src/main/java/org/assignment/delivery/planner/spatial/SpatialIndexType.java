@@ -0,0 +1,27 @@
+package org.assignment.delivery.planner.spatial;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+
+import java.util.List;
+
+/**
+ * Available {@link SpatialIndex} implementations.
+ */
+public enum SpatialIndexType {
+
+    /** Uniform grid of square cells; cheapest to build and best for evenly spread city data. */
+    GRID,
+
+    /** Balanced k-d tree; more robust when locations are heavily clustered. */
+    KD_TREE;
+
+    /**
+     * Builds an index of this type.
+     *
+     * @param locations Locations to index.
+     * @return A new index over {@code locations}.
+     */
+    public SpatialIndex build(List<GeoLocation> locations) {
+        return this == GRID ? new UniformGridIndex(locations) : new KdTreeIndex(locations);
+    }
+}
@@ -0,0 +1,175 @@
+package org.assignment.delivery.planner.spatial;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+
+import java.util.List;
+
+/**
+ * {@link SpatialIndex} bucketing locations into a uniform grid of square cells.
+ *
+ * <p>The cell size is chosen so that cells hold about {@link #TARGET_PER_CELL} locations on
+ * average, and cell contents are stored contiguously (one counting sort at build time). Nearest
+ * queries visit rings of cells around the query point and stop as soon as no unvisited ring can
+ * contain anything closer than the current k-th result; radius queries only visit the cells
+ * overlapping the query circle's bounding box.
+ */
+public class UniformGridIndex extends AbstractSpatialIndex {
+
+    private static final int TARGET_PER_CELL = 2;
+
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    /** Positions grouped by cell; the cell {@code c} occupies {@code cellStart[c]..cellStart[c + 1]} */
+    private final int[] cellStart;
+    private final int[] cellPositions;
+
+    /**
+     * Builds a grid over the given locations.
+     *
+     * @param locations Locations to index.
+     */
+    public UniformGridIndex(List<GeoLocation> locations) {
+        super(locations);
+        int count = xs.length;
+
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double lowX = Double.POSITIVE_INFINITY;
+        double lowY = Double.POSITIVE_INFINITY;
+        for (int position = 0; position < count; position++) {
+            lowX = Math.min(lowX, xs[position]);
+            lowY = Math.min(lowY, ys[position]);
+            maxX = Math.max(maxX, xs[position]);
+            maxY = Math.max(maxY, ys[position]);
+        }
+        if (count == 0) {
+            lowX = lowY = maxX = maxY = 0;
+        }
+        this.minX = lowX;
+        this.minY = lowY;
+
+        double width = maxX - lowX;
+        double height = maxY - lowY;
+        double cellCount = Math.max(1.0, (double) count / TARGET_PER_CELL);
+        // Never split the longer side into more cells than there are locations, which also keeps
+        // line-shaped extents from producing a huge, mostly empty grid
+        double size = Math.max(Math.sqrt(width * height / cellCount), Math.max(width, height) / cellCount);
+        this.cellSize = size > 0 ? size : 1.0;
+        this.columns = (int) Math.floor(width / cellSize) + 1;
+        this.rows = (int) Math.floor(height / cellSize) + 1;
+
+        this.cellStart = new int[columns * rows + 1];
+        this.cellPositions = new int[count];
+        int[] cellOf = new int[count];
+        for (int position = 0; position < count; position++) {
+            cellOf[position] = cell(column(xs[position]), row(ys[position]));
+            cellStart[cellOf[position] + 1]++;
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] next = cellStart.clone();
+        for (int position = 0; position < count; position++) {
+            cellPositions[next[cellOf[position]]++] = position;
+        }
+    }
+
+    @Override
+    public int[] nearest(GeoLocation location, int k) {
+        int limit = Math.min(k, size());
+        NeighbourHeap heap = new NeighbourHeap(limit);
+        if (limit <= 0) {
+            return heap.toSortedPositions();
+        }
+
+        double x = projection.x(location);
+        double y = projection.y(location);
+        int column = rawColumn(x);
+        int row = rawRow(y);
+        int firstRing = Math.max(outside(column, columns), outside(row, rows));
+        int lastRing = Math.max(Math.max(column, columns - 1 - column), Math.max(row, rows - 1 - row));
+
+        for (int ring = firstRing; ring <= lastRing; ring++) {
+            // Every cell of this ring is at least (ring - 1) cells away along one axis
+            double ringDistance = Math.max(0, ring - 1) * cellSize;
+            if (heap.isFull() && ringDistance * ringDistance > heap.worstDistance()) break;
+
+            for (int c = Math.max(0, column - ring); c <= Math.min(columns - 1, column + ring); c++) {
+                if (Math.abs(c - column) == ring) {
+                    for (int r = Math.max(0, row - ring); r <= Math.min(rows - 1, row + ring); r++) {
+                        offerCell(heap, cell(c, r), x, y);
+                    }
+                } else {
+                    if (row - ring >= 0) offerCell(heap, cell(c, row - ring), x, y);
+                    if (row + ring < rows) offerCell(heap, cell(c, row + ring), x, y);
+                }
+            }
+        }
+        return heap.toSortedPositions();
+    }
+
+    private void offerCell(NeighbourHeap heap, int cell, double x, double y) {
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int position = cellPositions[i];
+            heap.offer(squaredDistance(position, x, y), position);
+        }
+    }
+
+    /**
+     * @return How many cells {@code index} lies outside {@code 0..count - 1}.
+     */
+    private static int outside(int index, int count) {
+        return index < 0 ? -index : Math.max(0, index - count + 1);
+    }
+
+    @Override
+    public int[] withinRadius(GeoLocation location, double radiusKm) {
+        double x = projection.x(location);
+        double y = projection.y(location);
+        double squaredRadius = radiusKm * radiusKm;
+
+        int[] found = new int[8];
+        int count = 0;
+        int fromColumn = Math.max(0, rawColumn(x - radiusKm));
+        int toColumn = Math.min(columns - 1, rawColumn(x + radiusKm));
+        int fromRow = Math.max(0, rawRow(y - radiusKm));
+        int toRow = Math.min(rows - 1, rawRow(y + radiusKm));
+        for (int c = fromColumn; c <= toColumn; c++) {
+            for (int r = fromRow; r <= toRow; r++) {
+                int cell = cell(c, r);
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int position = cellPositions[i];
+                    if (squaredDistance(position, x, y) <= squaredRadius) {
+                        if (count == found.length) found = grow(found);
+                        found[count++] = position;
+                    }
+                }
+            }
+        }
+        return sortByDistance(found, count, x, y);
+    }
+
+    private int rawColumn(double x) {
+        return (int) Math.floor((x - minX) / cellSize);
+    }
+
+    private int rawRow(double y) {
+        return (int) Math.floor((y - minY) / cellSize);
+    }
+
+    private int column(double x) {
+        return Math.min(columns - 1, Math.max(0, rawColumn(x)));
+    }
+
+    private int row(double y) {
+        return Math.min(rows - 1, Math.max(0, rawRow(y)));
+    }
+
+    private int cell(int column, int row) {
+        return row * columns + column;
+    }
+}
@@ -2,7 +2,6 @@ package org.assignment.delivery.planner.time;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
-import org.assignment.delivery.planner.model.Distance;
 
 /**
  * A simple time estimator that calculates travel time based on a constant average speed.
@@ -28,16 +27,34 @@ public class AverageSpeedTimeEstimator extends TimeEstimator {
     /**
      * Estimates the travel time in hours for the given distance.
      *
-     * @param distance the distance to travel
+     * @param distanceKm the distance to travel in kilometers
      * @return estimated time in hours
      */
     @Override
-    public double estimateTimeInHours(Distance distance) {
+    public double estimateTimeInHours(double distanceKm) {
         if(averageSpeedKmPerHour > 0) {
-            return distance.getDistance() / averageSpeedKmPerHour;
+            return distanceKm / averageSpeedKmPerHour;
         } else {
             throw new UnsupportedOperationException("invalid Average Speed passed.");
         }
 
     }
+
+    /**
+     * Converts many distances with a single speed check and a loop the JIT can vectorise.
+     *
+     * @param distancesKm distances in kilometers
+     * @param minutes     receives the travel time in minutes for each distance
+     * @param count       number of leading entries to convert
+     */
+    @Override
+    public void minutes(double[] distancesKm, double[] minutes, int count) {
+        if (!(averageSpeedKmPerHour > 0)) {
+            throw new UnsupportedOperationException("invalid Average Speed passed.");
+        }
+        double speed = averageSpeedKmPerHour;
+        for (int i = 0; i < count; i++) {
+            minutes[i] = distancesKm[i] / speed * 60;
+        }
+    }
 }
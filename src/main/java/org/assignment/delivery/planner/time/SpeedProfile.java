@@ -0,0 +1,250 @@
+package org.assignment.delivery.planner.time;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Table of average travel speeds by zone and time of day.
+ *
+ * <p>Zones are the cells of a uniform latitude/longitude grid of {@code rows x columns} cells of
+ * {@code cellDegrees}, anchored at its south-west corner. The day is split into buckets of
+ * {@code bucketMinutes}. The table stores, for every (zone, bucket), the minutes needed per
+ * kilometer, so that a lookup is an array read and a multiplication. Locations outside the grid
+ * travel at the default speed.
+ *
+ * <p>Tables are loaded from a compact binary file, big-endian:
+ * <pre>
+ * int    magic ('SPDP')      int    version (1)
+ * double minLatitude         double minLongitude      double cellDegrees
+ * int    rows                int    columns           int    bucketMinutes
+ * float  defaultSpeedKmPerHour
+ * float  speedKmPerHour[rows * columns * buckets]     (row-major cells, buckets innermost)
+ * </pre>
+ */
+public final class SpeedProfile {
+
+    private static final int MAGIC = 0x53504450;
+    private static final int VERSION = 1;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Largest number of (zone, bucket) speeds a profile may hold: 64 MB of floats. */
+    public static final int MAX_SPEEDS = 1 << 24;
+
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final int bucketMinutes;
+    private final int buckets;
+    private final float defaultSpeedKmPerHour;
+    private final float[] speedsKmPerHour;
+
+    /** minutesPerKm[zone * buckets + bucket]; the default speed's entries follow the last zone */
+    private final float[] minutesPerKm;
+
+    /**
+     * Creates a speed table.
+     *
+     * @param minLatitude           Latitude of the grid's south edge.
+     * @param minLongitude          Longitude of the grid's west edge.
+     * @param cellDegrees           Side of a zone cell, in degrees.
+     * @param rows                  Number of cell rows, south to north.
+     * @param columns               Number of cell columns, west to east.
+     * @param bucketMinutes         Length of a time-of-day bucket; must divide a day evenly.
+     * @param defaultSpeedKmPerHour Speed outside the grid.
+     * @param speedsKmPerHour       Speed per cell and bucket, row-major with buckets innermost.
+     * @throws IllegalArgumentException if the dimensions are invalid or too large, do not match the
+     *                                  speeds, or a speed is not positive.
+     */
+    public SpeedProfile(double minLatitude, double minLongitude, double cellDegrees, int rows, int columns,
+                        int bucketMinutes, float defaultSpeedKmPerHour, float[] speedsKmPerHour) {
+        int speedCount = speedCount(cellDegrees, rows, columns, bucketMinutes);
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.cellDegrees = cellDegrees;
+        this.rows = rows;
+        this.columns = columns;
+        this.bucketMinutes = bucketMinutes;
+        this.buckets = MINUTES_PER_DAY / bucketMinutes;
+        this.defaultSpeedKmPerHour = defaultSpeedKmPerHour;
+        this.speedsKmPerHour = speedsKmPerHour;
+
+        if (speedsKmPerHour.length != speedCount) {
+            throw new IllegalArgumentException("Expected " + speedCount + " speeds, got " + speedsKmPerHour.length);
+        }
+        // speedCount + buckets <= MAX_SPEEDS + MINUTES_PER_DAY, which cannot overflow
+        this.minutesPerKm = new float[speedCount + buckets];
+        for (int i = 0; i < speedsKmPerHour.length; i++) {
+            minutesPerKm[i] = minutesPerKm(speedsKmPerHour[i]);
+        }
+        float defaultMinutesPerKm = minutesPerKm(defaultSpeedKmPerHour);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            minutesPerKm[speedCount + bucket] = defaultMinutesPerKm;
+        }
+    }
+
+    /**
+     * Loads a table from a file in the format described on the class.
+     *
+     * @param file Binary speed profile.
+     * @return The loaded table.
+     * @throws IOException if the file cannot be read or is not a speed profile.
+     */
+    public static SpeedProfile load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a table in the format described on the class.
+     *
+     * @param in Stream positioned at the start of a speed profile; not closed.
+     * @return The table read.
+     * @throws IOException if the stream cannot be read or does not hold a speed profile.
+     */
+    public static SpeedProfile read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a speed profile");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported speed profile version " + version);
+        }
+        double minLatitude = data.readDouble();
+        double minLongitude = data.readDouble();
+        double cellDegrees = data.readDouble();
+        int rows = data.readInt();
+        int columns = data.readInt();
+        int bucketMinutes = data.readInt();
+        float defaultSpeed = data.readFloat();
+
+        try {
+            // Validated before allocating, so a corrupt header cannot request a huge table
+            float[] speeds = new float[speedCount(cellDegrees, rows, columns, bucketMinutes)];
+            for (int i = 0; i < speeds.length; i++) {
+                speeds[i] = data.readFloat();
+            }
+            return new SpeedProfile(minLatitude, minLongitude, cellDegrees, rows, columns, bucketMinutes, defaultSpeed, speeds);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid speed profile: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validates the dimensions of a profile.
+     *
+     * @return The number of speeds a profile of these dimensions holds.
+     * @throws IllegalArgumentException if a dimension is invalid or the profile would exceed {@link #MAX_SPEEDS}.
+     */
+    private static int speedCount(double cellDegrees, int rows, int columns, int bucketMinutes) {
+        if (!(cellDegrees > 0) || Double.isInfinite(cellDegrees) || rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Speed profile grid must have a positive, finite size");
+        }
+        if (bucketMinutes <= 0 || MINUTES_PER_DAY % bucketMinutes != 0) {
+            throw new IllegalArgumentException("Bucket length must divide a day, got " + bucketMinutes + " minutes");
+        }
+        long speedCount;
+        try {
+            speedCount = Math.multiplyExact(Math.multiplyExact((long) rows, columns), MINUTES_PER_DAY / bucketMinutes);
+        } catch (ArithmeticException e) {
+            speedCount = Long.MAX_VALUE;
+        }
+        if (speedCount > MAX_SPEEDS) {
+            throw new IllegalArgumentException("Speed profile of " + rows + " x " + columns + " cells and "
+                    + MINUTES_PER_DAY / bucketMinutes + " buckets exceeds " + MAX_SPEEDS + " speeds");
+        }
+        return (int) speedCount;
+    }
+
+    /**
+     * Writes this table to a file in the format described on the class.
+     *
+     * @param file Destination; replaced if it exists.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Writes this table in the format described on the class.
+     *
+     * @param out Destination stream; flushed but not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeDouble(minLatitude);
+        data.writeDouble(minLongitude);
+        data.writeDouble(cellDegrees);
+        data.writeInt(rows);
+        data.writeInt(columns);
+        data.writeInt(bucketMinutes);
+        data.writeFloat(defaultSpeedKmPerHour);
+        for (float speed : speedsKmPerHour) {
+            data.writeFloat(speed);
+        }
+        data.flush();
+    }
+
+    /**
+     * @param latitude  Latitude of a location.
+     * @param longitude Longitude of a location.
+     * @return The zone containing the location; locations outside the grid share one extra zone
+     * travelled at the default speed.
+     */
+    public int zoneOf(double latitude, double longitude) {
+        double row = Math.floor((latitude - minLatitude) / cellDegrees);
+        double column = Math.floor((longitude - minLongitude) / cellDegrees);
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return rows * columns;
+        }
+        return (int) row * columns + (int) column;
+    }
+
+    /**
+     * @param minuteOfDay Minutes since midnight; values outside a day wrap around.
+     * @return The time-of-day bucket containing that minute.
+     */
+    public int bucketOf(double minuteOfDay) {
+        int minute = (int) Math.floor(minuteOfDay) % MINUTES_PER_DAY;
+        return (minute < 0 ? minute + MINUTES_PER_DAY : minute) / bucketMinutes;
+    }
+
+    /**
+     * @param zone        A zone returned by {@link #zoneOf(double, double)}.
+     * @param minuteOfDay Minutes since midnight; values outside a day wrap around.
+     * @return Minutes needed to travel one kilometer in that zone at that time.
+     */
+    public double minutesPerKm(int zone, double minuteOfDay) {
+        return minutesPerKm[zone * buckets + bucketOf(minuteOfDay)];
+    }
+
+    /**
+     * @return Speed used outside the grid, in km/h.
+     */
+    public double getDefaultSpeedKmPerHour() {
+        return defaultSpeedKmPerHour;
+    }
+
+    private static float minutesPerKm(float speedKmPerHour) {
+        if (!(speedKmPerHour > 0)) {
+            throw new IllegalArgumentException("Speeds must be positive, got " + speedKmPerHour);
+        }
+        return 60f / speedKmPerHour;
+    }
+}
@@ -0,0 +1,38 @@
+package org.assignment.delivery.planner.time;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+
+/**
+ * Selects the travel speed model loaded at startup.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class SpeedProfileConfig {
+
+    /** System property naming a {@link SpeedProfile} file to load by default. */
+    public static final String PROFILE_FILE_PROPERTY = "planner.speedProfile";
+
+    public static final SpeedProfileConfig DEFAULT = SpeedProfileConfig.builder().build();
+
+    /**
+     * Binary {@link SpeedProfile} to estimate travel times with, or {@code null} to use a constant
+     * speed. Defaults to the file named by {@link #PROFILE_FILE_PROPERTY}, if set.
+     */
+    @Nullable
+    @Builder.Default
+    private final Path profileFile = System.getProperty(PROFILE_FILE_PROPERTY) == null
+            ? null : Path.of(System.getProperty(PROFILE_FILE_PROPERTY));
+
+    /** Speed used everywhere, all day, when no profile file is configured. */
+    @Builder.Default
+    private final double averageSpeedKmPerHour = 20;
+
+    /** Time zone the profile's time-of-day buckets are expressed in. */
+    @Builder.Default
+    private final ZoneId timeZone = ZoneId.systemDefault();
+}
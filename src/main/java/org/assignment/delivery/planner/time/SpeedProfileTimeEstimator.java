@@ -0,0 +1,60 @@
+package org.assignment.delivery.planner.time;
+
+import java.time.Clock;
+import java.time.LocalTime;
+
+/**
+ * A time estimator whose speed depends on the zone a trip starts in and the time of day, taken
+ * from a preloaded {@link SpeedProfile}, so that routes planned for rush hour get rush-hour ETAs.
+ *
+ * <p>Time-dependent lookups are a zone and bucket index into the profile and a multiplication:
+ * constant time and allocation-free. Callers without a location or departure time, such as
+ * {@link #minutes(double)}, get the profile's default speed.
+ */
+public class SpeedProfileTimeEstimator extends TimeEstimator {
+
+    private final SpeedProfile profile;
+    private final Clock clock;
+
+    /**
+     * Constructs the estimator.
+     *
+     * @param profile speeds by zone and time of day
+     * @param clock   clock, in the profile's time zone, giving the departure time of routes planned now
+     */
+    public SpeedProfileTimeEstimator(SpeedProfile profile, Clock clock) {
+        this.profile = profile;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean isTimeDependent() {
+        return true;
+    }
+
+    @Override
+    public double currentMinuteOfDay() {
+        return LocalTime.now(clock).toNanoOfDay() / 60e9;
+    }
+
+    @Override
+    public int zoneOf(double latitude, double longitude) {
+        return profile.zoneOf(latitude, longitude);
+    }
+
+    @Override
+    public double minutes(double distanceKm, int zone, double minuteOfDay) {
+        return distanceKm * profile.minutesPerKm(zone, minuteOfDay);
+    }
+
+    /**
+     * Estimates the travel time in hours at the profile's default speed.
+     *
+     * @param distanceKm the distance to travel in kilometers
+     * @return estimated time in hours
+     */
+    @Override
+    public double estimateTimeInHours(double distanceKm) {
+        return distanceKm / profile.getDefaultSpeedKmPerHour();
+    }
+}
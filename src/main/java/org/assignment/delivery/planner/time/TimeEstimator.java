@@ -15,15 +15,91 @@ public abstract class TimeEstimator {
      * @return estimated travel time in minutes
      */
     public double estimateTimeInMinutes(Distance distance) {
-        return estimateTimeInHours(distance) * 60;
+        return minutes(distance.getDistance());
     }
 
     /**
      * Estimates travel time in hours based on the given distance.
-     * Subclasses must implement this method.
      *
      * @param distance the distance between two locations
      * @return estimated travel time in hours
      */
-    public abstract double estimateTimeInHours(Distance distance);
+    public double estimateTimeInHours(Distance distance) {
+        return estimateTimeInHours(distance.getDistance());
+    }
+
+    /**
+     * Estimates travel time in minutes for a distance in kilometers, without allocating
+     * a {@link Distance} object.
+     *
+     * @param distanceKm the distance between two locations in kilometers
+     * @return estimated travel time in minutes
+     */
+    public double minutes(double distanceKm) {
+        return estimateTimeInHours(distanceKm) * 60;
+    }
+
+    /**
+     * Converts many distances to travel times in minutes.
+     *
+     * @param distancesKm distances in kilometers
+     * @param minutes     receives the travel time in minutes for each distance; may be the same
+     *                    array as {@code distancesKm}
+     * @param count       number of leading entries to convert
+     */
+    public void minutes(double[] distancesKm, double[] minutes, int count) {
+        for (int i = 0; i < count; i++) {
+            minutes[i] = minutes(distancesKm[i]);
+        }
+    }
+
+    /**
+     * @return {@code true} if travel times depend on where and when a trip starts, in which case
+     * callers should use {@link #minutes(double, int, double)} with the trip's departure time.
+     */
+    public boolean isTimeDependent() {
+        return false;
+    }
+
+    /**
+     * @return The current time of day in minutes since midnight, the departure time of a route
+     * planned now. Only meaningful for time-dependent estimators.
+     */
+    public double currentMinuteOfDay() {
+        return 0;
+    }
+
+    /**
+     * Resolves the zone whose speeds apply to trips starting at a location. Callers resolve a
+     * location once and reuse the zone for every trip starting there.
+     *
+     * @param latitude  latitude of the trip's origin
+     * @param longitude longitude of the trip's origin
+     * @return an opaque zone identifier for {@link #minutes(double, int, double)}
+     */
+    public int zoneOf(double latitude, double longitude) {
+        return 0;
+    }
+
+    /**
+     * Estimates travel time in minutes for a trip starting in the given zone at the given time.
+     * Time-independent estimators ignore the zone and time.
+     *
+     * @param distanceKm  the distance to travel in kilometers
+     * @param zone        zone of the trip's origin, from {@link #zoneOf(double, double)}
+     * @param minuteOfDay departure time in minutes since midnight; may exceed a day
+     * @return estimated travel time in minutes
+     */
+    public double minutes(double distanceKm, int zone, double minuteOfDay) {
+        return minutes(distanceKm);
+    }
+
+    /**
+     * Estimates travel time in hours for a distance in kilometers.
+     * Subclasses must implement this method.
+     *
+     * @param distanceKm the distance between two locations in kilometers
+     * @return estimated travel time in hours
+     */
+    public abstract double estimateTimeInHours(double distanceKm);
 }
@@ -0,0 +1,27 @@
+package org.assignment.delivery.planner.tracing;
+
+import jdk.jfr.EventType;
+
+/**
+ * Emits every span as a {@code org.assignment.delivery.planner.PlanningPhase} JFR event, so phase
+ * timings can be captured in production with {@code jcmd <pid> JFR.start} and inspected in JDK
+ * Mission Control next to GC and lock events.
+ *
+ * <p>When no recording has the event enabled, starting a span is a single flag check returning
+ * the shared {@link TraceSpan#NONE}.
+ */
+public class JfrPlanningTracer implements PlanningTracer {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(PlanningPhaseEvent.class);
+
+    @Override
+    public TraceSpan start(TracePhase phase) {
+        if (!EVENT_TYPE.isEnabled()) {
+            return TraceSpan.NONE;
+        }
+        PlanningPhaseEvent event = new PlanningPhaseEvent();
+        event.phase = phase.name();
+        event.begin();
+        return event;
+    }
+}
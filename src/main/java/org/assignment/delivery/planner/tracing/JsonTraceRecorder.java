@@ -0,0 +1,200 @@
+package org.assignment.delivery.planner.tracing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent spans in memory and writes them as a JSON trace in the Chrome Trace Event
+ * format, which Perfetto, {@code chrome://tracing} and speedscope render as per-thread flame
+ * charts.
+ *
+ * <p>Spans are stored in preallocated parallel arrays used as a ring buffer; once
+ * {@link TracingConfig#getJsonTraceCapacity()} spans have been recorded, each new span replaces
+ * the oldest one. Timestamps are relative to the creation of the recorder. {@link #export()}
+ * writes the trace to the file the recorder was configured with.
+ *
+ * <p>Recording takes no lock: a span claims its slot by incrementing an atomic cursor, and every
+ * slot carries a sequence stamp that {@link #writeTo(Writer)} checks before and after reading the
+ * slot, skipping slots that are being overwritten. Open spans live on a per-thread stack that is
+ * reused from one span to the next, so starting a span does not allocate once a thread's stack
+ * has grown to its nesting depth.
+ */
+public class JsonTraceRecorder implements PlanningTracer {
+
+    private static final TracePhase[] PHASES = TracePhase.values();
+
+    private final long originNanos = System.nanoTime();
+    private final int[] phases;
+    private final long[] startNanos;
+    private final long[] durationNanos;
+    private final long[] threadIds;
+
+    /** Per slot, one more than the sequence number of the span it holds; 0 while being written */
+    private final AtomicLongArray stamps;
+    @Nullable
+    private final Path exportFile;
+    private final AtomicLong cursor = new AtomicLong();
+    private final ThreadLocal<OpenSpans> openSpans = ThreadLocal.withInitial(OpenSpans::new);
+
+    /**
+     * Constructs a recorder that keeps its trace in memory only.
+     *
+     * @param capacity Number of most recent spans kept.
+     */
+    public JsonTraceRecorder(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Constructs a recorder.
+     *
+     * @param capacity   Number of most recent spans kept.
+     * @param exportFile File {@link #export()} writes the trace to, or {@code null} for none.
+     */
+    public JsonTraceRecorder(int capacity, @Nullable Path exportFile) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Trace capacity must be positive: " + capacity);
+        }
+        this.phases = new int[capacity];
+        this.startNanos = new long[capacity];
+        this.durationNanos = new long[capacity];
+        this.threadIds = new long[capacity];
+        this.stamps = new AtomicLongArray(capacity);
+        this.exportFile = exportFile;
+    }
+
+    @Override
+    public TraceSpan start(TracePhase phase) {
+        return openSpans.get().push(phase, System.nanoTime());
+    }
+
+    /**
+     * Writes the held spans to the configured export file, if any.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void export() throws IOException {
+        if (exportFile != null) {
+            writeTo(exportFile);
+        }
+    }
+
+    /**
+     * @return Number of spans recorded so far, capped at the capacity.
+     */
+    public int size() {
+        return (int) Math.min(cursor.get(), phases.length);
+    }
+
+    /**
+     * Writes the held spans to a file, replacing it.
+     *
+     * @param file File to write.
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeTo(writer);
+        }
+    }
+
+    /**
+     * Writes the held spans as a JSON trace, ordered by start time with enclosing spans first.
+     * Spans recorded while the trace is being written may or may not be included.
+     *
+     * @param writer Destination of the JSON document; not closed.
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Writer writer) throws IOException {
+        int capacity = phases.length;
+        int[] phases = new int[capacity];
+        long[] starts = new long[capacity];
+        long[] durations = new long[capacity];
+        long[] threads = new long[capacity];
+        int size = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            long stamp = stamps.get(slot);
+            if (stamp == 0) {
+                continue;
+            }
+            phases[size] = this.phases[slot];
+            starts[size] = this.startNanos[slot];
+            durations[size] = this.durationNanos[slot];
+            threads[size] = this.threadIds[slot];
+            VarHandle.acquireFence();
+            if (stamps.get(slot) == stamp) {
+                size++;
+            }
+        }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> starts[i])
+                .thenComparing(Comparator.comparingLong((Integer i) -> durations[i]).reversed()));
+
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        for (int k = 0; k < order.length; k++) {
+            int i = order[k];
+            writer.write(k == 0 ? "\n" : ",\n");
+            writer.write(String.format(Locale.ROOT,
+                    "{\"name\":\"%s\",\"cat\":\"planning\",\"ph\":\"X\",\"pid\":1,\"tid\":%d,\"ts\":%.3f,\"dur\":%.3f}",
+                    PHASES[phases[i]].name(), threads[i], (starts[i] - originNanos) / 1e3, durations[i] / 1e3));
+        }
+        writer.write("\n]}\n");
+    }
+
+    private void record(TracePhase phase, long threadId, long start, long duration) {
+        long sequence = cursor.getAndIncrement();
+        int slot = (int) (sequence % phases.length);
+        // Invalidate the slot before overwriting it, so a concurrent writeTo never mixes two spans
+        stamps.set(slot, 0);
+        VarHandle.releaseFence();
+        phases[slot] = phase.ordinal();
+        startNanos[slot] = start;
+        durationNanos[slot] = duration;
+        threadIds[slot] = threadId;
+        stamps.set(slot, sequence + 1);
+    }
+
+    /**
+     * The spans open on one thread, innermost last. The thread's only {@link TraceSpan}: every
+     * {@link #start(TracePhase)} returns it, and {@link #close()} ends the innermost open span.
+     */
+    private final class OpenSpans implements TraceSpan {
+        private final long threadId = Thread.currentThread().getId();
+        private TracePhase[] phases = new TracePhase[8];
+        private long[] starts = new long[8];
+        private int depth;
+
+        private OpenSpans push(TracePhase phase, long start) {
+            if (depth == phases.length) {
+                phases = Arrays.copyOf(phases, depth * 2);
+                starts = Arrays.copyOf(starts, depth * 2);
+            }
+            phases[depth] = phase;
+            starts[depth] = start;
+            depth++;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            depth--;
+            record(phases[depth], threadId, starts[depth], System.nanoTime() - starts[depth]);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.assignment.delivery.planner.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one phase of a planning call. The event itself is the span, so tracing a
+ * phase costs a single object while a recording is running.
+ */
+@Name(PlanningPhaseEvent.NAME)
+@Label("Planning Phase")
+@Category({"Delivery Planner", "Planning"})
+@Description("Duration of one phase of a route planning call")
+@StackTrace(false)
+class PlanningPhaseEvent extends Event implements TraceSpan {
+
+    static final String NAME = "org.assignment.delivery.planner.PlanningPhase";
+
+    @Label("Phase")
+    String phase;
+
+    @Override
+    public void close() {
+        commit();
+    }
+}
@@ -0,0 +1,30 @@
+package org.assignment.delivery.planner.tracing;
+
+import java.io.IOException;
+
+/**
+ * Times the phases of planning calls as nested spans. Spans started on the same thread while
+ * another is open are nested inside it, so exported traces render as flame graphs.
+ */
+public interface PlanningTracer {
+
+    /** Tracer that records nothing. */
+    PlanningTracer NONE = phase -> TraceSpan.NONE;
+
+    /**
+     * Starts timing a phase on the current thread.
+     *
+     * @param phase Phase being entered.
+     * @return The running span; must be closed on the same thread.
+     */
+    TraceSpan start(TracePhase phase);
+
+    /**
+     * Writes the spans held in memory to the tracer's configured destination. Tracers that
+     * export spans as they end, such as JFR, have nothing to write and do nothing.
+     *
+     * @throws IOException if the destination cannot be written
+     */
+    default void export() throws IOException {
+    }
+}
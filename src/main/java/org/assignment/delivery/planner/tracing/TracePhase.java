@@ -0,0 +1,27 @@
+package org.assignment.delivery.planner.tracing;
+
+/**
+ * Phases of a planning call that are timed as trace spans.
+ *
+ * <ul>
+ *   <li>{@code PLAN_ROUTE} – a whole {@code DeliveryRoutePlanner} call for one agent.</li>
+ *   <li>{@code MAP_ORDERS} – mapping orders to visit nodes.</li>
+ *   <li>{@code OPTIMIZE} – the optimizer call made by {@code RoutePlanningEngine}.</li>
+ *   <li>{@code BUILD_MATRIX} – estimating the travel time matrix, once per planning call.</li>
+ *   <li>{@code EXACT_SEARCH}, {@code BEAM_SEARCH}, {@code GREEDY_SEARCH} – the search run by the
+ *   strategy the adaptive optimizer selected.</li>
+ *   <li>{@code IMPROVE_ROUTE} – local search post-processing.</li>
+ *   <li>{@code RESOLVE_USERS} – resolving the route's visit ids to customers and restaurants.</li>
+ * </ul>
+ */
+public enum TracePhase {
+    PLAN_ROUTE,
+    MAP_ORDERS,
+    OPTIMIZE,
+    BUILD_MATRIX,
+    EXACT_SEARCH,
+    BEAM_SEARCH,
+    GREEDY_SEARCH,
+    IMPROVE_ROUTE,
+    RESOLVE_USERS
+}
@@ -0,0 +1,29 @@
+package org.assignment.delivery.planner.tracing;
+
+/**
+ * A running phase of a planning call, ended by {@link #close()} in a {@code finally} block:
+ *
+ * <pre>{@code
+ * TraceSpan span = tracer.start(TracePhase.OPTIMIZE);
+ * try {
+ *     ...
+ * } finally {
+ *     span.close();
+ * }
+ * }</pre>
+ *
+ * <p>Callers close spans explicitly rather than with try-with-resources, whose resource variable
+ * would go unused in the body and trip {@code -Xlint:try}.
+ */
+public interface TraceSpan extends AutoCloseable {
+
+    /** Span that records nothing; shared, so disabled tracing never allocates. */
+    TraceSpan NONE = () -> {
+    };
+
+    /**
+     * Ends the span and records it.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,46 @@
+package org.assignment.delivery.planner.tracing;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Selects where planning phase spans are exported.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class TracingConfig {
+
+    /** System property naming the {@link TracingMode} to use by default, e.g. {@code json}. */
+    public static final String MODE_PROPERTY = "planner.tracing";
+
+    /** System property naming the file a {@link TracingMode#JSON} trace is exported to by default. */
+    public static final String JSON_TRACE_FILE_PROPERTY = "planner.tracing.jsonFile";
+
+    public static final TracingConfig DEFAULT = TracingConfig.builder().build();
+
+    /**
+     * Span exporter. Defaults to the mode named by {@link #MODE_PROPERTY}, or JFR if unset: its
+     * events cost a flag check unless a recording enables them.
+     */
+    @Builder.Default
+    private final TracingMode mode = TracingMode.valueOf(
+            System.getProperty(MODE_PROPERTY, TracingMode.JFR.name()).toUpperCase(Locale.ROOT));
+
+    /** Number of most recent spans kept in memory in {@link TracingMode#JSON} mode. */
+    @Builder.Default
+    private final int jsonTraceCapacity = 100_000;
+
+    /**
+     * File {@link PlanningTracer#export()} writes the {@link TracingMode#JSON} trace to, or
+     * {@code null} to keep it in memory only. Defaults to the file named by
+     * {@link #JSON_TRACE_FILE_PROPERTY}, if set.
+     */
+    @Nullable
+    @Builder.Default
+    private final Path jsonTraceFile = System.getProperty(JSON_TRACE_FILE_PROPERTY) == null
+            ? null : Path.of(System.getProperty(JSON_TRACE_FILE_PROPERTY));
+}
@@ -0,0 +1,30 @@
+package org.assignment.delivery.planner.tracing;
+
+/**
+ * Span exporters a {@link PlanningTracer} can be built for.
+ *
+ * <ul>
+ *   <li>{@code NONE} – spans are not recorded.</li>
+ *   <li>{@code JFR} – spans are emitted as JFR events; see {@link JfrPlanningTracer}.</li>
+ *   <li>{@code JSON} – spans are kept in memory for a JSON trace file; see {@link JsonTraceRecorder}.</li>
+ * </ul>
+ */
+public enum TracingMode {
+    NONE,
+    JFR,
+    JSON;
+
+    /**
+     * Builds a tracer exporting to this destination.
+     *
+     * @param config Tracing limits and export destination.
+     * @return A new tracer.
+     */
+    public PlanningTracer create(TracingConfig config) {
+        return switch (this) {
+            case NONE -> PlanningTracer.NONE;
+            case JFR -> new JfrPlanningTracer();
+            case JSON -> new JsonTraceRecorder(config.getJsonTraceCapacity(), config.getJsonTraceFile());
+        };
+    }
+}
@@ -27,7 +27,7 @@ public final class MathUtil {
      * @return haversine of the angle
      */
     public static double computeHaversine(double angleRad) {
-        double halfAngle = angleRad / 2.0;
-        return Math.pow(Math.sin(halfAngle), 2);
+        double sinHalfAngle = Math.sin(angleRad / 2.0);
+        return sinHalfAngle * sinHalfAngle;
     }
 }
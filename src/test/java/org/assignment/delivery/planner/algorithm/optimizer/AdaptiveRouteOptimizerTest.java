@@ -0,0 +1,116 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.config.AdaptiveOptimizerConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.config.BeamSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdaptiveRouteOptimizerTest {
+
+    private ExactRouteOptimizer exactOptimizer;
+    private HeuristicRouteOptimizer beamOptimizer;
+    private GreedyRouteOptimizer greedyOptimizer;
+    private AdaptiveRouteOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        exactOptimizer = mock(ExactRouteOptimizer.class);
+        beamOptimizer = mock(HeuristicRouteOptimizer.class);
+        greedyOptimizer = mock(GreedyRouteOptimizer.class);
+        when(beamOptimizer.getConfig()).thenReturn(BeamSearchConfig.DEFAULT);
+
+        AdaptiveOptimizerConfig config = AdaptiveOptimizerConfig.builder()
+                .exactMaxNodes(4)
+                .beamMaxNodes(10)
+                .exactMinBudget(Duration.ofMillis(10))
+                .beamMinBudget(Duration.ofMillis(5))
+                .build();
+        optimizer = new AdaptiveRouteOptimizer(mock(TravelTimeEstimationService.class),
+                exactOptimizer, beamOptimizer, greedyOptimizer, config);
+    }
+
+    @Test
+    void testSelectStrategy_shouldPickAlgorithmBySizeAndBudget() {
+        Duration ample = Duration.ofMillis(40);
+
+        assertEquals(OptimizerStrategy.EXACT, optimizer.selectStrategy(4, ample));
+        assertEquals(OptimizerStrategy.BEAM, optimizer.selectStrategy(5, ample));
+        assertEquals(OptimizerStrategy.BEAM, optimizer.selectStrategy(10, ample));
+        assertEquals(OptimizerStrategy.GREEDY, optimizer.selectStrategy(11, ample));
+
+        // Tight budgets downgrade to cheaper strategies
+        assertEquals(OptimizerStrategy.BEAM, optimizer.selectStrategy(4, Duration.ofMillis(6)));
+        assertEquals(OptimizerStrategy.GREEDY, optimizer.selectStrategy(4, Duration.ofMillis(1)));
+        assertEquals(OptimizerStrategy.GREEDY, optimizer.selectStrategy(4, Duration.ofMillis(-3)));
+    }
+
+    @Test
+    void testComputeOptimalRoute_shouldDelegateAndRecordStrategy() {
+        List<VisitNode> smallBatch = nodes(2);
+        List<VisitNode> mediumBatch = nodes(8);
+        List<VisitNode> largeBatch = nodes(20);
+        TravelTimeMatrix smallMatrix = matrix(smallBatch);
+        TravelTimeMatrix mediumMatrix = matrix(mediumBatch);
+        TravelTimeMatrix largeMatrix = matrix(largeBatch);
+
+        when(exactOptimizer.computeOptimalOrder(smallMatrix)).thenReturn(new int[]{1, 0});
+        when(beamOptimizer.computeOptimalOrder(eq(mediumMatrix), any(BeamSearchConfig.class)))
+                .thenReturn(new int[]{0, 1, 2, 3, 4, 5, 6, 7});
+        when(greedyOptimizer.computeOptimalOrder(largeMatrix)).thenReturn(null);
+
+        assertEquals(List.of(smallBatch.get(1), smallBatch.get(0)),
+                optimizer.computeOptimalRoute(smallMatrix, smallBatch, Duration.ofMillis(40)));
+        assertEquals(mediumBatch, optimizer.computeOptimalRoute(mediumMatrix, mediumBatch, Duration.ofMillis(30)));
+        assertNull(optimizer.computeOptimalRoute(largeMatrix, largeBatch, Duration.ofMillis(40)));
+
+        // The beam search is bounded by the remaining planning budget
+        verify(beamOptimizer).computeOptimalOrder(eq(mediumMatrix),
+                argThat(config -> config.getTimeBudget().equals(Duration.ofMillis(30))));
+
+        assertEquals(1, optimizer.getStatistics().getRuns(OptimizerStrategy.EXACT));
+        assertEquals(1, optimizer.getStatistics().getRuns(OptimizerStrategy.BEAM));
+        assertEquals(1, optimizer.getStatistics().getRuns(OptimizerStrategy.GREEDY));
+    }
+
+    @Test
+    void testComputeOptimalOrder_shouldUseTheSameStrategyAsTheRouteApi() {
+        TravelTimeMatrix matrix = matrix(nodes(2));
+        int[] order = {0, 1};
+        when(greedyOptimizer.computeOptimalOrder(matrix)).thenReturn(order);
+
+        assertSame(order, optimizer.computeOptimalOrder(matrix, Duration.ofMillis(1)));
+        assertEquals(1, optimizer.getStatistics().getRuns(OptimizerStrategy.GREEDY));
+    }
+
+    private static TravelTimeMatrix matrix(List<VisitNode> nodes) {
+        return TravelTimeMatrix.build(GeoLocation.builder().latitude(0).longitude(0).build(), nodes,
+                mock(TravelTimeEstimationService.class));
+    }
+
+    private static List<VisitNode> nodes(int count) {
+        List<VisitNode> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(VisitNode.builder().visitId("N" + i).location(GeoLocation.builder().latitude(0).longitude(i).build()).build());
+        }
+        return nodes;
+    }
+}
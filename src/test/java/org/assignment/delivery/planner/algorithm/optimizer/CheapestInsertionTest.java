@@ -0,0 +1,106 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.PlannedRoute;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNodes;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.assignment.delivery.planner.time.SpeedProfile;
+import org.assignment.delivery.planner.time.SpeedProfileTimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomLocation;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomOrders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheapestInsertionTest {
+
+    private TravelTimeEstimationService travelEstimator;
+    private CheapestInsertion insertion;
+
+    @BeforeEach
+    void setUp() {
+        travelEstimator = new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20));
+        insertion = new CheapestInsertion(travelEstimator);
+    }
+
+    @Test
+    void testInsert_shouldMatchBestOfAllPositionPairs() {
+        assertInsertionMatchesBestOfAllPositionPairs(travelEstimator);
+    }
+
+    @Test
+    void testInsert_withSpeedProfile_shouldMatchBestOfAllPositionPairsPricedAtDeparture() {
+        // 2 x 2 cells over the fixture area, 10 minute buckets whose speeds vary by zone and time
+        float[] speeds = new float[4 * 144];
+        for (int i = 0; i < speeds.length; i++) {
+            speeds[i] = 8 + (i * 7) % 40;
+        }
+        SpeedProfile profile = new SpeedProfile(12.9, 77.5, 0.05, 2, 2, 10, 20, speeds);
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T08:55:00Z"), ZoneOffset.UTC);
+        TravelTimeEstimationService timeDependent = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new SpeedProfileTimeEstimator(profile, clock));
+
+        assertInsertionMatchesBestOfAllPositionPairs(timeDependent);
+    }
+
+    /**
+     * Checks insertions against every position pair scored on a travel time matrix, which prices
+     * legs the same way optimizers do.
+     */
+    private static void assertInsertionMatchesBestOfAllPositionPairs(TravelTimeEstimationService travelEstimator) {
+        CheapestInsertion insertion = new CheapestInsertion(travelEstimator);
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            GeoLocation start = randomLocation(random);
+            List<VisitNode> route = randomOrders(random, 1 + random.nextInt(5));
+            List<VisitNode> newOrder = randomOrders(random, 1);
+            VisitNode restaurant = newOrder.get(0);
+            VisitNode customer = newOrder.get(1);
+
+            PlannedRoute inserted = insertion.insert(PlannedRoute.of(start, route, travelEstimator), restaurant, customer);
+
+            List<VisitNode> allNodes = new ArrayList<>(route);
+            allNodes.addAll(newOrder);
+            TravelTimeMatrix matrix = TravelTimeMatrix.build(start, allNodes, travelEstimator);
+            double bestTime = Double.POSITIVE_INFINITY;
+            for (int restaurantAt = 0; restaurantAt <= route.size(); restaurantAt++) {
+                for (int customerAt = restaurantAt + 1; customerAt <= route.size() + 1; customerAt++) {
+                    List<VisitNode> candidate = new ArrayList<>(route);
+                    candidate.add(restaurantAt, restaurant);
+                    candidate.add(customerAt, customer);
+                    bestTime = Math.min(bestTime, VisitNodes.completionTime(matrix, allNodes, candidate));
+                }
+            }
+
+            assertEquals(bestTime, inserted.getCompletionTime(), 1e-9);
+            assertEquals(bestTime, VisitNodes.completionTime(matrix, allNodes, inserted.getRoute()), 1e-9);
+            assertEquals(1, inserted.getInsertionsSinceOptimization());
+            assertTrue(inserted.getRoute().indexOf(restaurant) < inserted.getRoute().indexOf(customer));
+        }
+    }
+
+    @Test
+    void testInsert_intoEmptyRoute_shouldVisitRestaurantThenCustomer() {
+        Random random = new Random(7);
+        GeoLocation start = randomLocation(random);
+        List<VisitNode> newOrder = randomOrders(random, 1);
+
+        PlannedRoute inserted = insertion.insert(PlannedRoute.of(start, List.of(), travelEstimator), newOrder.get(0), newOrder.get(1));
+
+        assertEquals(newOrder, inserted.getRoute());
+        assertEquals(PlannedRoute.of(start, newOrder, travelEstimator).getCompletionTime(), inserted.getCompletionTime(), 1e-9);
+    }
+}
@@ -0,0 +1,132 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitType;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.assertValidRoute;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomLocation;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomOrders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExactRouteOptimizerTest {
+
+    private TravelTimeEstimationService travelEstimator;
+    private ExactRouteOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        travelEstimator = new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20));
+        optimizer = new ExactRouteOptimizer(travelEstimator);
+    }
+
+    @Test
+    void testComputeOptimalRoute_shouldMatchBruteForceOverAllValidPermutations() {
+        for (int seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            List<VisitNode> nodes = randomOrders(random, 3);
+            TravelTimeMatrix matrix = TravelTimeMatrix.build(randomLocation(random), nodes, travelEstimator);
+
+            List<VisitNode> route = optimizer.computeOptimalRoute(matrix, nodes);
+
+            assertValidRoute(nodes, route);
+            assertEquals(bruteForceBestTime(matrix, nodes), routeTime(matrix, nodes, route), 1e-9);
+        }
+    }
+
+    @Test
+    void testComputeOptimalRoute_shouldNeverBeWorseThanBeamSearch() {
+        HeuristicRouteOptimizer heuristic = new HeuristicRouteOptimizer(travelEstimator);
+        for (int seed = 0; seed < 5; seed++) {
+            Random random = new Random(seed);
+            List<VisitNode> nodes = randomOrders(random, 7);
+            TravelTimeMatrix matrix = TravelTimeMatrix.build(randomLocation(random), nodes, travelEstimator);
+
+            List<VisitNode> exactRoute = optimizer.computeOptimalRoute(matrix, nodes);
+            List<VisitNode> beamRoute = heuristic.computeOptimalRoute(matrix, nodes);
+
+            assertValidRoute(nodes, exactRoute);
+            assertTrue(routeTime(matrix, nodes, exactRoute) <= routeTime(matrix, nodes, beamRoute) + 1e-9);
+        }
+    }
+
+    @Test
+    void testComputeOptimalRoute_withEmptyInput_shouldReturnEmptyRoute() {
+        GeoLocation start = GeoLocation.builder().latitude(0).longitude(0).build();
+
+        assertTrue(optimizer.computeOptimalRoute(start, List.of()).isEmpty());
+    }
+
+    @Test
+    void testComputeOptimalRoute_withTooManyNodes_shouldThrow() {
+        Random random = new Random(1);
+        List<VisitNode> nodes = randomOrders(random, ExactRouteOptimizer.MAX_NODES / 2 + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> optimizer.computeOptimalRoute(randomLocation(random), nodes));
+    }
+
+    private static double bruteForceBestTime(TravelTimeMatrix matrix, List<VisitNode> nodes) {
+        List<List<VisitNode>> permutations = new ArrayList<>();
+        permute(new ArrayList<>(nodes), 0, permutations);
+
+        double best = Double.MAX_VALUE;
+        for (List<VisitNode> permutation : permutations) {
+            if (isValidRoute(permutation)) {
+                best = Math.min(best, routeTime(matrix, nodes, permutation));
+            }
+        }
+        return best;
+    }
+
+    private static void permute(List<VisitNode> nodes, int from, List<List<VisitNode>> out) {
+        if (from == nodes.size()) {
+            out.add(new ArrayList<>(nodes));
+            return;
+        }
+        for (int i = from; i < nodes.size(); i++) {
+            Collections.swap(nodes, from, i);
+            permute(nodes, from + 1, out);
+            Collections.swap(nodes, from, i);
+        }
+    }
+
+    private static double routeTime(TravelTimeMatrix matrix, List<VisitNode> nodes, List<VisitNode> route) {
+        double time = 0;
+        int current = matrix.getStartIndex();
+        for (VisitNode node : route) {
+            int next = nodes.indexOf(node);
+            time += matrix.time(current, next);
+            if (node.getType() == VisitType.RESTAURANT) {
+                time = Math.max(time, node.getAveragePreparationTime());
+            }
+            current = next;
+        }
+        return time;
+    }
+
+    private static boolean isValidRoute(List<VisitNode> route) {
+        Set<VisitNode> visited = new HashSet<>();
+        for (VisitNode node : route) {
+            if (node.getType() == VisitType.CUSTOMER && !visited.contains(node.getPairedNode())) {
+                return false;
+            }
+            visited.add(node);
+        }
+        return true;
+    }
+}
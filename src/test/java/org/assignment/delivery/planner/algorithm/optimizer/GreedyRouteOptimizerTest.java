@@ -0,0 +1,94 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitType;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.assertValidRoute;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomLocation;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomOrders;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GreedyRouteOptimizerTest {
+
+    private TravelTimeEstimationService travelEstimator;
+    private GreedyRouteOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        travelEstimator = new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20));
+        optimizer = new GreedyRouteOptimizer(travelEstimator);
+    }
+
+    @Test
+    void testComputeOptimalRoute_shouldMatchFullScanGreedyAcrossBatchSizes() {
+        // Alternating sizes reuse the thread's scratch buffers after they have grown
+        int[] orderCounts = {30, 2, 50, 7, 30};
+        for (int seed = 0; seed < orderCounts.length; seed++) {
+            Random random = new Random(seed);
+            List<VisitNode> nodes = randomOrders(random, orderCounts[seed]);
+            // Shuffled so that customers may come before their restaurants in index order
+            Collections.shuffle(nodes, random);
+            TravelTimeMatrix matrix = TravelTimeMatrix.build(randomLocation(random), nodes, travelEstimator);
+
+            List<VisitNode> route = optimizer.computeOptimalRoute(matrix, nodes);
+            int[] order = optimizer.computeOptimalOrder(matrix);
+
+            assertValidRoute(nodes, route);
+            assertEquals(fullScanGreedy(matrix, nodes), route);
+            assertArrayEquals(matrix.getInstance().indicesOf(route), order);
+        }
+    }
+
+    @Test
+    void testComputeOptimalRoute_withEmptyInput_shouldReturnEmptyRoute() {
+        GeoLocation start = GeoLocation.builder().latitude(0).longitude(0).build();
+
+        assertTrue(optimizer.computeOptimalRoute(start, List.of()).isEmpty());
+    }
+
+    /**
+     * Reference greedy: scans every node at each step and keeps the first with the earliest arrival.
+     */
+    private static List<VisitNode> fullScanGreedy(TravelTimeMatrix matrix, List<VisitNode> nodes) {
+        Set<VisitNode> visited = new HashSet<>();
+        List<VisitNode> route = new ArrayList<>();
+        int current = matrix.getStartIndex();
+        double time = 0;
+        while (route.size() < nodes.size()) {
+            int best = -1;
+            double bestArrival = Double.MAX_VALUE;
+            for (int index = 0; index < nodes.size(); index++) {
+                VisitNode node = nodes.get(index);
+                if (visited.contains(node)) continue;
+                if (node.getType() == VisitType.CUSTOMER && !visited.contains(node.getPairedNode())) continue;
+
+                double arrival = Math.max(time + matrix.time(current, index), node.getAveragePreparationTime());
+                if (arrival < bestArrival) {
+                    bestArrival = arrival;
+                    best = index;
+                }
+            }
+            visited.add(nodes.get(best));
+            route.add(nodes.get(best));
+            current = best;
+            time = bestArrival;
+        }
+        return route;
+    }
+}
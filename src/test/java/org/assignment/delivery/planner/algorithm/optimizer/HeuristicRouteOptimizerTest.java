@@ -1,15 +1,24 @@
 package org.assignment.delivery.planner.algorithm.optimizer;
 
+import org.assignment.delivery.planner.algorithm.optimizer.config.BeamSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
 import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
 import org.assignment.delivery.planner.algorithm.optimizer.model.VisitType;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
 import org.assignment.delivery.planner.model.GeoLocation;
 import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Random;
 
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.assertValidRoute;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomLocation;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomOrders;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
@@ -60,4 +69,80 @@ class HeuristicRouteOptimizerTest {
         // Assert: route should be restaurant first, then customer
         assertEquals(List.of(restaurantNode, customerNode), result);
     }
+
+    @Test
+    void testComputeOptimalRoute_withMoreThanSixtyFourNodes_shouldVisitEveryNodeAfterItsRestaurant() {
+        optimizer = new HeuristicRouteOptimizer(realTravelEstimator());
+        Random random = new Random(42);
+
+        List<VisitNode> nodes = randomOrders(random, 40);
+        List<VisitNode> result = optimizer.computeOptimalRoute(randomLocation(random), nodes);
+
+        assertValidRoute(nodes, result);
+    }
+
+    @Test
+    void testComputeOptimalRoute_withExhaustedExpansionLimit_shouldFinishRouteGreedily() {
+        optimizer = new HeuristicRouteOptimizer(realTravelEstimator(),
+                BeamSearchConfig.builder().beamWidth(50).maxExpansions(5).build());
+        Random random = new Random(7);
+
+        List<VisitNode> nodes = randomOrders(random, 10);
+        List<VisitNode> result = optimizer.computeOptimalRoute(randomLocation(random), nodes);
+
+        assertValidRoute(nodes, result);
+    }
+
+    @Test
+    void testComputeOptimalRoute_withZeroTimeBudget_shouldStillReturnCompleteRoute() {
+        optimizer = new HeuristicRouteOptimizer(realTravelEstimator(),
+                BeamSearchConfig.builder().timeBudget(Duration.ZERO).build());
+        Random random = new Random(11);
+
+        List<VisitNode> nodes = randomOrders(random, 10);
+        List<VisitNode> result = optimizer.computeOptimalRoute(randomLocation(random), nodes);
+
+        assertValidRoute(nodes, result);
+    }
+
+    @Test
+    void testComputeOptimalRoute_inParallelMode_shouldMatchSequentialMode() {
+        BeamSearchConfig sequential = BeamSearchConfig.builder().beamWidth(32).build();
+        BeamSearchConfig parallel = sequential.toBuilder().parallel(true).parallelThreshold(0).build();
+        optimizer = new HeuristicRouteOptimizer(realTravelEstimator());
+
+        for (int seed = 0; seed < 5; seed++) {
+            Random random = new Random(seed);
+            List<VisitNode> nodes = randomOrders(random, 12);
+            // Share locations between orders so that many candidates tie on their estimate
+            List<VisitNode> tiedNodes = randomOrders(new Random(seed), 12, 3);
+            GeoLocation start = randomLocation(random);
+
+            for (List<VisitNode> batch : List.of(nodes, tiedNodes)) {
+                TravelTimeMatrix matrix = TravelTimeMatrix.build(start, batch, realTravelEstimator());
+                assertEquals(optimizer.computeOptimalRoute(matrix, batch, sequential),
+                        optimizer.computeOptimalRoute(matrix, batch, parallel));
+            }
+        }
+    }
+
+    @Test
+    void testComputeOptimalRoute_withCandidateLimit_shouldStillVisitEveryNodeAfterItsRestaurant() {
+        optimizer = new HeuristicRouteOptimizer(realTravelEstimator());
+        Random random = new Random(11);
+        List<VisitNode> nodes = randomOrders(random, 30);
+        TravelTimeMatrix matrix = TravelTimeMatrix.build(randomLocation(random), nodes, realTravelEstimator());
+
+        List<VisitNode> limited = optimizer.computeOptimalRoute(matrix, nodes,
+                BeamSearchConfig.builder().candidateLimit(4).build());
+        List<VisitNode> unlimited = optimizer.computeOptimalRoute(matrix, nodes,
+                BeamSearchConfig.builder().candidateLimit(nodes.size()).build());
+
+        assertValidRoute(nodes, limited);
+        assertEquals(optimizer.computeOptimalRoute(matrix, nodes), unlimited);
+    }
+
+    private static TravelTimeEstimationService realTravelEstimator() {
+        return new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20));
+    }
 }
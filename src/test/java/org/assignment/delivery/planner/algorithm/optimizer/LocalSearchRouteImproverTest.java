@@ -0,0 +1,98 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.config.LocalSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitType;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.assertValidRoute;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomLocation;
+import static org.assignment.delivery.planner.algorithm.optimizer.OptimizerFixtures.randomOrders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalSearchRouteImproverTest {
+
+    private TravelTimeEstimationService travelEstimator;
+    private LocalSearchRouteImprover improver;
+
+    @BeforeEach
+    void setUp() {
+        travelEstimator = new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20));
+        improver = new LocalSearchRouteImprover(travelEstimator,
+                LocalSearchConfig.builder().timeLimit(Duration.ofSeconds(5)).build());
+    }
+
+    @Test
+    void testImprove_shouldShortenPoorRouteWithoutBreakingPrecedence() {
+        for (int seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            List<VisitNode> nodes = randomOrders(random, 10);
+            TravelTimeMatrix matrix = TravelTimeMatrix.build(randomLocation(random), nodes, travelEstimator);
+
+            // All restaurants first, then all customers: valid but far from optimal
+            List<VisitNode> poorRoute = new ArrayList<>();
+            nodes.stream().filter(node -> node.getType() == VisitType.RESTAURANT).forEach(poorRoute::add);
+            nodes.stream().filter(node -> node.getType() == VisitType.CUSTOMER).forEach(poorRoute::add);
+
+            List<VisitNode> improved = improver.improve(matrix, nodes, poorRoute);
+
+            assertValidRoute(nodes, improved);
+            assertTrue(routeTime(matrix, nodes, improved) < routeTime(matrix, nodes, poorRoute));
+        }
+    }
+
+    @Test
+    void testImprove_shouldNeverWorsenOptimizerRoutes() {
+        GreedyRouteOptimizer greedy = new GreedyRouteOptimizer(travelEstimator);
+        ExactRouteOptimizer exact = new ExactRouteOptimizer(travelEstimator);
+        for (int seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            List<VisitNode> nodes = randomOrders(random, 6);
+            TravelTimeMatrix matrix = TravelTimeMatrix.build(randomLocation(random), nodes, travelEstimator);
+
+            List<VisitNode> greedyRoute = greedy.computeOptimalRoute(matrix, nodes);
+            List<VisitNode> exactRoute = exact.computeOptimalRoute(matrix, nodes);
+            List<VisitNode> improvedGreedy = improver.improve(matrix, nodes, greedyRoute);
+            List<VisitNode> improvedExact = improver.improve(matrix, nodes, exactRoute);
+
+            assertValidRoute(nodes, improvedGreedy);
+            assertTrue(routeTime(matrix, nodes, improvedGreedy) <= routeTime(matrix, nodes, greedyRoute) + 1e-9);
+            assertTrue(routeTime(matrix, nodes, improvedGreedy) >= routeTime(matrix, nodes, exactRoute) - 1e-9);
+            assertEquals(routeTime(matrix, nodes, exactRoute), routeTime(matrix, nodes, improvedExact), 1e-9);
+        }
+    }
+
+    @Test
+    void testImprove_withZeroTimeLimit_shouldReturnRouteUnchanged() {
+        improver = new LocalSearchRouteImprover(travelEstimator, LocalSearchConfig.builder().timeLimit(Duration.ZERO).build());
+        Random random = new Random(3);
+        List<VisitNode> nodes = randomOrders(random, 5);
+
+        assertEquals(nodes, improver.improve(randomLocation(random), nodes));
+    }
+
+    private static double routeTime(TravelTimeMatrix matrix, List<VisitNode> nodes, List<VisitNode> route) {
+        double time = 0;
+        int current = matrix.getStartIndex();
+        for (VisitNode node : route) {
+            int next = nodes.indexOf(node);
+            time += matrix.time(current, next);
+            if (node.getType() == VisitType.RESTAURANT) {
+                time = Math.max(time, node.getAveragePreparationTime());
+            }
+            current = next;
+        }
+        return time;
+    }
+}
@@ -0,0 +1,87 @@
+package org.assignment.delivery.planner.algorithm.optimizer;
+
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitType;
+import org.assignment.delivery.planner.model.GeoLocation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeded random batches and route checks shared by the optimizer tests.
+ */
+final class OptimizerFixtures {
+
+    private OptimizerFixtures() {
+    }
+
+    /**
+     * @return {@code orderCount} restaurant/customer pairs at random locations in a 0.1 degree
+     * square, each restaurant followed by its customer.
+     */
+    static List<VisitNode> randomOrders(Random random, int orderCount) {
+        return randomOrders(random, orderCount, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #randomOrders(Random, int)}, but reuses locations once {@code distinctLocations}
+     * have been drawn, so that many pairs of nodes are tied on travel time.
+     */
+    static List<VisitNode> randomOrders(Random random, int orderCount, int distinctLocations) {
+        List<GeoLocation> locations = new ArrayList<>();
+        List<VisitNode> nodes = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            VisitNode restaurantNode = VisitNode.builder()
+                    .orderId("O" + i)
+                    .visitId("R" + i)
+                    .location(pickLocation(random, locations, distinctLocations))
+                    .type(VisitType.RESTAURANT)
+                    .averagePreparationTime(random.nextInt(30))
+                    .build();
+            nodes.add(restaurantNode);
+            nodes.add(VisitNode.builder()
+                    .orderId("O" + i)
+                    .visitId("C" + i)
+                    .location(pickLocation(random, locations, distinctLocations))
+                    .type(VisitType.CUSTOMER)
+                    .pairedNode(restaurantNode)
+                    .build());
+        }
+        return nodes;
+    }
+
+    static GeoLocation randomLocation(Random random) {
+        return GeoLocation.builder()
+                .latitude(12.9 + random.nextDouble() * 0.1)
+                .longitude(77.5 + random.nextDouble() * 0.1)
+                .build();
+    }
+
+    /**
+     * Asserts that a route visits every node exactly once and every customer after its restaurant.
+     */
+    static void assertValidRoute(List<VisitNode> nodes, List<VisitNode> route) {
+        assertEquals(nodes.size(), route.size());
+        Set<VisitNode> visited = new HashSet<>();
+        for (VisitNode node : route) {
+            if (node.getType() == VisitType.CUSTOMER) {
+                assertTrue(visited.contains(node.getPairedNode()), "Customer visited before its restaurant");
+            }
+            assertTrue(visited.add(node), "Node visited twice");
+        }
+    }
+
+    private static GeoLocation pickLocation(Random random, List<GeoLocation> locations, int distinctLocations) {
+        if (locations.size() < distinctLocations) {
+            locations.add(randomLocation(random));
+            return locations.get(locations.size() - 1);
+        }
+        return locations.get(random.nextInt(locations.size()));
+    }
+}
@@ -1,12 +1,25 @@
 package org.assignment.delivery.planner.algorithm.optimizer.adapter;
 
+import org.assignment.delivery.planner.algorithm.optimizer.AdaptiveRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.ExactRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.GreedyRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.HeuristicRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.RouteImprover;
 import org.assignment.delivery.planner.algorithm.optimizer.RouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.config.AdaptiveOptimizerConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
 import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNode;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
 import org.assignment.delivery.planner.model.*;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,4 +83,100 @@ class RoutePlanningEngineTest {
         assertTrue(result.isEmpty(), "Expected empty route for no orders");
         verify(optimizer).computeOptimalRoute(eq(startLocation), eq(List.of()));
     }
+
+    @Test
+    void testGenerateRoute_shouldApplyImproverToOptimizedRoute() {
+        GeoLocation startLocation = GeoLocation.builder().latitude(0.0).longitude(0.0).build();
+        VisitNode node1 = VisitNode.builder().visitId("R1").build();
+        VisitNode node2 = VisitNode.builder().visitId("R2").build();
+        List<VisitNode> optimizedRoute = List.of(node1, node2);
+
+        RouteImprover improver = mock(RouteImprover.class);
+        when(optimizer.computeOptimalRoute(eq(startLocation), anyList())).thenReturn(optimizedRoute);
+        when(improver.improve(startLocation, optimizedRoute)).thenReturn(List.of(node2, node1));
+
+        List<String> result = new RoutePlanningEngine(optimizer, improver).generateRoute(startLocation, List.of());
+
+        assertEquals(List.of("R2", "R1"), result);
+    }
+
+    @Test
+    void testGenerateRoute_withTravelEstimator_shouldRunBothStagesOnOneMatrix() {
+        GeoLocation startLocation = GeoLocation.builder().latitude(0.0).longitude(0.0).build();
+        RouteImprover improver = mock(RouteImprover.class);
+        when(optimizer.computeOptimalOrder(any(TravelTimeMatrix.class), anyLong())).thenReturn(new int[]{0, 1, 2, 3});
+        when(improver.improve(any(TravelTimeMatrix.class), eq(new int[]{0, 1, 2, 3}))).thenReturn(new int[]{2, 0, 3, 1});
+
+        List<String> result = new RoutePlanningEngine(travelEstimator(), optimizer, improver)
+                .generateRoute(startLocation, List.of(order("O1", "R1", "C1", 1.0), order("O2", "R2", "C2", 2.0)));
+
+        assertEquals(List.of("R2", "R1", "C2", "C1"), result);
+        ArgumentCaptor<TravelTimeMatrix> optimized = ArgumentCaptor.forClass(TravelTimeMatrix.class);
+        ArgumentCaptor<TravelTimeMatrix> improved = ArgumentCaptor.forClass(TravelTimeMatrix.class);
+        verify(optimizer).computeOptimalOrder(optimized.capture(), anyLong());
+        verify(improver).improve(improved.capture(), any(int[].class));
+        assertSame(optimized.getValue(), improved.getValue());
+    }
+
+    @Test
+    void testGenerateRoute_whenNoRouteExists_shouldReturnEmptyRouteWithoutImproving() {
+        GeoLocation startLocation = GeoLocation.builder().latitude(0.0).longitude(0.0).build();
+        RouteImprover improver = mock(RouteImprover.class);
+        when(optimizer.computeOptimalOrder(any(TravelTimeMatrix.class), anyLong())).thenReturn(null);
+
+        List<String> result = new RoutePlanningEngine(travelEstimator(), optimizer, improver)
+                .generateRoute(startLocation, List.of(order("O1", "R1", "C1", 1.0)));
+
+        assertTrue(result.isEmpty());
+        verify(improver, never()).improve(any(TravelTimeMatrix.class), any());
+    }
+
+    @Test
+    void testGenerateRoute_whenMatrixBuildIsSlow_shouldFallBackToGreedy() {
+        // The matrix build alone outlasts the latency budget, leaving no time for the exact search
+        TravelTimeEstimationService slowEstimator = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20.0)) {
+            @Override
+            public boolean isTimeDependent() {
+                try {
+                    Thread.sleep(30);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        AdaptiveOptimizerConfig config = AdaptiveOptimizerConfig.builder()
+                .latencyBudget(Duration.ofMillis(20))
+                .build();
+        AdaptiveRouteOptimizer adaptive = new AdaptiveRouteOptimizer(slowEstimator,
+                new ExactRouteOptimizer(slowEstimator), new HeuristicRouteOptimizer(slowEstimator),
+                new GreedyRouteOptimizer(slowEstimator), config);
+        GeoLocation startLocation = GeoLocation.builder().latitude(0.0).longitude(0.0).build();
+
+        List<String> result = new RoutePlanningEngine(slowEstimator, adaptive)
+                .generateRoute(startLocation, List.of(order("O1", "R1", "C1", 1.0)));
+
+        assertEquals(List.of("R1", "C1"), result);
+        assertEquals(0, adaptive.getStatistics().getRuns(OptimizerStrategy.EXACT));
+        assertEquals(1, adaptive.getStatistics().getRuns(OptimizerStrategy.GREEDY));
+    }
+
+    private static TravelTimeEstimationService travelEstimator() {
+        return new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20.0));
+    }
+
+    private static Order order(String orderId, String restaurantId, String customerId, double latitude) {
+        return Order.builder()
+                .orderId(orderId)
+                .restaurant(Restaurant.builder()
+                        .id(restaurantId)
+                        .address(Address.builder().location(GeoLocation.builder().latitude(latitude).longitude(1.0).build()).build())
+                        .build())
+                .customer(Customer.builder()
+                        .id(customerId)
+                        .address(Address.builder().location(GeoLocation.builder().latitude(latitude).longitude(2.0).build()).build())
+                        .build())
+                .build();
+    }
 }
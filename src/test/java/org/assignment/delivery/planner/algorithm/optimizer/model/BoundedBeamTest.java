@@ -0,0 +1,73 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedBeamTest {
+
+    @Test
+    void testDrainSorted_shouldMatchStableSortOfAllCandidates() {
+        Random random = new Random(3);
+        List<RouteState> candidates = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Few distinct estimates so that ties are frequent
+            candidates.add(RouteState.initial(0).visit(i, 0, random.nextInt(20)));
+        }
+
+        BoundedBeam beam = new BoundedBeam(25);
+        for (int i = 0; i < candidates.size(); i++) {
+            beam.offer(candidates.get(i), i);
+        }
+
+        List<RouteState> expected = candidates.stream()
+                .sorted(Comparator.comparingDouble(RouteState::getEstimatedTotalTime))
+                .limit(25)
+                .collect(Collectors.toList());
+        assertEquals(expected, beam.drainSorted());
+        assertEquals(0, beam.size());
+    }
+
+    @Test
+    void testAddAll_shouldKeepSameStatesRegardlessOfPartitioning() {
+        Random random = new Random(5);
+        List<RouteState> candidates = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            candidates.add(RouteState.initial(0).visit(i, 0, random.nextInt(10)));
+        }
+
+        BoundedBeam single = new BoundedBeam(10);
+        BoundedBeam left = new BoundedBeam(10);
+        BoundedBeam right = new BoundedBeam(10);
+        for (int i = 0; i < candidates.size(); i++) {
+            single.offer(candidates.get(i), i);
+            (i % 3 == 0 ? left : right).offer(candidates.get(i), i);
+        }
+        right.addAll(left);
+
+        assertEquals(single.drainSorted(), right.drainSorted());
+    }
+
+    @Test
+    void testWouldAccept_shouldRejectCandidatesWorseThanAFullBeam() {
+        BoundedBeam beam = new BoundedBeam(2);
+        assertTrue(beam.wouldAccept(100, 0));
+
+        beam.offer(RouteState.initial(0).visit(0, 0, 5), 0);
+        beam.offer(RouteState.initial(0).visit(1, 0, 7), 1);
+
+        assertFalse(beam.wouldAccept(8, 2));
+        assertFalse(beam.wouldAccept(7, 2));
+        assertTrue(beam.wouldAccept(7, 0));
+        assertTrue(beam.wouldAccept(6, 2));
+        assertFalse(new BoundedBeam(0).wouldAccept(0, 0));
+    }
+}
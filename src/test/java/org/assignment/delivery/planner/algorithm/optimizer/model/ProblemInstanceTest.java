@@ -0,0 +1,89 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ProblemInstanceTest {
+
+    @Test
+    void testOf_shouldResolvePairsTypesAndLocationsToArrays() {
+        VisitNode firstRestaurant = restaurant(1.0, 12);
+        VisitNode secondRestaurant = restaurant(2.0, 7);
+        // Customers listed before their restaurants to check pairing does not depend on order
+        List<VisitNode> nodes = List.of(
+                customer(3.0, secondRestaurant), firstRestaurant, secondRestaurant, customer(4.0, firstRestaurant));
+
+        ProblemInstance instance = ProblemInstance.of(nodes);
+
+        assertEquals(4, instance.size());
+        assertArrayEquals(new byte[]{ProblemInstance.CUSTOMER, ProblemInstance.RESTAURANT,
+                ProblemInstance.RESTAURANT, ProblemInstance.CUSTOMER}, instance.getTypes());
+        assertArrayEquals(new int[]{2, 3, 0, 1}, instance.getPairIndex());
+        assertArrayEquals(new double[]{0, 12, 7, 0}, instance.getReadyTimes());
+        assertArrayEquals(new double[]{3.0, 1.0, 2.0, 4.0}, instance.getLatitudes());
+
+        assertEquals(2, instance.restaurantOf(0));
+        assertEquals(-1, instance.restaurantOf(1));
+        assertEquals(3, instance.customerOf(1));
+        assertEquals(-1, instance.customerOf(3));
+        assertSame(secondRestaurant, instance.node(2));
+    }
+
+    @Test
+    void testIndicesOf_shouldRoundTripThroughToRoute() {
+        VisitNode restaurant = restaurant(1.0, 5);
+        List<VisitNode> nodes = List.of(restaurant, customer(2.0, restaurant), restaurant(3.0, 0));
+        ProblemInstance instance = ProblemInstance.of(nodes);
+        int[] order = {2, 0, 1};
+
+        List<VisitNode> route = instance.toRoute(order);
+
+        assertEquals(List.of(nodes.get(2), nodes.get(0), nodes.get(1)), route);
+        assertArrayEquals(order, instance.indicesOf(route));
+        assertArrayEquals(new int[]{0, 1, 2}, instance.indicesOf(nodes));
+    }
+
+    @Test
+    void testCompletionTime_shouldMatchNodeBasedComputation() {
+        VisitNode restaurant = restaurant(0.01, 30);
+        VisitNode otherRestaurant = restaurant(0.02, 1);
+        List<VisitNode> nodes = List.of(
+                restaurant, customer(0.03, restaurant), otherRestaurant, customer(0.04, otherRestaurant));
+        TravelTimeEstimationService travelEstimator = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20.0));
+        TravelTimeMatrix matrix = TravelTimeMatrix.build(location(0), nodes, travelEstimator);
+        int[] order = {2, 0, 3, 1};
+
+        assertEquals(VisitNodes.completionTime(matrix, nodes, matrix.getInstance().toRoute(order)),
+                matrix.getInstance().completionTime(matrix, order), 1e-12);
+    }
+
+    private static VisitNode restaurant(double latitude, double preparationTime) {
+        return VisitNode.builder()
+                .location(location(latitude))
+                .type(VisitType.RESTAURANT)
+                .averagePreparationTime(preparationTime)
+                .build();
+    }
+
+    private static VisitNode customer(double latitude, VisitNode restaurant) {
+        return VisitNode.builder()
+                .location(location(latitude))
+                .type(VisitType.CUSTOMER)
+                .pairedNode(restaurant)
+                .build();
+    }
+
+    private static GeoLocation location(double latitude) {
+        return GeoLocation.builder().latitude(latitude).longitude(0).build();
+    }
+}
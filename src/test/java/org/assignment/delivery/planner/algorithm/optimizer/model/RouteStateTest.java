@@ -0,0 +1,54 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteStateTest {
+
+    @Test
+    void testVisit_shouldTrackVisitedNodesBeyondSixtyFourWithoutTouchingParent() {
+        RouteState initial = RouteState.initial(200);
+        RouteState first = initial.visit(3, 1.0, 5.0);
+        RouteState second = first.visit(130, 2.0, 6.0);
+        RouteState third = second.visit(70, 3.0, 7.0);
+
+        assertTrue(third.isVisited(3));
+        assertTrue(third.isVisited(70));
+        assertTrue(third.isVisited(130));
+        assertFalse(third.isVisited(6));
+        assertFalse(third.isVisited(134));
+
+        // Parents are unaffected by their successors
+        assertTrue(second.isVisited(130));
+        assertFalse(second.isVisited(70));
+        assertFalse(first.isVisited(130));
+        assertFalse(initial.isVisited(3));
+
+        assertEquals(3, third.getVisitedCount());
+        assertEquals(70, third.getCurrentIndex());
+        assertEquals(3.0, third.getCurrentTime());
+        assertEquals(7.0, third.getEstimatedTotalTime());
+    }
+
+    @Test
+    void testToRoute_shouldRebuildRouteFromParentChain() {
+        List<VisitNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(VisitNode.builder().visitId("N" + i).build());
+        }
+
+        RouteState state = RouteState.initial(4)
+                .visit(2, 1.0, 1.0)
+                .visit(0, 2.0, 2.0)
+                .visit(3, 3.0, 3.0);
+
+        assertEquals(List.of(nodes.get(2), nodes.get(0), nodes.get(3)), state.toRoute(nodes));
+        assertTrue(RouteState.initial(4).toRoute(nodes).isEmpty());
+    }
+}
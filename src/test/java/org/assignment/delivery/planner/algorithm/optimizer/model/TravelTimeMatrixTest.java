@@ -0,0 +1,136 @@
+package org.assignment.delivery.planner.algorithm.optimizer.model;
+
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.SpeedProfile;
+import org.assignment.delivery.planner.time.SpeedProfileTimeEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TravelTimeMatrixTest {
+
+    @Test
+    void testBuild_shouldIndexNodesInOrderWithStartLast() {
+        TravelTimeEstimationService travelEstimator = mock(TravelTimeEstimationService.class);
+
+        GeoLocation start = GeoLocation.builder().latitude(0.0).longitude(0.0).build();
+        GeoLocation restaurantLocation = GeoLocation.builder().latitude(1.0).longitude(1.0).build();
+        GeoLocation customerLocation = GeoLocation.builder().latitude(2.0).longitude(2.0).build();
+
+        VisitNode restaurantNode = VisitNode.builder().location(restaurantLocation).type(VisitType.RESTAURANT).build();
+        VisitNode customerNode = VisitNode.builder().location(customerLocation).type(VisitType.CUSTOMER).build();
+
+        // Encodes source and destination latitudes as from * 10 + to, e.g. start -> customer = 2.0
+        stubEstimateTimes(travelEstimator, (fromLatitude, toLatitude) -> fromLatitude * 10 + toLatitude);
+
+        TravelTimeMatrix matrix = TravelTimeMatrix.build(start, List.of(restaurantNode, customerNode), travelEstimator);
+
+        assertEquals(2, matrix.getStartIndex());
+        assertEquals(2, matrix.getNodeCount());
+        assertEquals(1.0, matrix.time(2, 0));
+        assertEquals(2.0, matrix.time(2, 1));
+        assertEquals(12.0, matrix.time(0, 1));
+        assertEquals(21.0, matrix.time(1, 0));
+        assertEquals(0.0, matrix.time(0, 0));
+        assertEquals(0.0, matrix.time(1, 1));
+        assertEquals(0.0, matrix.time(0, 2));
+
+        // One all-pairs call for every origin row; return-to-start entries are never estimated
+        verify(travelEstimator, times(1)).estimateTimes(any(double[].class), any(), any(), any(), any(double[][].class));
+        verify(travelEstimator, never()).estimateTimes(anyDouble(), anyDouble(), any(), any(), any());
+        verify(travelEstimator, never()).estimateTime(any(), any());
+    }
+
+    @Test
+    void testGetNearestNeighbours_shouldOrderOtherNodesByTravelTime() {
+        TravelTimeEstimationService travelEstimator = mock(TravelTimeEstimationService.class);
+        GeoLocation start = GeoLocation.builder().latitude(0.0).longitude(0.0).build();
+        List<VisitNode> nodes = List.of(
+                VisitNode.builder().location(GeoLocation.builder().latitude(3.0).longitude(0.0).build()).build(),
+                VisitNode.builder().location(GeoLocation.builder().latitude(1.0).longitude(0.0).build()).build(),
+                VisitNode.builder().location(GeoLocation.builder().latitude(2.0).longitude(0.0).build()).build());
+        stubEstimateTimes(travelEstimator, (fromLatitude, toLatitude) -> Math.abs(fromLatitude - toLatitude));
+
+        int[][] neighbours = TravelTimeMatrix.build(start, nodes, travelEstimator).getNearestNeighbours();
+
+        assertArrayEquals(new int[]{1, 2, 0}, neighbours[3]);
+        assertArrayEquals(new int[]{2, 1}, neighbours[0]);
+        assertArrayEquals(new int[]{2, 0}, neighbours[1]);
+    }
+
+    @Test
+    void testTime_withSpeedProfile_shouldPriceLegsAtTheirDepartureTime() {
+        // One zone, hourly buckets: 30 km/h except 10 km/h between 08:00 and 09:00
+        float[] speeds = new float[24];
+        Arrays.fill(speeds, 30);
+        speeds[8] = 10;
+        SpeedProfile profile = new SpeedProfile(0.0, 0.0, 1.0, 1, 1, 60, 30, speeds);
+        // Routes depart at 07:30
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T07:30:00Z"), ZoneOffset.UTC);
+        TravelTimeEstimationService travelEstimator = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new SpeedProfileTimeEstimator(profile, clock));
+        GeoLocation start = GeoLocation.builder().latitude(0.1).longitude(0.1).build();
+        List<VisitNode> nodes = List.of(
+                VisitNode.builder().location(GeoLocation.builder().latitude(0.2).longitude(0.1).build()).build(),
+                VisitNode.builder().location(GeoLocation.builder().latitude(0.3).longitude(0.1).build()).build());
+
+        TravelTimeMatrix matrix = TravelTimeMatrix.build(start, nodes, travelEstimator);
+
+        assertTrue(matrix.isTimeDependent());
+        assertEquals(matrix.time(0, 1), matrix.time(0, 1, 0));
+        assertEquals(matrix.time(0, 1), matrix.time(0, 1, 29));
+        // Leaving 30 minutes later falls into the rush hour bucket, three times slower
+        assertEquals(3 * matrix.time(0, 1), matrix.time(0, 1, 30), 1e-9);
+        assertEquals(matrix.time(0, 1), matrix.time(0, 1, 90), 1e-9);
+    }
+
+    @Test
+    void testTime_withoutSpeedProfile_shouldIgnoreDepartureTime() {
+        TravelTimeEstimationService travelEstimator = mock(TravelTimeEstimationService.class);
+        GeoLocation start = GeoLocation.builder().latitude(0.0).longitude(0.0).build();
+        List<VisitNode> nodes = List.of(
+                VisitNode.builder().location(GeoLocation.builder().latitude(1.0).longitude(0.0).build()).build());
+        stubEstimateTimes(travelEstimator, (fromLatitude, toLatitude) -> 5 + toLatitude);
+
+        TravelTimeMatrix matrix = TravelTimeMatrix.build(start, nodes, travelEstimator);
+
+        assertFalse(matrix.isTimeDependent());
+        assertEquals(6.0, matrix.time(1, 0, 600));
+    }
+
+    /**
+     * Stubs the all-pairs overload with a per-pair function of the source and destination latitudes.
+     */
+    private static void stubEstimateTimes(TravelTimeEstimationService travelEstimator, DoubleBinaryOperator time) {
+        doAnswer(invocation -> {
+            double[] fromLatitudes = invocation.getArgument(0);
+            double[] latitudes = invocation.getArgument(2);
+            double[][] times = invocation.getArgument(4);
+            for (int from = 0; from < fromLatitudes.length; from++) {
+                for (int i = 0; i < latitudes.length; i++) {
+                    times[from][i] = time.applyAsDouble(fromLatitudes[from], latitudes[i]);
+                }
+            }
+            return null;
+        }).when(travelEstimator).estimateTimes(any(double[].class), any(), any(), any(), any(double[][].class));
+    }
+}
@@ -0,0 +1,76 @@
+package org.assignment.delivery.planner.distance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquirectangularDistanceCalculatorTest {
+
+    private final HaversineDistanceCalculator haversine = new HaversineDistanceCalculator();
+
+    @Test
+    void testDistanceKm_withinCity_shouldStayWithinDocumentedErrorOfHaversine() {
+        assertErrorWithinBounds(12.97, 0.0015);
+        assertErrorWithinBounds(50.0, 0.0055);
+    }
+
+    @Test
+    void testDistanceKmRadians_shouldMatchDegreeInput() {
+        EquirectangularDistanceCalculator calculator = new EquirectangularDistanceCalculator(12.97);
+
+        double degrees = calculator.distanceKm(12.9716, 77.5946, 13.0358, 77.5970);
+        double radians = calculator.distanceKmRadians(Math.toRadians(12.9716), Math.toRadians(77.5946),
+                Math.toRadians(13.0358), Math.toRadians(77.5970));
+
+        assertEquals(degrees, radians, 1e-12);
+        assertEquals(0.0, calculator.distanceKm(12.9716, 77.5946, 12.9716, 77.5946));
+    }
+
+    private void assertErrorWithinBounds(double referenceLatitude, double maxRelativeError) {
+        EquirectangularDistanceCalculator calculator = new EquirectangularDistanceCalculator(referenceLatitude);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // City-sized area: +/-0.25 degrees around the reference point
+            double sourceLatitude = referenceLatitude + (random.nextDouble() - 0.5) * 0.5;
+            double sourceLongitude = 77.59 + (random.nextDouble() - 0.5) * 0.5;
+            double destinationLatitude = referenceLatitude + (random.nextDouble() - 0.5) * 0.5;
+            double destinationLongitude = 77.59 + (random.nextDouble() - 0.5) * 0.5;
+
+            double expected = haversine.distanceKm(sourceLatitude, sourceLongitude, destinationLatitude, destinationLongitude);
+            double actual = calculator.distanceKm(sourceLatitude, sourceLongitude, destinationLatitude, destinationLongitude);
+            if (expected < 1e-6 || expected > 50) continue;
+
+            double relativeError = Math.abs(actual - expected) / expected;
+            double meanLatitude = Math.toRadians((sourceLatitude + destinationLatitude) / 2);
+            double documentedBound = Math.abs(Math.cos(Math.toRadians(referenceLatitude)) / Math.cos(meanLatitude) - 1) + 1e-4;
+
+            assertTrue(relativeError <= documentedBound, "Error " + relativeError + " exceeds " + documentedBound);
+            assertTrue(relativeError <= maxRelativeError, "Error " + relativeError + " exceeds " + maxRelativeError);
+        }
+    }
+
+    @Test
+    void testDistancesKm_shouldMatchPairwiseDistances() {
+        EquirectangularDistanceCalculator calculator = new EquirectangularDistanceCalculator(12.97);
+        Random random = new Random(7);
+        double[] latitudes = new double[37];
+        double[] longitudes = new double[37];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = 12.97 + (random.nextDouble() - 0.5) * 0.5;
+            longitudes[i] = 77.59 + (random.nextDouble() - 0.5) * 0.5;
+        }
+        // Longer than the input: entries past latitudes.length must be left untouched
+        double[] distances = new double[latitudes.length + 1];
+        distances[latitudes.length] = -1;
+
+        calculator.distancesKm(12.9716, 77.5946, latitudes, longitudes, distances);
+
+        for (int i = 0; i < latitudes.length; i++) {
+            assertEquals(calculator.distanceKm(12.9716, 77.5946, latitudes[i], longitudes[i]), distances[i], 0.0);
+        }
+        assertEquals(-1, distances[latitudes.length]);
+    }
+}
@@ -60,4 +60,42 @@ class HaversineDistanceCalculatorTest {
         double expectedDistance = Math.PI / 2 * 6371; // π/2 * Earth's radius in km
         assertEquals(expectedDistance, result.getDistance(), 1.0, "Expected ~10007 km from Equator to North Pole");
     }
+
+    @Test
+    void testDistanceKm_shouldMatchCalculateDistance() {
+        GeoLocation loc1 = GeoLocation.builder().latitude(12.9716).longitude(77.5946).build();
+        GeoLocation loc2 = GeoLocation.builder().latitude(13.0827).longitude(80.2707).build();
+
+        double distanceKm = calculator.distanceKm(12.9716, 77.5946, 13.0827, 80.2707);
+
+        assertEquals(calculator.calculateDistance(loc1, loc2).getDistance(), distanceKm, 0.0);
+    }
+
+    @Test
+    void testDistanceKmRadians_shouldMatchDegreeInput() {
+        double degrees = calculator.distanceKm(40.7128, -74.0060, 51.5074, -0.1278);
+        double radians = calculator.distanceKmRadians(Math.toRadians(40.7128), Math.toRadians(-74.0060),
+                Math.toRadians(51.5074), Math.toRadians(-0.1278));
+
+        assertEquals(degrees, radians, 1e-9);
+    }
+
+    @Test
+    void testDistancesKm_shouldMatchPairwiseDistances() {
+        double[] latitudes = {12.9716, 13.0827, 12.9352, 40.7128};
+        double[] longitudes = {77.5946, 80.2707, 77.6245, -74.0060};
+        double[] oneToMany = new double[latitudes.length];
+        double[][] manyToMany = new double[latitudes.length][latitudes.length];
+
+        calculator.distancesKm(12.9716, 77.5946, latitudes, longitudes, oneToMany);
+        calculator.distancesKm(latitudes, longitudes, latitudes, longitudes, manyToMany);
+
+        for (int to = 0; to < latitudes.length; to++) {
+            assertEquals(calculator.distanceKm(12.9716, 77.5946, latitudes[to], longitudes[to]), oneToMany[to], 0.0);
+            for (int from = 0; from < latitudes.length; from++) {
+                assertEquals(calculator.distanceKm(latitudes[from], longitudes[from], latitudes[to], longitudes[to]),
+                        manyToMany[from][to], 0.0);
+            }
+        }
+    }
 }
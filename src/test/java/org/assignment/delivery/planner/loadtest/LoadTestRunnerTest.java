@@ -0,0 +1,80 @@
+package org.assignment.delivery.planner.loadtest;
+
+import org.assignment.delivery.planner.algorithm.optimizer.GreedyRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.adapter.RoutePlanningEngine;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.Address;
+import org.assignment.delivery.planner.model.DeliveryPlan;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Restaurant;
+import org.assignment.delivery.planner.service.DeliveryRoutePlanner;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoadTestRunnerTest {
+
+    private final TravelTimeEstimationService travelEstimator = new TravelTimeEstimationService(
+            new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20.0));
+
+    @Test
+    void testRun_shouldPlanEveryRequestAndReportOrderedPercentiles() {
+        DeliveryRoutePlanner planner = new DeliveryRoutePlanner(
+                new RoutePlanningEngine(travelEstimator, new GreedyRouteOptimizer(travelEstimator)));
+        Workload workload = new WorkloadGenerator(WorkloadConfig.builder()
+                .cityCount(1)
+                .restaurantsPerCity(10)
+                .customersPerCity(20)
+                .agentsPerCity(3)
+                .requestCount(50)
+                .build()).generate();
+
+        LoadTestReport report = new LoadTestRunner(planner, travelEstimator).run(workload.getRequests(),
+                LoadTestConfig.builder().targetRequestsPerSecond(5000).threads(2).warmupRequests(10).build());
+
+        assertEquals(50, report.getRequests());
+        assertEquals(0, report.getFailures());
+        assertTrue(report.getThroughputPerSecond() > 0);
+        assertTrue(report.getP50LatencyMillis() <= report.getP99LatencyMillis());
+        assertTrue(report.getP99LatencyMillis() <= report.getP999LatencyMillis());
+        assertTrue(report.getP999LatencyMillis() <= report.getMaxLatencyMillis());
+        assertTrue(report.getMeanRouteMinutes() > 0);
+        assertEquals(report.getTotalRouteMinutes() / 50, report.getMeanRouteMinutes(), 1e-9);
+    }
+
+    @Test
+    void testRun_shouldCountFailedRequests() {
+        DeliveryRoutePlanner planner = mock(DeliveryRoutePlanner.class);
+        when(planner.planRoute(any(), anyList(), anyList(), anyList())).thenThrow(new IllegalStateException("boom"));
+        Workload workload = new WorkloadGenerator(WorkloadConfig.builder().requestCount(5).build()).generate();
+
+        LoadTestReport report = new LoadTestRunner(planner, travelEstimator).run(workload.getRequests(),
+                LoadTestConfig.builder().targetRequestsPerSecond(1000).threads(1).warmupRequests(0).build());
+
+        assertEquals(5, report.getFailures());
+        assertEquals(0, report.getTotalRouteMinutes());
+    }
+
+    @Test
+    void testRouteMinutes_shouldWaitForPreparationAtRestaurants() {
+        Restaurant restaurant = Restaurant.builder()
+                .address(Address.builder().location(GeoLocation.builder().latitude(0).longitude(0).build()).build())
+                .averagePreparationTime(15)
+                .build();
+        DeliveryPlan plan = DeliveryPlan.builder().users(List.of(restaurant)).build();
+
+        double minutes = new LoadTestRunner(mock(DeliveryRoutePlanner.class), travelEstimator)
+                .routeMinutes(GeoLocation.builder().latitude(0).longitude(0).build(), plan);
+
+        assertEquals(15, minutes, 1e-9);
+    }
+}
@@ -0,0 +1,81 @@
+package org.assignment.delivery.planner.loadtest;
+
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadGeneratorTest {
+
+    private static final WorkloadConfig CONFIG = WorkloadConfig.builder()
+            .cityCount(3)
+            .restaurantsPerCity(20)
+            .customersPerCity(50)
+            .agentsPerCity(5)
+            .requestCount(100)
+            .minOrdersPerRequest(2)
+            .maxOrdersPerRequest(4)
+            .build();
+
+    @Test
+    void testGenerate_sameSeed_shouldProduceSameWorkload() {
+        Workload first = new WorkloadGenerator(CONFIG).generate();
+        Workload second = new WorkloadGenerator(CONFIG).generate();
+        Workload otherSeed = new WorkloadGenerator(CONFIG.toBuilder().seed(7).build()).generate();
+
+        assertEquals(describe(first), describe(second));
+        assertNotEquals(describe(first), describe(otherSeed));
+    }
+
+    @Test
+    void testGenerate_shouldKeepRequestsWithinTheAgentsCity() {
+        Workload workload = new WorkloadGenerator(CONFIG).generate();
+        HaversineDistanceCalculator distanceCalculator = new HaversineDistanceCalculator();
+
+        assertEquals(3, workload.getCities().size());
+        assertEquals(60, workload.getRestaurants().size());
+        assertEquals(150, workload.getCustomers().size());
+        assertEquals(15, workload.getAgents().size());
+        assertEquals(100, workload.getRequests().size());
+        for (Restaurant restaurant : workload.getRestaurants()) {
+            assertTrue(restaurant.getAveragePreparationTime() > 0);
+        }
+
+        for (AgentAssignment request : workload.getRequests()) {
+            int size = request.getOrders().size();
+            assertTrue(size >= 2 && size <= 4, "Unexpected request size " + size);
+            GeoLocation agent = request.getAgent().getLocation();
+            for (Order order : request.getOrders()) {
+                assertTrue(order.getRestaurant().getOrders().contains(order));
+                assertTrue(order.getCustomer().getOrderIds().contains(order.getOrderId()));
+                // Both ends of every order lie in the agent's city: at most a diameter away
+                assertTrue(distanceCalculator.calculateDistance(agent, order.getRestaurant().getAddress().getLocation())
+                        .getDistance() <= 2 * CONFIG.getCityRadiusKm() + 1e-6);
+                assertTrue(distanceCalculator.calculateDistance(agent, order.getCustomer().getAddress().getLocation())
+                        .getDistance() <= 2 * CONFIG.getCityRadiusKm() + 1e-6);
+            }
+        }
+    }
+
+    private static String describe(Workload workload) {
+        StringBuilder description = new StringBuilder();
+        for (AgentAssignment request : workload.getRequests()) {
+            description.append(request.getAgent().getId()).append(':');
+            List<Order> orders = request.getOrders();
+            for (Order order : orders) {
+                description.append(order.getRestaurant().getId()).append('>').append(order.getCustomer().getId())
+                        .append('@').append(order.getRestaurant().getAveragePreparationTime()).append(',');
+            }
+            description.append('\n');
+        }
+        return description.toString();
+    }
+}
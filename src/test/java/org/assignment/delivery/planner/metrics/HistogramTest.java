@@ -0,0 +1,50 @@
+package org.assignment.delivery.planner.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramTest {
+
+    @Test
+    void testValueAtQuantile_shouldBeExactForSmallValuesAndWithinBucketErrorOtherwise() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5000.5, histogram.getMean(), 1e-9);
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(1, histogram.valueAtQuantile(0));
+        assertEquals(10_000, histogram.valueAtQuantile(1));
+        assertWithinBucketError(5_000, histogram.valueAtQuantile(0.5));
+        assertWithinBucketError(9_900, histogram.valueAtQuantile(0.99));
+    }
+
+    @Test
+    void testBuckets_shouldCoverTheWholeRangeContiguously() {
+        for (long value : new long[]{0, 1, 31, 32, 33, 63, 64, 1_000_000_007L, Long.MAX_VALUE}) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(value <= Histogram.upperBoundOf(bucket), "value " + value);
+            assertTrue(bucket == 0 || value > Histogram.upperBoundOf(bucket - 1), "value " + value);
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.upperBoundOf(Histogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testRecord_emptyAndNegative() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.valueAtQuantile(0.99));
+        assertEquals(0, histogram.getMean());
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    private static void assertWithinBucketError(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.04, "expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,79 @@
+package org.assignment.delivery.planner.metrics;
+
+import org.assignment.delivery.planner.algorithm.optimizer.GreedyRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.HeuristicRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.adapter.RoutePlanningEngine;
+import org.assignment.delivery.planner.algorithm.optimizer.config.BeamSearchConfig;
+import org.assignment.delivery.planner.algorithm.optimizer.model.OptimizerStrategy;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.loadtest.WorkloadConfig;
+import org.assignment.delivery.planner.loadtest.WorkloadGenerator;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.CachingTravelTimeEstimationService;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.service.config.TravelTimeCacheConfig;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryPlanningMetricsTest {
+
+    private final InMemoryPlanningMetrics metrics = new InMemoryPlanningMetrics();
+    private final TravelTimeEstimationService travelEstimator = new CachingTravelTimeEstimationService(
+            new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20.0), TravelTimeCacheConfig.DEFAULT, metrics);
+    private final AgentAssignment request = new WorkloadGenerator(WorkloadConfig.builder()
+            .cityCount(1)
+            .requestCount(1)
+            .minOrdersPerRequest(6)
+            .maxOrdersPerRequest(6)
+            .build()).generate().getRequests().get(0);
+
+    @Test
+    void testPlanning_shouldRecordEachOptimizerRunUnderItsStrategy() {
+        RoutePlanningEngine beamEngine = new RoutePlanningEngine(travelEstimator, new HeuristicRouteOptimizer(travelEstimator,
+                BeamSearchConfig.builder().beamWidth(2).build(), metrics));
+        RoutePlanningEngine greedyEngine = new RoutePlanningEngine(travelEstimator, new GreedyRouteOptimizer(travelEstimator, metrics));
+        RoutePlanningEngine measuredEngine = new RoutePlanningEngine(travelEstimator, new GreedyRouteOptimizer(travelEstimator),
+                beamEngine.getImprover(), metrics);
+
+        beamEngine.generateRoute(request.getAgent().getLocation(), request.getOrders());
+        greedyEngine.generateRoute(request.getAgent().getLocation(), request.getOrders());
+        greedyEngine.generateRoute(request.getAgent().getLocation(), request.getOrders());
+        measuredEngine.generateRoute(request.getAgent().getLocation(), request.getOrders());
+
+        assertEquals(1, metrics.getOptimizationLatency(OptimizerStrategy.BEAM).getCount());
+        assertEquals(2, metrics.getOptimizationLatency(OptimizerStrategy.GREEDY).getCount());
+        assertEquals(0, metrics.getOptimizationLatency(OptimizerStrategy.EXACT).getCount());
+        assertEquals(1, metrics.getPlanningLatency().getCount());
+
+        // 12 nodes: the greedy visits each once; the beam expands up to 2 states on each of 12 levels
+        assertEquals(12, metrics.getStatesExpanded(OptimizerStrategy.GREEDY).getMax());
+        assertTrue(metrics.getStatesExpanded(OptimizerStrategy.BEAM).getMax() <= 24);
+        assertEquals(144, metrics.getTravelTimeEvaluations(OptimizerStrategy.BEAM).getMax());
+        assertTrue(metrics.getRouteDurationSeconds(OptimizerStrategy.GREEDY).getMax() > 0);
+
+        // A beam of width 2 keeps at most 2 of the candidates of each level
+        assertTrue(metrics.getBeamPruningRatio() > 0 && metrics.getBeamPruningRatio() < 1);
+        // The first of the four matrix builds misses every cell; the other three are served from the cache
+        assertEquals(0.75, metrics.getCacheHitRate());
+    }
+
+    @Test
+    void testPairwiseEstimates_shouldNotBeRecorded() {
+        GeoLocation customer = request.getOrders().get(0).getCustomer().getAddress().getLocation();
+
+        travelEstimator.estimateTime(request.getAgent().getLocation(), customer);
+        travelEstimator.estimateTime(request.getAgent().getLocation(), customer);
+
+        assertEquals(0, metrics.getCacheHitRate());
+    }
+
+    @Test
+    void testEmptyMetrics_shouldReportZeroRates() {
+        assertEquals(0, metrics.getBeamPruningRatio());
+        assertEquals(0, metrics.getCacheHitRate());
+    }
+}
@@ -0,0 +1,167 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.distance.DistanceCalculator;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.config.TravelTimeCacheConfig;
+import org.assignment.delivery.planner.time.TimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class CachingTravelTimeEstimationServiceTest {
+
+    private DistanceCalculator distanceCalculator;
+    private TimeEstimator timeEstimator;
+
+    @BeforeEach
+    void setUp() {
+        distanceCalculator = mock(DistanceCalculator.class);
+        timeEstimator = mock(TimeEstimator.class);
+        when(distanceCalculator.distanceKm(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> Math.abs((double) invocation.getArgument(2) - (double) invocation.getArgument(0)));
+        when(timeEstimator.minutes(anyDouble())).thenAnswer(invocation -> (double) invocation.getArgument(0) * 3);
+    }
+
+    @Test
+    void testEstimateTime_shouldServeRepeatedAndNearbyPairsFromCache() {
+        CachingTravelTimeEstimationService service = new CachingTravelTimeEstimationService(
+                distanceCalculator, timeEstimator, TravelTimeCacheConfig.DEFAULT);
+        GeoLocation restaurant = location(12.9716, 77.5946);
+        GeoLocation customer = location(12.9816, 77.6046);
+
+        assertEquals(0.03, service.estimateTime(restaurant, customer), 1e-9);
+        assertEquals(0.03, service.estimateTime(restaurant, customer), 1e-9);
+        // Less than the quantization step away: same key
+        assertEquals(0.03, service.estimateTime(location(12.971600001, 77.5946), customer), 1e-9);
+        // Direction matters
+        assertEquals(0.03, service.estimateTime(customer, restaurant), 1e-9);
+
+        assertEquals(2, service.getHitCount());
+        assertEquals(2, service.getMissCount());
+        assertEquals(2, service.size());
+        verify(distanceCalculator, times(2)).distanceKm(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void testEstimateTime_beyondMaximumSize_shouldEvictLeastRecentlyUsed() {
+        CachingTravelTimeEstimationService service = new CachingTravelTimeEstimationService(distanceCalculator, timeEstimator,
+                TravelTimeCacheConfig.builder().maximumSize(2).stripes(1).build());
+        GeoLocation origin = location(0, 0);
+
+        service.estimateTime(origin, location(1, 0));
+        service.estimateTime(origin, location(2, 0));
+        service.estimateTime(origin, location(1, 0));
+        service.estimateTime(origin, location(3, 0));
+        service.estimateTime(origin, location(1, 0));
+
+        assertEquals(1, service.getEvictionCount());
+        assertEquals(2, service.size());
+        assertEquals(2, service.getHitCount());
+        assertEquals(3, service.getMissCount());
+    }
+
+    @Test
+    void testEstimateTime_afterManyEvictions_shouldKeepMostRecentEntries() {
+        CachingTravelTimeEstimationService service = new CachingTravelTimeEstimationService(distanceCalculator, timeEstimator,
+                TravelTimeCacheConfig.builder().maximumSize(50).stripes(1).build());
+        GeoLocation origin = location(0, 0);
+
+        for (int destination = 0; destination < 500; destination++) {
+            service.estimateTime(origin, location(destination, 0));
+        }
+        for (int destination = 450; destination < 500; destination++) {
+            assertEquals(destination * 3.0, service.estimateTime(origin, location(destination, 0)), 1e-9);
+        }
+        service.estimateTime(origin, location(0, 0));
+
+        assertEquals(50, service.getHitCount());
+        assertEquals(501, service.getMissCount());
+        assertEquals(451, service.getEvictionCount());
+        assertEquals(50, service.size());
+    }
+
+    @Test
+    void testEstimateTimes_shouldReadAndFillTheCache() {
+        doCallRealMethod().when(distanceCalculator).distancesKm(anyDouble(), anyDouble(), any(), any(), any());
+        doCallRealMethod().when(distanceCalculator).distancesKm(any(double[].class), any(), any(), any(), any(double[][].class));
+        doCallRealMethod().when(timeEstimator).minutes(any(), any(), anyInt());
+        PlanningMetrics metrics = mock(PlanningMetrics.class);
+        CachingTravelTimeEstimationService service = new CachingTravelTimeEstimationService(
+                distanceCalculator, timeEstimator, TravelTimeCacheConfig.DEFAULT, metrics);
+        double[] fromLatitudes = {0, 5};
+        double[] fromLongitudes = {0, 0};
+        double[] latitudes = {1, 2};
+        double[] longitudes = {0, 0};
+
+        service.estimateTime(location(0, 0), location(1, 0));
+        double[][] first = new double[2][2];
+        service.estimateTimes(fromLatitudes, fromLongitudes, latitudes, longitudes, first);
+        double[][] second = new double[2][2];
+        service.estimateTimes(fromLatitudes, fromLongitudes, latitudes, longitudes, second);
+
+        assertArrayEquals(new double[]{3, 6}, first[0], 1e-9);
+        assertArrayEquals(new double[]{12, 9}, first[1], 1e-9);
+        assertArrayEquals(first[0], second[0], 0.0);
+        assertArrayEquals(first[1], second[1], 0.0);
+        assertEquals(4, service.size());
+        assertEquals(5, service.getHitCount());
+        assertEquals(4, service.getMissCount());
+        // The pairwise estimate plus the sub-grid of the first batch's misses; the second batch is all hits
+        verify(distanceCalculator, times(5)).distanceKm(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+        // Each batch reports once; the pairwise lookup is not reported
+        verify(metrics).recordTravelTimeCacheLookups(1, 3);
+        verify(metrics).recordTravelTimeCacheLookups(4, 0);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    void testEstimateTime_fromManyThreads_shouldReturnConsistentEstimates() throws Exception {
+        CachingTravelTimeEstimationService service = new CachingTravelTimeEstimationService(distanceCalculator, timeEstimator,
+                TravelTimeCacheConfig.builder().maximumSize(64).build());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        int destination = i % 100;
+                        assertEquals(destination * 3.0, service.estimateTime(location(0, 0), location(destination, 0)), 1e-9);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80_000, service.getHitCount() + service.getMissCount());
+        assertTrue(service.size() <= 64);
+        verify(timeEstimator, atMost((int) service.getMissCount())).minutes(anyDouble());
+    }
+
+    private static GeoLocation location(double latitude, double longitude) {
+        return GeoLocation.builder().latitude(latitude).longitude(longitude).build();
+    }
+}
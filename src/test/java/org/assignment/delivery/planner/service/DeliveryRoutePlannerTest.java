@@ -7,8 +7,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 class DeliveryRoutePlannerTest {
@@ -60,4 +68,54 @@ class DeliveryRoutePlannerTest {
         assertEquals("R1", plan.getUsers().get(0).getId());
         assertEquals("C1", plan.getUsers().get(1).getId());
     }
+
+    @Test
+    void testPlanRoutes_shouldPlanEveryAgentAndIsolateFailures() {
+        GeoLocation firstStart = GeoLocation.builder().latitude(0).longitude(0).build();
+        GeoLocation secondStart = GeoLocation.builder().latitude(5).longitude(5).build();
+        Order firstOrder = order("O1", "R1", "C1");
+        Order secondOrder = order("O2", "R2", "C2");
+
+        when(planningEngine.generateRoute(firstStart, List.of(firstOrder))).thenReturn(List.of("R1", "C1"));
+        when(planningEngine.generateRoute(eq(secondStart), anyList())).thenThrow(new IllegalStateException("no route"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<AgentPlanResult> results = planner.planRoutes(List.of(
+                    assignment("A1", firstStart, firstOrder),
+                    assignment("A2", secondStart, secondOrder)), executor);
+
+            assertEquals(2, results.size());
+
+            AgentPlanResult first = results.get(0);
+            assertEquals("A1", first.getAgentId());
+            assertTrue(first.isSuccessful());
+            assertSame(firstOrder.getRestaurant(), first.getPlan().getUsers().get(0));
+            assertSame(firstOrder.getCustomer(), first.getPlan().getUsers().get(1));
+            assertTrue(first.getPlanningTimeNanos() >= 0);
+
+            AgentPlanResult second = results.get(1);
+            assertEquals("A2", second.getAgentId());
+            assertFalse(second.isSuccessful());
+            assertNull(second.getPlan());
+            assertEquals("no route", second.getFailure().getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static AgentAssignment assignment(String agentId, GeoLocation location, Order order) {
+        return AgentAssignment.builder()
+                .agent(Agent.builder().id(agentId).location(location).build())
+                .orders(List.of(order))
+                .build();
+    }
+
+    private static Order order(String orderId, String restaurantId, String customerId) {
+        return Order.builder()
+                .orderId(orderId)
+                .restaurant(Restaurant.builder().id(restaurantId).build())
+                .customer(Customer.builder().id(customerId).build())
+                .build();
+    }
 }
@@ -0,0 +1,133 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.algorithm.optimizer.CheapestInsertion;
+import org.assignment.delivery.planner.algorithm.optimizer.ExactRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.RouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.model.PlannedRoute;
+import org.assignment.delivery.planner.algorithm.optimizer.model.TravelTimeMatrix;
+import org.assignment.delivery.planner.algorithm.optimizer.model.VisitNodes;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.service.config.IncrementalPlanningConfig;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.assignment.delivery.planner.time.SpeedProfile;
+import org.assignment.delivery.planner.time.SpeedProfileTimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assignment.delivery.planner.service.ServiceFixtures.location;
+import static org.assignment.delivery.planner.service.ServiceFixtures.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class IncrementalRoutePlannerTest {
+
+    private TravelTimeEstimationService travelEstimator;
+    private RouteOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        travelEstimator = new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20));
+        optimizer = spy(new ExactRouteOptimizer(travelEstimator));
+    }
+
+    @Test
+    void testAddOrder_shouldReoptimizeOnlyAfterConfiguredInsertions() {
+        IncrementalRoutePlanner planner = planner(IncrementalPlanningConfig.builder()
+                .reoptimizeAfterInsertions(3)
+                .reoptimizeCostRatio(Double.POSITIVE_INFINITY)
+                .build());
+
+        PlannedRoute route = planner.plan(location(12.90, 77.50), List.of(order("O1", 12.91, 77.51, 12.92, 77.52)));
+        route = planner.addOrder(route, order("O2", 12.93, 77.50, 12.94, 77.53));
+        route = planner.addOrder(route, order("O3", 12.95, 77.52, 12.91, 77.55));
+
+        assertEquals(2, route.getInsertionsSinceOptimization());
+        verify(optimizer, times(1)).computeOptimalRoute(any(GeoLocation.class), anyList());
+
+        route = planner.addOrder(route, order("O4", 12.92, 77.56, 12.96, 77.51));
+
+        assertEquals(0, route.getInsertionsSinceOptimization());
+        assertEquals(8, route.size());
+        verify(optimizer, times(2)).computeOptimalRoute(any(GeoLocation.class), anyList());
+    }
+
+    @Test
+    void testAddOrder_withCostlyInsertion_shouldReoptimizeAndNeverWorsenRoute() {
+        IncrementalRoutePlanner planner = planner(IncrementalPlanningConfig.builder()
+                .reoptimizeAfterInsertions(Integer.MAX_VALUE)
+                .reoptimizeCostRatio(0.1)
+                .build());
+        PlannedRoute route = planner.plan(location(12.90, 77.50), List.of(order("O1", 12.90, 77.51, 12.90, 77.52)));
+
+        PlannedRoute extended = planner.addOrder(route, order("O2", 12.99, 77.59, 12.98, 77.60));
+        PlannedRoute inserted = new CheapestInsertion(travelEstimator).insert(route,
+                extended.getRoute().stream().filter(node -> node.getVisitId().equals("R-O2")).findFirst().orElseThrow(),
+                extended.getRoute().stream().filter(node -> node.getVisitId().equals("C-O2")).findFirst().orElseThrow());
+
+        verify(optimizer, times(2)).computeOptimalRoute(any(GeoLocation.class), anyList());
+        assertEquals(0, extended.getInsertionsSinceOptimization());
+        assertTrue(extended.getCompletionTime() <= inserted.getCompletionTime() + 1e-9);
+    }
+
+    @Test
+    void testAddOrder_withSpeedProfile_shouldPriceLegsFromTheRouteDeparture() {
+        // One zone, hourly buckets: 10 km/h between 08:00 and 09:00, 40 km/h otherwise
+        float[] speeds = new float[24];
+        Arrays.fill(speeds, 40);
+        speeds[8] = 10;
+        SpeedProfile profile = new SpeedProfile(12.8, 77.4, 1.0, 1, 1, 60, 40, speeds);
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-01-01T08:00:00Z"));
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        travelEstimator = new TravelTimeEstimationService(new HaversineDistanceCalculator(),
+                new SpeedProfileTimeEstimator(profile, clock));
+        optimizer = spy(new ExactRouteOptimizer(travelEstimator));
+        IncrementalRoutePlanner planner = planner(IncrementalPlanningConfig.builder()
+                .reoptimizeAfterInsertions(Integer.MAX_VALUE)
+                .reoptimizeCostRatio(Double.POSITIVE_INFINITY)
+                .build());
+        GeoLocation start = location(12.90, 77.50);
+
+        PlannedRoute route = planner.plan(start, List.of(order("O1", 12.91, 77.51, 12.92, 77.52)));
+        // The order arrives in the afternoon, but the route still departs at 08:00
+        now.set(Instant.parse("2024-01-01T14:00:00Z"));
+        route = planner.addOrder(route, order("O2", 12.93, 77.50, 12.94, 77.53));
+
+        now.set(Instant.parse("2024-01-01T08:00:00Z"));
+        TravelTimeMatrix matrix = TravelTimeMatrix.build(start, route.getRoute(), travelEstimator);
+        assertEquals(8 * 60, route.getDepartureMinute(), 1e-9);
+        assertEquals(VisitNodes.completionTime(matrix, route.getRoute(), route.getRoute()), route.getCompletionTime(), 1e-9);
+    }
+
+    private IncrementalRoutePlanner planner(IncrementalPlanningConfig config) {
+        return new IncrementalRoutePlanner(optimizer, new CheapestInsertion(travelEstimator), travelEstimator, config);
+    }
+}
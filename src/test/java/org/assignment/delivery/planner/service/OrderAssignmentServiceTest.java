@@ -0,0 +1,88 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.algorithm.optimizer.ExactRouteOptimizer;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.model.Agent;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.AssignmentResult;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.service.config.AssignmentConfig;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assignment.delivery.planner.service.ServiceFixtures.location;
+import static org.assignment.delivery.planner.service.ServiceFixtures.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderAssignmentServiceTest {
+
+    private TravelTimeEstimationService travelEstimator;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        travelEstimator = new TravelTimeEstimationService(new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20));
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testAssignOrders_shouldGiveEachOrderToTheAgentWithCheapestInsertion() {
+        Order northOrder = order("O1", 13.00, 77.60, 13.01, 77.60);
+        Order southOrder = order("O2", 12.80, 77.60, 12.79, 77.60);
+        Order existingOrder = order("O3", 12.81, 77.61, 12.80, 77.61);
+
+        AgentAssignment north = assignment("A1", 13.00, 77.59);
+        AgentAssignment south = AgentAssignment.builder()
+                .agent(Agent.builder().id("A2").location(location(12.80, 77.59)).build())
+                .orders(List.of(existingOrder))
+                .build();
+
+        AssignmentResult result = service(AssignmentConfig.DEFAULT)
+                .assignOrders(List.of(southOrder, northOrder), List.of(north, south));
+
+        assertTrue(result.getUnassignedOrders().isEmpty());
+        assertEquals(List.of(northOrder), result.getAssignments().get(0).getOrders());
+        assertEquals(List.of(existingOrder, southOrder), result.getAssignments().get(1).getOrders());
+    }
+
+    @Test
+    void testAssignOrders_shouldRespectCapacityAndCandidateRadius() {
+        Order nearOrder1 = order("O1", 13.00, 77.60, 13.01, 77.60);
+        Order nearOrder2 = order("O2", 13.00, 77.61, 13.01, 77.61);
+        Order farOrder = order("O3", 14.00, 78.00, 14.01, 78.00);
+
+        AssignmentConfig config = AssignmentConfig.builder()
+                .maxOrdersPerAgent(1)
+                .maxCandidateDistanceKm(20)
+                .build();
+        AssignmentResult result = service(config)
+                .assignOrders(List.of(nearOrder1, nearOrder2, farOrder), List.of(assignment("A1", 13.00, 77.60)));
+
+        assertEquals(1, result.getAssignments().get(0).getOrders().size());
+        assertEquals(2, result.getUnassignedOrders().size());
+        assertTrue(result.getUnassignedOrders().contains(farOrder));
+    }
+
+    private OrderAssignmentService service(AssignmentConfig config) {
+        return new OrderAssignmentService(new ExactRouteOptimizer(travelEstimator), travelEstimator, executor, config);
+    }
+
+    private static AgentAssignment assignment(String agentId, double latitude, double longitude) {
+        return AgentAssignment.builder()
+                .agent(Agent.builder().id(agentId).location(location(latitude, longitude)).build())
+                .orders(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.model.Address;
+import org.assignment.delivery.planner.model.Customer;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.model.Restaurant;
+
+/**
+ * Orders and locations shared by the service tests.
+ */
+final class ServiceFixtures {
+
+    private ServiceFixtures() {
+    }
+
+    /**
+     * @return An order from restaurant {@code R-<orderId>}, with a five minute preparation time, to
+     * customer {@code C-<orderId>}.
+     */
+    static Order order(String orderId, double restaurantLat, double restaurantLon, double customerLat, double customerLon) {
+        return Order.builder()
+                .orderId(orderId)
+                .restaurant(Restaurant.builder()
+                        .id("R-" + orderId)
+                        .address(Address.builder().location(location(restaurantLat, restaurantLon)).build())
+                        .averagePreparationTime(5)
+                        .build())
+                .customer(Customer.builder()
+                        .id("C-" + orderId)
+                        .address(Address.builder().location(location(customerLat, customerLon)).build())
+                        .build())
+                .build();
+    }
+
+    static GeoLocation location(double latitude, double longitude) {
+        return GeoLocation.builder().latitude(latitude).longitude(longitude).build();
+    }
+}
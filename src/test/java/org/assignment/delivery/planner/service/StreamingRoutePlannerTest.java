@@ -0,0 +1,264 @@
+package org.assignment.delivery.planner.service;
+
+import org.assignment.delivery.planner.algorithm.optimizer.adapter.RoutePlanningEngine;
+import org.assignment.delivery.planner.model.Address;
+import org.assignment.delivery.planner.model.Agent;
+import org.assignment.delivery.planner.model.AgentPlanResult;
+import org.assignment.delivery.planner.model.Customer;
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.model.OrderEvent;
+import org.assignment.delivery.planner.model.Restaurant;
+import org.assignment.delivery.planner.model.User;
+import org.assignment.delivery.planner.service.config.BatchKey;
+import org.assignment.delivery.planner.service.config.StreamingPlannerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StreamingRoutePlannerTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private RoutePlanningEngine planningEngine;
+    private DeliveryRoutePlanner planner;
+    private final BlockingQueue<AgentPlanResult> results = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        planningEngine = mock(RoutePlanningEngine.class);
+        // Visits every open order in submission order, restaurant first
+        when(planningEngine.generateRoute(any(), anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(1);
+            List<String> route = new ArrayList<>();
+            for (Order order : orders) {
+                route.add(order.getRestaurant().getId());
+                route.add(order.getCustomer().getId());
+            }
+            return route;
+        });
+        planner = new DeliveryRoutePlanner(planningEngine);
+    }
+
+    @Test
+    void testSubmit_shouldBatchPerAgentAndReplanOpenOrders() throws InterruptedException {
+        StreamingRoutePlanner streaming = new StreamingRoutePlanner(planner, StreamingPlannerConfig.builder()
+                .batchWindow(NEVER)
+                .maxBatchSize(2)
+                .build(), results::add);
+
+        streaming.submit(event("A1", "O1", 0.01));
+        streaming.submit(event("A1", "O2", 0.02));
+        AgentPlanResult full = next();
+        assertEquals("A1", full.getAgentId());
+        assertEquals(List.of("R-O1", "C-O1", "R-O2", "C-O2"), userIds(full));
+
+        streaming.complete("A1", Set.of("O1"));
+        streaming.submit(event("A1", "O3", 0.03));
+        streaming.submit(event("A2", "O4", 0.04));
+        streaming.close();
+
+        // Batches still within their window are flushed on close
+        List<AgentPlanResult> flushed = new ArrayList<>();
+        results.drainTo(flushed);
+        assertEquals(2, flushed.size());
+        for (AgentPlanResult result : flushed) {
+            assertTrue(result.isSuccessful());
+            if (result.getAgentId().equals("A1")) {
+                assertEquals(List.of("R-O2", "C-O2", "R-O3", "C-O3"), userIds(result));
+            } else {
+                assertEquals(List.of("R-O4", "C-O4"), userIds(result));
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> streaming.submit(event("A1", "O5", 0.05)));
+    }
+
+    @Test
+    void testSubmit_shouldFlushBatchWhenWindowExpires() throws InterruptedException {
+        try (StreamingRoutePlanner streaming = new StreamingRoutePlanner(planner, StreamingPlannerConfig.builder()
+                .batchWindow(Duration.ofMillis(20))
+                .maxBatchSize(100)
+                .build(), results::add)) {
+            streaming.submit(event("A1", "O1", 0.01));
+
+            assertEquals(List.of("R-O1", "C-O1"), userIds(next()));
+        }
+    }
+
+    @Test
+    void testSubmit_shouldBatchOrdersOfTheSameZoneTogether() throws InterruptedException {
+        try (StreamingRoutePlanner streaming = new StreamingRoutePlanner(planner, StreamingPlannerConfig.builder()
+                .batchWindow(NEVER)
+                .maxBatchSize(2)
+                .batchKey(BatchKey.ZONE)
+                .zoneCellDegrees(0.1)
+                .build(), results::add)) {
+            streaming.submit(event("A1", "O1", 0.01));
+            streaming.submit(event("A2", "O2", 0.5));
+            streaming.submit(event("A3", "O3", 0.02));
+
+            // O1 and O3 fill their zone's batch; O2 waits alone in another zone
+            List<String> agents = List.of(next().getAgentId(), next().getAgentId());
+            assertTrue(agents.containsAll(List.of("A1", "A3")));
+            assertNull(results.poll(50, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void testOffer_shouldRejectOrdersWhenPlanningFallsBehind() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(planningEngine.generateRoute(any(), anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        StreamingRoutePlanner streaming = new StreamingRoutePlanner(planner, StreamingPlannerConfig.builder()
+                .maxBatchSize(1)
+                .queueCapacity(1)
+                .workerThreads(1)
+                .pendingBatchCapacity(1)
+                .build(), results::add);
+
+        // One batch per worker, one pending, one planned by the batching thread and one queued
+        int accepted = 0;
+        boolean rejected = false;
+        for (int order = 0; order < 20 && !rejected; order++) {
+            if (streaming.offer(event("A" + order, "O" + order, 0.01), Duration.ofMillis(50))) {
+                accepted++;
+            } else {
+                rejected = true;
+            }
+        }
+        assertTrue(rejected);
+
+        release.countDown();
+        streaming.close();
+        assertEquals(accepted, results.size());
+    }
+
+    @Test
+    void testSubmit_withManyWorkers_shouldEmitPlansOfAnAgentInFlushOrder() throws InterruptedException {
+        CountDownLatch firstPlanStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(planningEngine.generateRoute(any(), anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(1);
+            if (orders.size() == 1) {
+                firstPlanStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            List<String> route = new ArrayList<>();
+            for (Order order : orders) {
+                route.add(order.getRestaurant().getId());
+                route.add(order.getCustomer().getId());
+            }
+            return route;
+        });
+
+        try (StreamingRoutePlanner streaming = new StreamingRoutePlanner(planner, StreamingPlannerConfig.builder()
+                .batchWindow(NEVER)
+                .maxBatchSize(1)
+                .workerThreads(4)
+                .build(), results::add)) {
+            // Two back-to-back batches of one agent; the first is still being planned when the second is flushed
+            streaming.submit(event("A1", "O1", 0.01));
+            assertTrue(firstPlanStarted.await(5, TimeUnit.SECONDS));
+            streaming.submit(event("A1", "O2", 0.02));
+
+            // The second batch waits for the first instead of racing it on another worker
+            assertNull(results.poll(100, TimeUnit.MILLISECONDS));
+            release.countDown();
+
+            assertEquals(List.of("R-O1", "C-O1"), userIds(next()));
+            assertEquals(List.of("R-O1", "C-O1", "R-O2", "C-O2"), userIds(next()));
+        }
+    }
+
+    @Test
+    void testInterruptedBatcher_shouldPlanQueuedOrdersAndRefuseNewOnes() throws InterruptedException {
+        StreamingRoutePlanner streaming = new StreamingRoutePlanner(planner, StreamingPlannerConfig.builder()
+                .batchWindow(NEVER)
+                .maxBatchSize(100)
+                .build(), results::add);
+        streaming.submit(event("A1", "O1", 0.01));
+
+        Thread batcher = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("order-batcher") && thread.isAlive())
+                .findFirst()
+                .orElseThrow();
+        batcher.interrupt();
+        batcher.join(5000);
+
+        // The open batch is flushed rather than dropped
+        assertEquals(List.of("R-O1", "C-O1"), userIds(next()));
+        assertThrows(IllegalStateException.class, () -> streaming.submit(event("A1", "O2", 0.02)));
+        streaming.close();
+    }
+
+    @Test
+    void testClose_whenInterrupted_shouldReturnWithFlagSetAndStillPlanQueuedOrders() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(planningEngine.generateRoute(any(), anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of("R-O1", "C-O1");
+        });
+        StreamingRoutePlanner streaming = new StreamingRoutePlanner(planner, StreamingPlannerConfig.builder()
+                .batchWindow(NEVER)
+                .maxBatchSize(1)
+                .build(), results::add);
+        streaming.submit(event("A1", "O1", 0.01));
+
+        Thread.currentThread().interrupt();
+        streaming.close();
+
+        assertTrue(Thread.interrupted());
+        release.countDown();
+        assertEquals(List.of("R-O1", "C-O1"), userIds(next()));
+    }
+
+    private AgentPlanResult next() throws InterruptedException {
+        AgentPlanResult result = results.poll(5, TimeUnit.SECONDS);
+        assertNotNull(result);
+        assertTrue(result.isSuccessful());
+        return result;
+    }
+
+    private static List<String> userIds(AgentPlanResult result) {
+        return result.getPlan().getUsers().stream().map(User::getId).toList();
+    }
+
+    private static OrderEvent event(String agentId, String orderId, double restaurantLatitude) {
+        return OrderEvent.builder()
+                .agent(Agent.builder()
+                        .id(agentId)
+                        .location(GeoLocation.builder().latitude(0).longitude(0).build())
+                        .build())
+                .order(Order.builder()
+                        .orderId(orderId)
+                        .restaurant(Restaurant.builder()
+                                .id("R-" + orderId)
+                                .address(Address.builder()
+                                        .location(GeoLocation.builder().latitude(restaurantLatitude).longitude(0).build())
+                                        .build())
+                                .build())
+                        .customer(Customer.builder().id("C-" + orderId).build())
+                        .build())
+                .build();
+    }
+}
@@ -1,8 +1,10 @@
 package org.assignment.delivery.planner.service;
 
 import org.assignment.delivery.planner.distance.DistanceCalculator;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
 import org.assignment.delivery.planner.model.Distance;
 import org.assignment.delivery.planner.model.GeoLocation;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
 import org.assignment.delivery.planner.time.TimeEstimator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,15 +44,52 @@ class TravelTimeEstimationServiceTest {
     void testEstimateTime_shouldReturnEstimatedTimeInMinutes() {
         GeoLocation from = GeoLocation.builder().latitude(12.0).longitude(77.0).build();
         GeoLocation to = GeoLocation.builder().latitude(12.5).longitude(77.5).build();
-        Distance distance = Distance.builder().distance(10.0).build();
 
-        when(distanceCalculator.calculateDistance(from, to)).thenReturn(distance);
-        when(timeEstimator.estimateTimeInMinutes(distance)).thenReturn(20.0);
+        when(distanceCalculator.distanceKm(12.0, 77.0, 12.5, 77.5)).thenReturn(10.0);
+        when(timeEstimator.minutes(10.0)).thenReturn(20.0);
 
         double time = service.estimateTime(from, to);
 
         assertEquals(20.0, time);
-        verify(distanceCalculator).calculateDistance(from, to);
-        verify(timeEstimator).estimateTimeInMinutes(distance);
+        verify(distanceCalculator).distanceKm(12.0, 77.0, 12.5, 77.5);
+        verify(timeEstimator).minutes(10.0);
+        verify(distanceCalculator, never()).calculateDistance(any(), any());
+    }
+
+    @Test
+    void testEstimateTimes_shouldMatchPairwiseEstimates() {
+        TravelTimeEstimationService realService = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(25.0));
+        GeoLocation from = GeoLocation.builder().latitude(12.9716).longitude(77.5946).build();
+        double[] latitudes = {12.9352, 13.0358, 12.9716};
+        double[] longitudes = {77.6245, 77.5970, 77.5946};
+        double[] times = new double[latitudes.length];
+
+        realService.estimateTimes(from, latitudes, longitudes, times);
+
+        for (int i = 0; i < latitudes.length; i++) {
+            GeoLocation to = GeoLocation.builder().latitude(latitudes[i]).longitude(longitudes[i]).build();
+            assertEquals(realService.estimateTime(from, to), times[i], 0.0);
+        }
+    }
+
+    @Test
+    void testEstimateTimes_allPairs_shouldMatchPairwiseEstimates() {
+        TravelTimeEstimationService realService = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(25.0));
+        double[] fromLatitudes = {12.9716, 12.9352};
+        double[] fromLongitudes = {77.5946, 77.6245};
+        double[] latitudes = {12.9352, 13.0358, 12.9716};
+        double[] longitudes = {77.6245, 77.5970, 77.5946};
+        double[][] times = new double[fromLatitudes.length][latitudes.length];
+
+        realService.estimateTimes(fromLatitudes, fromLongitudes, latitudes, longitudes, times);
+
+        for (int from = 0; from < fromLatitudes.length; from++) {
+            for (int i = 0; i < latitudes.length; i++) {
+                assertEquals(realService.estimateTime(fromLatitudes[from], fromLongitudes[from], latitudes[i], longitudes[i]),
+                        times[from][i], 1e-9);
+            }
+        }
     }
 }
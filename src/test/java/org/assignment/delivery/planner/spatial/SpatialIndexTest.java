@@ -0,0 +1,88 @@
+package org.assignment.delivery.planner.spatial;
+
+import org.assignment.delivery.planner.model.GeoLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpatialIndexTest {
+
+    @Test
+    void testNearestAndRadius_shouldMatchBruteForceForEveryIndexType() {
+        for (SpatialIndexType type : SpatialIndexType.values()) {
+            for (int seed = 0; seed < 5; seed++) {
+                Random random = new Random(seed);
+                List<GeoLocation> locations = randomLocations(random, 1 + random.nextInt(300));
+                // Duplicates and clusters exercise ties and uneven cells
+                locations.add(locations.get(0));
+                locations.add(location(12.95, 77.55));
+                locations.add(location(12.95, 77.55));
+                SpatialIndex index = type.build(locations);
+
+                for (int query = 0; query < 50; query++) {
+                    // Some queries fall outside the indexed area
+                    GeoLocation point = location(12.8 + random.nextDouble() * 0.3, 77.4 + random.nextDouble() * 0.3);
+                    int k = 1 + random.nextInt(10);
+                    double radiusKm = random.nextDouble() * 3;
+
+                    assertArrayEquals(bruteForceNearest(index, locations, point, k), index.nearest(point, k), type.name());
+                    assertArrayEquals(bruteForceRadius(index, locations, point, radiusKm), index.withinRadius(point, radiusKm), type.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testNearest_withEmptyIndexOrMoreNeighboursThanLocations_shouldReturnAvailableLocations() {
+        for (SpatialIndexType type : SpatialIndexType.values()) {
+            assertEquals(0, type.build(List.of()).nearest(location(0, 0), 3).length);
+
+            SpatialIndex index = type.build(List.of(location(1, 1), location(0, 0)));
+            assertArrayEquals(new int[]{1, 0}, index.nearest(location(0, 0), 5));
+            assertEquals(0, index.nearest(location(0, 0), 0).length);
+        }
+    }
+
+    private static int[] bruteForceNearest(SpatialIndex index, List<GeoLocation> locations, GeoLocation point, int k) {
+        return sortedByDistance(index, locations, point).limit(k).toArray();
+    }
+
+    private static int[] bruteForceRadius(SpatialIndex index, List<GeoLocation> locations, GeoLocation point, double radiusKm) {
+        AbstractSpatialIndex projected = (AbstractSpatialIndex) index;
+        double x = projected.projection.x(point);
+        double y = projected.projection.y(point);
+        return sortedByDistance(index, locations, point)
+                .filter(position -> projected.squaredDistance(position, x, y) <= radiusKm * radiusKm)
+                .toArray();
+    }
+
+    private static IntStream sortedByDistance(SpatialIndex index, List<GeoLocation> locations, GeoLocation point) {
+        AbstractSpatialIndex projected = (AbstractSpatialIndex) index;
+        double x = projected.projection.x(point);
+        double y = projected.projection.y(point);
+        return IntStream.range(0, locations.size())
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(position -> projected.squaredDistance(position, x, y))
+                        .thenComparingInt(position -> position))
+                .mapToInt(Integer::intValue);
+    }
+
+    private static List<GeoLocation> randomLocations(Random random, int count) {
+        List<GeoLocation> locations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            locations.add(location(12.9 + random.nextDouble() * 0.1, 77.5 + random.nextDouble() * 0.1));
+        }
+        return locations;
+    }
+
+    private static GeoLocation location(double latitude, double longitude) {
+        return GeoLocation.builder().latitude(latitude).longitude(longitude).build();
+    }
+}
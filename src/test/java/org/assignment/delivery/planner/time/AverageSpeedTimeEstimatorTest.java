@@ -60,4 +60,30 @@ class AverageSpeedTimeEstimatorTest {
         assertThrows(UnsupportedOperationException.class, () -> estimator.estimateTimeInHours(distance),
                 "Should throw exception when dividing by zero speed");
     }
+
+    @Test
+    void minutes_shouldMatchDistanceBasedEstimate() {
+        Distance distance = Distance.builder().distance(45.0).build();
+
+        assertEquals(estimator.estimateTimeInMinutes(distance), estimator.minutes(45.0), 0.0001,
+                "Primitive and object-based estimates should agree");
+    }
+
+    @Test
+    void minutesBatch_shouldMatchPrimitiveEstimateInPlace() {
+        double[] distances = {0.0, 12.5, 45.0, 3.0};
+
+        estimator.minutes(distances, distances, 3);
+
+        assertEquals(estimator.minutes(12.5), distances[1], 0.0);
+        assertEquals(estimator.minutes(45.0), distances[2], 0.0);
+        assertEquals(3.0, distances[3], "Entries past the count should be left untouched");
+    }
+
+    @Test
+    void minutesBatch_shouldThrowException_givenZeroSpeed() {
+        estimator = new AverageSpeedTimeEstimator(0.0);
+
+        assertThrows(UnsupportedOperationException.class, () -> estimator.minutes(new double[1], new double[1], 1));
+    }
 }
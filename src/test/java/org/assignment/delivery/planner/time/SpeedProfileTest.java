@@ -0,0 +1,117 @@
+package org.assignment.delivery.planner.time;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeedProfileTest {
+
+    /** 2 x 1 grid of 0.1 degree cells from (12.9, 77.5), with 6 hour buckets */
+    private static SpeedProfile profile() {
+        float[] speeds = {
+                30, 10, 20, 40, // south cell: 00-06, 06-12, 12-18, 18-24
+                60, 60, 15, 60  // north cell
+        };
+        return new SpeedProfile(12.9, 77.5, 0.1, 2, 1, 360, 20, speeds);
+    }
+
+    @Test
+    void minutesPerKm_shouldUseZoneAndTimeOfDayBucket() {
+        SpeedProfile profile = profile();
+        int south = profile.zoneOf(12.95, 77.55);
+        int north = profile.zoneOf(13.05, 77.55);
+
+        assertEquals(0, south);
+        assertEquals(1, north);
+        assertEquals(2.0, profile.minutesPerKm(south, 0), 1e-6);
+        assertEquals(6.0, profile.minutesPerKm(south, 8 * 60), 1e-6);
+        assertEquals(4.0, profile.minutesPerKm(north, 17 * 60 + 59.9), 1e-6);
+    }
+
+    @Test
+    void minutesPerKm_shouldUseDefaultSpeedOutsideGrid() {
+        SpeedProfile profile = profile();
+
+        int outside = profile.zoneOf(14.0, 77.55);
+
+        assertEquals(2, outside);
+        assertEquals(3.0, profile.minutesPerKm(outside, 8 * 60), 1e-6);
+    }
+
+    @Test
+    void bucketOf_shouldWrapAroundTheDay() {
+        SpeedProfile profile = profile();
+
+        assertEquals(0, profile.bucketOf(24 * 60 + 10));
+        assertEquals(3, profile.bucketOf(-10));
+        assertEquals(1, profile.bucketOf(2 * 24 * 60 + 6 * 60));
+    }
+
+    @Test
+    void load_shouldReadWhatWriteWrote(@TempDir Path directory) throws IOException {
+        SpeedProfile profile = profile();
+        Path file = directory.resolve("speeds.bin");
+
+        profile.write(file);
+        SpeedProfile loaded = SpeedProfile.load(file);
+
+        for (int zone = 0; zone <= 2; zone++) {
+            for (int minute = 0; minute < 24 * 60; minute += 90) {
+                assertEquals(profile.minutesPerKm(zone, minute), loaded.minutesPerKm(zone, minute));
+            }
+        }
+    }
+
+    @Test
+    void read_shouldRejectOtherFiles() {
+        byte[] notAProfile = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        assertThrows(IOException.class, () -> SpeedProfile.read(new ByteArrayInputStream(notAProfile)));
+    }
+
+    @Test
+    void read_shouldRejectOversizedHeadersBeforeAllocating() throws IOException {
+        // 65536 x 65536 cells overflows an int; 4096 x 4096 cells at one-minute buckets exceeds the cap
+        int[][] dimensions = {{65536, 65536, 60}, {4096, 4096, 1}};
+        for (int[] dimension : dimensions) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(bytes);
+            data.writeInt(0x53504450);
+            data.writeInt(1);
+            data.writeDouble(12.9);
+            data.writeDouble(77.5);
+            data.writeDouble(0.1);
+            data.writeInt(dimension[0]);
+            data.writeInt(dimension[1]);
+            data.writeInt(dimension[2]);
+            data.writeFloat(20);
+
+            IOException error = assertThrows(IOException.class,
+                    () -> SpeedProfile.read(new ByteArrayInputStream(bytes.toByteArray())));
+            assertTrue(error.getMessage().contains("exceeds"), error.getMessage());
+        }
+    }
+
+    @Test
+    void constructor_shouldRejectInfiniteCellSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SpeedProfile(12.9, 77.5, Double.POSITIVE_INFINITY, 1, 1, 1440, 20, new float[]{30}));
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveSpeeds() {
+        float[] speeds = {30, 10, 0, 40, 60, 60, 15, 60};
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SpeedProfile(12.9, 77.5, 0.1, 2, 1, 360, 20, speeds));
+    }
+}
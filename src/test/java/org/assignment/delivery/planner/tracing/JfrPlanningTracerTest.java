@@ -0,0 +1,44 @@
+package org.assignment.delivery.planner.tracing;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrPlanningTracerTest {
+
+    private final JfrPlanningTracer tracer = new JfrPlanningTracer();
+
+    @Test
+    void testStart_withoutRecording_shouldReturnSharedNoOpSpan() {
+        assertSame(TraceSpan.NONE, tracer.start(TracePhase.OPTIMIZE));
+    }
+
+    @Test
+    void testStart_duringRecording_shouldEmitPhaseEvents(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("planning.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PlanningPhaseEvent.NAME);
+            recording.start();
+            try (TraceSpan span = tracer.start(TracePhase.BEAM_SEARCH)) {
+                assertTrue(span instanceof PlanningPhaseEvent);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        assertEquals(PlanningPhaseEvent.NAME, events.get(0).getEventType().getName());
+        assertEquals("BEAM_SEARCH", events.get(0).getString("phase"));
+    }
+}
@@ -0,0 +1,112 @@
+package org.assignment.delivery.planner.tracing;
+
+import org.assignment.delivery.planner.algorithm.optimizer.GreedyRouteOptimizer;
+import org.assignment.delivery.planner.algorithm.optimizer.RouteImprover;
+import org.assignment.delivery.planner.algorithm.optimizer.adapter.RoutePlanningEngine;
+import org.assignment.delivery.planner.distance.HaversineDistanceCalculator;
+import org.assignment.delivery.planner.loadtest.WorkloadConfig;
+import org.assignment.delivery.planner.loadtest.WorkloadGenerator;
+import org.assignment.delivery.planner.metrics.PlanningMetrics;
+import org.assignment.delivery.planner.model.AgentAssignment;
+import org.assignment.delivery.planner.model.Order;
+import org.assignment.delivery.planner.service.DeliveryRoutePlanner;
+import org.assignment.delivery.planner.service.TravelTimeEstimationService;
+import org.assignment.delivery.planner.time.AverageSpeedTimeEstimator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonTraceRecorderTest {
+
+    @Test
+    void testPlanRoute_shouldRecordNestedPhaseSpans(@TempDir Path directory) throws IOException {
+        JsonTraceRecorder recorder = new JsonTraceRecorder(100);
+        TravelTimeEstimationService travelEstimator = new TravelTimeEstimationService(
+                new HaversineDistanceCalculator(), new AverageSpeedTimeEstimator(20.0));
+        DeliveryRoutePlanner planner = new DeliveryRoutePlanner(new RoutePlanningEngine(travelEstimator,
+                new GreedyRouteOptimizer(travelEstimator), RouteImprover.NONE, PlanningMetrics.NONE, recorder),
+                ForkJoinPool.commonPool(), recorder);
+        AgentAssignment request = new WorkloadGenerator(WorkloadConfig.builder().requestCount(1).build())
+                .generate().getRequests().get(0);
+
+        planner.planRoute(request.getAgent().getLocation(), request.getOrders(),
+                request.getOrders().stream().map(Order::getCustomer).toList(),
+                request.getOrders().stream().map(Order::getRestaurant).toList());
+
+        assertEquals(6, recorder.size());
+        Path file = directory.resolve("trace.json");
+        recorder.writeTo(file);
+        String trace = Files.readString(file);
+        assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        // Sorted by start time with the enclosing span first
+        int planRoute = trace.indexOf("\"PLAN_ROUTE\"");
+        int mapOrders = trace.indexOf("\"MAP_ORDERS\"");
+        int buildMatrix = trace.indexOf("\"BUILD_MATRIX\"");
+        int optimize = trace.indexOf("\"OPTIMIZE\"");
+        int improve = trace.indexOf("\"IMPROVE_ROUTE\"");
+        int resolve = trace.indexOf("\"RESOLVE_USERS\"");
+        assertTrue(0 < planRoute && planRoute < mapOrders && mapOrders < buildMatrix && buildMatrix < optimize && optimize < improve && improve < resolve, trace);
+    }
+
+    @Test
+    void testRecord_overCapacity_shouldKeepMostRecentSpans() throws IOException {
+        JsonTraceRecorder recorder = new JsonTraceRecorder(2);
+
+        recorder.start(TracePhase.MAP_ORDERS).close();
+        recorder.start(TracePhase.OPTIMIZE).close();
+        recorder.start(TracePhase.IMPROVE_ROUTE).close();
+
+        StringWriter writer = new StringWriter();
+        recorder.writeTo(writer);
+        assertEquals(2, recorder.size());
+        assertFalse(writer.toString().contains("MAP_ORDERS"));
+        assertTrue(writer.toString().contains("OPTIMIZE") && writer.toString().contains("IMPROVE_ROUTE"));
+    }
+
+    @Test
+    void testRecord_fromManyThreads_shouldFillEverySlotWithACompleteSpan() throws Exception {
+        JsonTraceRecorder recorder = new JsonTraceRecorder(500);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    TraceSpan outer = recorder.start(TracePhase.PLAN_ROUTE);
+                    recorder.start(TracePhase.OPTIMIZE).close();
+                    outer.close();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        StringWriter writer = new StringWriter();
+        recorder.writeTo(writer);
+        assertEquals(500, recorder.size());
+        assertEquals(500, writer.toString().split("\"ph\":\"X\"", -1).length - 1);
+    }
+
+    @Test
+    void testExport_withJsonMode_shouldWriteTheConfiguredFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("export.json");
+        PlanningTracer tracer = TracingMode.JSON.create(TracingConfig.builder()
+                .mode(TracingMode.JSON)
+                .jsonTraceFile(file)
+                .build());
+
+        tracer.start(TracePhase.OPTIMIZE).close();
+        tracer.export();
+
+        assertTrue(Files.readString(file).contains("\"OPTIMIZE\""));
+    }
+}